@@ -0,0 +1,478 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable column-oriented copy of a roster.
+ *
+ * <p>Each field is stored as a primitive column rather than one {@code Employee} object per row: salaries and ages as
+ * {@code int[]}, titles dictionary-encoded, names and emails as packed UTF-8 with an offset column, and ids as the two
+ * longs of their UUID (ids that are not canonical UUIDs are kept as strings on the side). Aggregations and name
+ * searches are plain loops over these arrays. {@code Employee} objects are only materialized for rows that are
+ * returned.
+ */
+public final class ColumnarRoster {
+
+    private final int size;
+    private final long[] idMostSignificant;
+    private final long[] idLeastSignificant;
+    // Only allocated when some id is not a canonical UUID; holds those ids, null elsewhere.
+    private final String[] rawIds;
+    private final int[] salaries;
+    private final int[] ages;
+    private final String[] titleDictionary;
+    // Index into titleDictionary, or -1 for a null title.
+    private final int[] titleCodes;
+    private final byte[] names;
+    private final int[] nameOffsets;
+    private final BitSet nullNames;
+    // Rows whose name is not pure ASCII; searched on the decoded string to keep String.toLowerCase semantics.
+    private final BitSet nonAsciiNames;
+    private final byte[] emails;
+    private final int[] emailOffsets;
+    private final BitSet nullEmails;
+
+    private ColumnarRoster(Builder builder) {
+        this.size = builder.size;
+        this.idMostSignificant = Arrays.copyOf(builder.idMostSignificant, size);
+        this.idLeastSignificant = Arrays.copyOf(builder.idLeastSignificant, size);
+        this.rawIds = builder.rawIds == null ? null : Arrays.copyOf(builder.rawIds, size);
+        this.salaries = Arrays.copyOf(builder.salaries, size);
+        this.ages = Arrays.copyOf(builder.ages, size);
+        this.titleDictionary = builder.titleDictionary.toArray(new String[0]);
+        this.titleCodes = Arrays.copyOf(builder.titleCodes, size);
+        this.names = Arrays.copyOf(builder.names.bytes, builder.names.length);
+        this.nameOffsets = Arrays.copyOf(builder.names.offsets, size + 1);
+        this.nullNames = builder.names.nulls;
+        this.nonAsciiNames = builder.nonAsciiNames;
+        this.emails = Arrays.copyOf(builder.emails.bytes, builder.emails.length);
+        this.emailOffsets = Arrays.copyOf(builder.emails.offsets, size + 1);
+        this.nullEmails = builder.emails.nulls;
+    }
+
+    public static ColumnarRoster of(List<Employee> employees) {
+        Builder builder = new Builder(employees.size());
+        employees.forEach(builder::add);
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Employee get(int row) {
+        return new Employee(
+                id(row),
+                name(row),
+                salaries[row],
+                ages[row],
+                titleCodes[row] < 0 ? null : titleDictionary[titleCodes[row]],
+                nullEmails.get(row) ? null : decode(emails, emailOffsets, row));
+    }
+
+    /**
+     * A read-only list view that materializes an {@code Employee} for every element read.
+     */
+    public List<Employee> asList() {
+        return new EmployeeList();
+    }
+
+    public OptionalInt highestSalary() {
+        if (size == 0) {
+            return OptionalInt.empty();
+        }
+        int max = salaries[0];
+        for (int row = 1; row < size; row++) {
+            max = Math.max(max, salaries[row]);
+        }
+        return OptionalInt.of(max);
+    }
+
+    /**
+     * Names of the {@code limit} highest earners, highest first; equal salaries keep roster order.
+     */
+    public List<String> topEarnerNames(int limit) {
+        // Rows of the best earners so far, ordered best first. A later row never displaces an equal salary.
+        int[] best = new int[Math.max(0, Math.min(limit, size))];
+        int count = 0;
+        for (int row = 0; row < size && best.length > 0; row++) {
+            int salary = salaries[row];
+            if (count == best.length && salary <= salaries[best[count - 1]]) {
+                continue;
+            }
+            int slot = count == best.length ? count - 1 : count++;
+            while (slot > 0 && salaries[best[slot - 1]] < salary) {
+                best[slot] = best[slot - 1];
+                slot--;
+            }
+            best[slot] = row;
+        }
+        List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(name(best[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Employees whose name contains {@code fragment}, ignoring case, in roster order.
+     *
+     * <p>An ASCII fragment is matched in a single pass over the packed name bytes, mapping hits back to rows through
+     * the offset column. Names that are not pure ASCII, and non-ASCII fragments, are compared on the decoded string.
+     */
+    public List<Employee> searchByName(String fragment) {
+        String lowerFragment = fragment.toLowerCase(Locale.ROOT);
+        BitSet matched = new BitSet(size);
+        if (isAscii(lowerFragment)) {
+            scanAsciiNames(lowerFragment.getBytes(StandardCharsets.US_ASCII), matched);
+            for (int row = nonAsciiNames.nextSetBit(0); row >= 0; row = nonAsciiNames.nextSetBit(row + 1)) {
+                if (name(row).toLowerCase(Locale.ROOT).contains(lowerFragment)) {
+                    matched.set(row);
+                }
+            }
+        } else {
+            for (int row = 0; row < size; row++) {
+                if (!nullNames.get(row) && name(row).toLowerCase(Locale.ROOT).contains(lowerFragment)) {
+                    matched.set(row);
+                }
+            }
+        }
+        List<Employee> matches = new ArrayList<>(matched.cardinality());
+        for (int row = matched.nextSetBit(0); row >= 0; row = matched.nextSetBit(row + 1)) {
+            matches.add(get(row));
+        }
+        return matches;
+    }
+
+    ColumnarRoster withAdded(Employee employee) {
+        return withAdded(List.of(employee));
+    }
+
+    ColumnarRoster withAdded(List<Employee> added) {
+        return withChanges(added, Set.of());
+    }
+
+    ColumnarRoster withRemoved(String id) {
+        return withChanges(List.of(), Set.of(id));
+    }
+
+    /**
+     * A copy with the {@code removed} ids dropped and the {@code added} employees appended, unless they are removed
+     * too or already in the roster.
+     */
+    ColumnarRoster withChanges(List<Employee> added, Set<String> removed) {
+        IdSet removedIds = new IdSet(removed);
+        List<Employee> appended = new ArrayList<>(added.size());
+        for (Employee employee : added) {
+            if (!removed.contains(employee.getId())) {
+                appended.add(employee);
+            }
+        }
+        IdSet appendedIds = new IdSet(appended.stream().map(Employee::getId).toList());
+        Set<String> present = new HashSet<>();
+
+        Builder builder = new Builder(size + appended.size());
+        for (int row = 0; row < size; row++) {
+            if (removedIds.contains(this, row)) {
+                continue;
+            }
+            builder.copy(this, row);
+            if (appendedIds.contains(this, row)) {
+                present.add(id(row));
+            }
+        }
+        for (Employee employee : appended) {
+            if (!present.contains(employee.getId())) {
+                builder.add(employee);
+            }
+        }
+        return builder.build();
+    }
+
+    private String id(int row) {
+        if (rawIds != null && rawIds[row] != null) {
+            return rawIds[row];
+        }
+        return new UUID(idMostSignificant[row], idLeastSignificant[row]).toString();
+    }
+
+    private String name(int row) {
+        return nullNames.get(row) ? null : decode(names, nameOffsets, row);
+    }
+
+    private void scanAsciiNames(byte[] needle, BitSet matched) {
+        if (needle.length == 0) {
+            matched.set(0, size);
+            matched.andNot(nullNames);
+            return;
+        }
+        byte first = needle[0];
+        byte firstUpper = toUpperAscii(first);
+        int row = 0;
+        int last = names.length - needle.length;
+        for (int position = 0; position <= last; position++) {
+            byte b = names[position];
+            if ((b != first && b != firstUpper) || !regionMatchesIgnoreAsciiCase(position, needle)) {
+                continue;
+            }
+            while (nameOffsets[row + 1] <= position) {
+                row++;
+            }
+            int rowEnd = nameOffsets[row + 1];
+            if (position + needle.length <= rowEnd && !nonAsciiNames.get(row)) {
+                matched.set(row);
+                // The rest of this name cannot add anything.
+                position = rowEnd - 1;
+            }
+        }
+    }
+
+    private boolean regionMatchesIgnoreAsciiCase(int position, byte[] needle) {
+        for (int i = 1; i < needle.length; i++) {
+            if (toLowerAscii(names[position + i]) != needle[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte toLowerAscii(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    private static byte toUpperAscii(byte b) {
+        return b >= 'a' && b <= 'z' ? (byte) (b - ('a' - 'A')) : b;
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String decode(byte[] column, int[] offsets, int row) {
+        return new String(column, offsets[row], offsets[row + 1] - offsets[row], StandardCharsets.UTF_8);
+    }
+
+    private final class EmployeeList extends AbstractList<Employee> implements RandomAccess {
+
+        @Override
+        public Employee get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return ColumnarRoster.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    // Ids matched against rows without decoding them: a canonical UUID can only match a row stored as longs, anything
+    // else only a row stored as a raw string.
+    private static final class IdSet {
+
+        private final Set<UUID> uuids = new HashSet<>();
+        private final Set<String> rawIds = new HashSet<>();
+
+        IdSet(Collection<String> ids) {
+            for (String id : ids) {
+                UUID uuid = id == null ? null : Builder.parseCanonicalUuid(id);
+                if (uuid != null) {
+                    uuids.add(uuid);
+                } else if (id != null) {
+                    rawIds.add(id);
+                }
+            }
+        }
+
+        boolean contains(ColumnarRoster roster, int row) {
+            String rawId = roster.rawIds == null ? null : roster.rawIds[row];
+            if (rawId != null) {
+                return rawIds.contains(rawId);
+            }
+            return !uuids.isEmpty()
+                    && uuids.contains(new UUID(roster.idMostSignificant[row], roster.idLeastSignificant[row]));
+        }
+    }
+
+    static final class Builder {
+
+        private int size;
+        private long[] idMostSignificant;
+        private long[] idLeastSignificant;
+        private String[] rawIds;
+        private int[] salaries;
+        private int[] ages;
+        private final List<String> titleDictionary = new ArrayList<>();
+        private final Map<String, Integer> titleCodesByTitle = new HashMap<>();
+        private int[] titleCodes;
+        private final PackedStrings names;
+        private final BitSet nonAsciiNames = new BitSet();
+        private final PackedStrings emails;
+
+        Builder(int capacity) {
+            idMostSignificant = new long[capacity];
+            idLeastSignificant = new long[capacity];
+            salaries = new int[capacity];
+            ages = new int[capacity];
+            titleCodes = new int[capacity];
+            names = new PackedStrings(capacity);
+            emails = new PackedStrings(capacity);
+        }
+
+        void add(Employee employee) {
+            int row = nextRow();
+            setId(row, employee.getId());
+            salaries[row] = employee.getEmployeeSalary();
+            ages[row] = employee.getEmployeeAge();
+            titleCodes[row] = titleCode(employee.getEmployeeTitle());
+            String name = employee.getEmployeeName();
+            if (name != null && !isAscii(name)) {
+                nonAsciiNames.set(row);
+            }
+            names.add(row, name == null ? null : name.getBytes(StandardCharsets.UTF_8));
+            String email = employee.getEmployeeEmail();
+            emails.add(row, email == null ? null : email.getBytes(StandardCharsets.UTF_8));
+        }
+
+        // Copies a row of another roster without decoding it.
+        void copy(ColumnarRoster source, int sourceRow) {
+            int row = nextRow();
+            if (source.rawIds != null && source.rawIds[sourceRow] != null) {
+                rawIds()[row] = source.rawIds[sourceRow];
+            } else {
+                idMostSignificant[row] = source.idMostSignificant[sourceRow];
+                idLeastSignificant[row] = source.idLeastSignificant[sourceRow];
+            }
+            salaries[row] = source.salaries[sourceRow];
+            ages[row] = source.ages[sourceRow];
+            int sourceCode = source.titleCodes[sourceRow];
+            titleCodes[row] = sourceCode < 0 ? -1 : titleCode(source.titleDictionary[sourceCode]);
+            if (source.nonAsciiNames.get(sourceRow)) {
+                nonAsciiNames.set(row);
+            }
+            names.copy(row, source.names, source.nameOffsets, source.nullNames, sourceRow);
+            emails.copy(row, source.emails, source.emailOffsets, source.nullEmails, sourceRow);
+        }
+
+        ColumnarRoster build() {
+            return new ColumnarRoster(this);
+        }
+
+        private int nextRow() {
+            if (size == salaries.length) {
+                int capacity = Math.max(16, size * 2);
+                idMostSignificant = Arrays.copyOf(idMostSignificant, capacity);
+                idLeastSignificant = Arrays.copyOf(idLeastSignificant, capacity);
+                rawIds = rawIds == null ? null : Arrays.copyOf(rawIds, capacity);
+                salaries = Arrays.copyOf(salaries, capacity);
+                ages = Arrays.copyOf(ages, capacity);
+                titleCodes = Arrays.copyOf(titleCodes, capacity);
+            }
+            return size++;
+        }
+
+        private void setId(int row, String id) {
+            UUID uuid = parseCanonicalUuid(id);
+            if (uuid == null) {
+                rawIds()[row] = id;
+            } else {
+                idMostSignificant[row] = uuid.getMostSignificantBits();
+                idLeastSignificant[row] = uuid.getLeastSignificantBits();
+            }
+        }
+
+        private String[] rawIds() {
+            if (rawIds == null) {
+                rawIds = new String[salaries.length];
+            }
+            return rawIds;
+        }
+
+        private int titleCode(String title) {
+            if (title == null) {
+                return -1;
+            }
+            return titleCodesByTitle.computeIfAbsent(title, key -> {
+                titleDictionary.add(key);
+                return titleDictionary.size() - 1;
+            });
+        }
+
+        // Only ids that survive a round trip are stored as longs, so that id(row) returns exactly what was added.
+        private static UUID parseCanonicalUuid(String id) {
+            if (id == null || id.length() != 36) {
+                return null;
+            }
+            try {
+                UUID uuid = UUID.fromString(id);
+                return uuid.toString().equals(id) ? uuid : null;
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    private static final class PackedStrings {
+
+        private byte[] bytes;
+        private int length;
+        private int[] offsets;
+        private final BitSet nulls = new BitSet();
+
+        PackedStrings(int capacity) {
+            bytes = new byte[Math.max(16, capacity * 16)];
+            offsets = new int[capacity + 1];
+        }
+
+        void add(int row, byte[] value) {
+            if (value == null) {
+                nulls.set(row);
+                append(row, new byte[0], 0, 0);
+            } else {
+                append(row, value, 0, value.length);
+            }
+        }
+
+        void copy(int row, byte[] sourceBytes, int[] sourceOffsets, BitSet sourceNulls, int sourceRow) {
+            if (sourceNulls.get(sourceRow)) {
+                nulls.set(row);
+            }
+            int from = sourceOffsets[sourceRow];
+            append(row, sourceBytes, from, sourceOffsets[sourceRow + 1] - from);
+        }
+
+        private void append(int row, byte[] source, int from, int count) {
+            if (length + count > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(length + count, bytes.length * 2));
+            }
+            if (row + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, Math.max(row + 2, offsets.length * 2));
+            }
+            System.arraycopy(source, from, bytes, length, count);
+            length += count;
+            offsets[row + 1] = length;
+        }
+    }
+}
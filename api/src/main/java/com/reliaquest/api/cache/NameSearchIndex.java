@@ -0,0 +1,233 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram inverted index over lower-cased employee names, answering case-insensitive substring searches.
+ *
+ * <p>Every employee gets a document number in roster order, and every trigram of its name a posting list of the
+ * documents containing it. A fragment of three or more characters is answered by intersecting the posting lists of
+ * its trigrams, shortest first, and verifying the surviving candidates, so the work is proportional to the candidate
+ * set rather than to the roster. Shorter fragments, which have no trigrams, fall back to a scan over the pre-lowered
+ * names. Results keep roster order.
+ */
+public class NameSearchIndex {
+
+    private static final int GRAM = 3;
+    // Tombstones tolerated before compacting: at least this many, and more than a quarter of the live documents.
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 64;
+    private static final int LIVE_DOCUMENTS_PER_TOMBSTONE = 4;
+
+    private final List<Employee> documents = new ArrayList<>();
+    private final List<String> lowerCaseNames = new ArrayList<>();
+    private final Map<String, Integer> documentById = new HashMap<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static NameSearchIndex of(List<Employee> employees) {
+        NameSearchIndex index = new NameSearchIndex();
+        employees.forEach(index::add);
+        return index;
+    }
+
+    public void add(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(employee.getId());
+            addUnlocked(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Removed documents are tombstoned rather than purged from the posting lists. The same index may live on for as long
+     * as the roster is revalidated or patched rather than reloaded, so once tombstones outnumber a quarter of the live
+     * documents the index is rebuilt without them, keeping the cost of removals amortized constant.
+     */
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Employee> search(String nameFragment) {
+        String fragment = lowerCase(nameFragment);
+        lock.readLock().lock();
+        try {
+            return fragment.length() < GRAM ? scan(fragment) : lookup(fragment);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Employee> lookup(String fragment) {
+        List<PostingList> lists = new ArrayList<>();
+        for (long trigram : trigrams(fragment)) {
+            PostingList list = postings.get(trigram);
+            if (list == null) {
+                return new ArrayList<>();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+
+        int[] candidates = Arrays.copyOf(lists.get(0).documents, lists.get(0).size);
+        int count = candidates.length;
+        for (int i = 1; i < lists.size() && count > 0; i++) {
+            count = intersect(candidates, count, lists.get(i));
+        }
+
+        // Trigrams only prove the fragment's pieces occur somewhere in the name, not that they are adjacent.
+        List<Employee> matches = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String name = lowerCaseNames.get(candidates[i]);
+            if (name != null && name.contains(fragment) && documents.get(candidates[i]) != null) {
+                matches.add(documents.get(candidates[i]));
+            }
+        }
+        return matches;
+    }
+
+    private List<Employee> scan(String fragment) {
+        List<Employee> matches = new ArrayList<>();
+        for (int document = 0; document < documents.size(); document++) {
+            String name = lowerCaseNames.get(document);
+            if (name != null && name.contains(fragment) && documents.get(document) != null) {
+                matches.add(documents.get(document));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Keeps the first {@code count} entries of {@code candidates} that also appear in {@code list}, in place. Both are
+     * sorted; the longer list is probed with a galloping search.
+     */
+    private static int intersect(int[] candidates, int count, PostingList list) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < count && from < list.size; i++) {
+            int position = gallop(list.documents, from, list.size, candidates[i]);
+            if (position < list.size && list.documents[position] == candidates[i]) {
+                candidates[kept++] = candidates[i];
+                from = position + 1;
+            } else {
+                from = position;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * @return the first position in {@code [from, to)} whose value is {@code >= target}.
+     */
+    private static int gallop(int[] values, int from, int to, int target) {
+        int step = 1;
+        int low = from;
+        int high = from;
+        while (high < to && values[high] < target) {
+            low = high + 1;
+            high = from + step;
+            step <<= 1;
+        }
+        int position = Arrays.binarySearch(values, low, Math.min(high + 1, to), target);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    private void addUnlocked(Employee employee) {
+        int document = documents.size();
+        String name = employee.getEmployeeName() == null ? null : lowerCase(employee.getEmployeeName());
+        documents.add(employee);
+        lowerCaseNames.add(name);
+        documentById.put(employee.getId(), document);
+        if (name != null) {
+            for (long trigram : trigrams(name)) {
+                postings.computeIfAbsent(trigram, ignored -> new PostingList()).add(document);
+            }
+        }
+    }
+
+    private void removeUnlocked(String id) {
+        Integer document = documentById.remove(id);
+        if (document != null) {
+            documents.set(document, null);
+            lowerCaseNames.set(document, null);
+            int tombstones = documents.size() - documentById.size();
+            if (tombstones >= MIN_TOMBSTONES_TO_COMPACT
+                    && tombstones > documentById.size() / LIVE_DOCUMENTS_PER_TOMBSTONE) {
+                compactUnlocked();
+            }
+        }
+    }
+
+    // Renumbers the live documents, in roster order, and rebuilds the posting lists over them.
+    private void compactUnlocked() {
+        List<Employee> live = new ArrayList<>(documentById.size());
+        for (Employee employee : documents) {
+            if (employee != null) {
+                live.add(employee);
+            }
+        }
+        documents.clear();
+        lowerCaseNames.clear();
+        documentById.clear();
+        postings.clear();
+        for (Employee employee : live) {
+            addUnlocked(employee);
+        }
+    }
+
+    int tombstones() {
+        lock.readLock().lock();
+        try {
+            return documents.size() - documentById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Set<Long> trigrams(String text) {
+        Set<Long> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            trigrams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return trigrams;
+    }
+
+    private static String lowerCase(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class PostingList {
+
+        private int[] documents = new int[4];
+        private int size;
+
+        void add(int document) {
+            // Documents are numbered in insertion order, so appending keeps the list sorted.
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
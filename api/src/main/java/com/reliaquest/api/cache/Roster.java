@@ -0,0 +1,287 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+
+/**
+ * One cached copy of the upstream roster together with the structures that answer queries over it.
+ *
+ * <p>The default layout keeps the {@code Employee} objects plus a {@link SalaryIndex} and a {@link NameSearchIndex}.
+ * The columnar layout keeps a {@link ColumnarRoster} instead, trading index lookups for primitive scans over a much
+ * smaller footprint.
+ *
+ * <p>A patched roster in the default layout shares the employee list and indexes of the roster it was patched from,
+ * and only keeps the ids removed from it and the employees appended to it. Queries combine the shared indexes with
+ * those few changes. Once there are more of them than the square root of the size of the shared roster, and at least
+ * 64, the roster is rebuilt with them folded in, so a patch costs O(√n) amortized rather than a copy of the list and
+ * every index.
+ */
+public final class Roster {
+
+    private static final int MIN_CHANGES_TO_REBUILD = 64;
+    private static final Comparator<Employee> BY_SALARY_DESCENDING =
+            Comparator.comparingInt(Employee::getEmployeeSalary).reversed();
+
+    private final List<Employee> employees;
+    private final SalaryIndex salaryIndex;
+    private final NameSearchIndex nameSearchIndex;
+    private final ColumnarRoster columns;
+    private final String version;
+    private final long loadedAt;
+    // Set on a patched roster only: the unpatched roster whose list and indexes it shares, and the changes since.
+    private final Roster shared;
+    private final Set<String> removed;
+    private final Map<String, Employee> appended;
+    // The employee list of a patched roster, built on first use.
+    private volatile List<Employee> patchedEmployees;
+
+    private Roster(
+            List<Employee> employees,
+            SalaryIndex salaryIndex,
+            NameSearchIndex nameSearchIndex,
+            ColumnarRoster columns,
+            String version,
+            long loadedAt) {
+        this(employees, salaryIndex, nameSearchIndex, columns, version, loadedAt, null, Set.of(), Map.of());
+    }
+
+    private Roster(
+            List<Employee> employees,
+            SalaryIndex salaryIndex,
+            NameSearchIndex nameSearchIndex,
+            ColumnarRoster columns,
+            String version,
+            long loadedAt,
+            Roster shared,
+            Set<String> removed,
+            Map<String, Employee> appended) {
+        this.employees = employees;
+        this.salaryIndex = salaryIndex;
+        this.nameSearchIndex = nameSearchIndex;
+        this.columns = columns;
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.shared = shared;
+        this.removed = removed;
+        this.appended = appended;
+    }
+
+    static Roster of(List<Employee> employees, String version, long loadedAt) {
+        List<Employee> copy = Collections.unmodifiableList(new ArrayList<>(employees));
+        return new Roster(copy, SalaryIndex.of(copy), NameSearchIndex.of(copy), null, version, loadedAt);
+    }
+
+    static Roster columnar(List<Employee> employees, String version, long loadedAt) {
+        ColumnarRoster columns = ColumnarRoster.of(employees);
+        return new Roster(columns.asList(), null, null, columns, version, loadedAt);
+    }
+
+    static Builder builder(boolean columnar) {
+        return new Builder(columnar);
+    }
+
+    public List<Employee> getEmployees() {
+        if (shared == null) {
+            return employees;
+        }
+        List<Employee> patched = patchedEmployees;
+        if (patched == null) {
+            patched = new ArrayList<>(employees.size() - removed.size() + appended.size());
+            for (Employee employee : employees) {
+                if (!removed.contains(employee.getId())) {
+                    patched.add(employee);
+                }
+            }
+            patched.addAll(appended.values());
+            patched = Collections.unmodifiableList(patched);
+            patchedEmployees = patched;
+        }
+        return patched;
+    }
+
+    public OptionalInt getHighestSalary() {
+        if (columns != null) {
+            return columns.highestSalary();
+        }
+        if (shared == null) {
+            return salaryIndex.getHighestSalary();
+        }
+        OptionalInt highest = salaryIndex.getTopEarners(1, removed).stream()
+                .mapToInt(Employee::getEmployeeSalary)
+                .findFirst();
+        for (Employee employee : appended.values()) {
+            if (highest.isEmpty() || employee.getEmployeeSalary() > highest.getAsInt()) {
+                highest = OptionalInt.of(employee.getEmployeeSalary());
+            }
+        }
+        return highest;
+    }
+
+    public List<String> getTopEarnerNames(int limit) {
+        if (columns != null) {
+            return columns.topEarnerNames(limit);
+        }
+        if (shared == null) {
+            return salaryIndex.getTopEarnerNames(limit);
+        }
+        // Merges the shared index with the appended employees; on a tie the shared ones come first, as in the list.
+        List<Employee> kept = salaryIndex.getTopEarners(limit, removed);
+        List<Employee> added = new ArrayList<>(appended.values());
+        added.sort(BY_SALARY_DESCENDING);
+        List<String> names = new ArrayList<>(limit);
+        int fromKept = 0;
+        int fromAdded = 0;
+        while (names.size() < limit && (fromKept < kept.size() || fromAdded < added.size())) {
+            if (fromAdded == added.size()
+                    || (fromKept < kept.size()
+                            && kept.get(fromKept).getEmployeeSalary()
+                                    >= added.get(fromAdded).getEmployeeSalary())) {
+                names.add(kept.get(fromKept++).getEmployeeName());
+            } else {
+                names.add(added.get(fromAdded++).getEmployeeName());
+            }
+        }
+        return names;
+    }
+
+    public List<Employee> searchByName(String nameFragment) {
+        if (columns != null) {
+            return columns.searchByName(nameFragment);
+        }
+        if (shared == null) {
+            return nameSearchIndex.search(nameFragment);
+        }
+        List<Employee> matches = nameSearchIndex.search(nameFragment);
+        if (!removed.isEmpty()) {
+            matches.removeIf(employee -> removed.contains(employee.getId()));
+        }
+        String fragment = nameFragment.toLowerCase(Locale.ROOT);
+        for (Employee employee : appended.values()) {
+            if (employee.getEmployeeName() != null
+                    && employee.getEmployeeName().toLowerCase(Locale.ROOT).contains(fragment)) {
+                matches.add(employee);
+            }
+        }
+        return matches;
+    }
+
+    long getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * Upstream version this roster was loaded at, or {@code null} if unknown or patched since.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    // The same roster, revalidated against upstream at loadedAt.
+    Roster revalidated(long loadedAt) {
+        return new Roster(
+                employees, salaryIndex, nameSearchIndex, columns, version, loadedAt, shared, removed, appended);
+    }
+
+    /*
+     * Patches leave this roster and the list and indexes it shares untouched: readers of it keep a consistent view, and
+     * a patched roster that is never installed changes nothing. The default layout records the changes next to the
+     * shared list and indexes, or rebuilds once they have piled up; the columnar layout copies its columns. A patched
+     * roster no longer matches any upstream version it knows of, so it drops its version.
+     */
+    Roster withAdded(List<Employee> added) {
+        return withChanges(added, Set.of(), null, loadedAt);
+    }
+
+    Roster withRemoved(String id) {
+        return withChanges(List.of(), Set.of(id), null, loadedAt);
+    }
+
+    /**
+     * Applies a batch of upstream changes: the {@code removed} ids are dropped and the {@code added} employees appended,
+     * unless they are removed too or already in the roster.
+     */
+    Roster withChanges(List<Employee> added, Set<String> removed, String version, long loadedAt) {
+        if (columns != null) {
+            ColumnarRoster patched = columns.withChanges(added, removed);
+            return new Roster(patched.asList(), null, null, patched, version, loadedAt);
+        }
+        Roster base = shared != null ? shared : this;
+        Set<String> patchedRemoved = new HashSet<>(this.removed);
+        Map<String, Employee> patchedAppended = new LinkedHashMap<>(this.appended);
+        for (String id : removed) {
+            if (patchedAppended.remove(id) == null && base.salaryIndex.contains(id)) {
+                patchedRemoved.add(id);
+            }
+        }
+        for (Employee employee : added) {
+            String id = employee.getId();
+            boolean present =
+                    patchedAppended.containsKey(id) || (base.salaryIndex.contains(id) && !patchedRemoved.contains(id));
+            if (!removed.contains(id) && !present) {
+                patchedAppended.put(id, employee);
+            }
+        }
+        Roster patched = new Roster(
+                base.employees,
+                base.salaryIndex,
+                base.nameSearchIndex,
+                null,
+                version,
+                loadedAt,
+                base,
+                patchedRemoved,
+                patchedAppended);
+        int changes = patchedRemoved.size() + patchedAppended.size();
+        if (changes > Math.max(MIN_CHANGES_TO_REBUILD, Math.sqrt(base.employees.size()))) {
+            return of(patched.getEmployees(), version, loadedAt);
+        }
+        return patched;
+    }
+
+    /**
+     * Builds a roster one employee at a time as it is read, indexing each on arrival, so that a roster fed from a
+     * stream is held once rather than collected into a list and then copied and indexed.
+     */
+    static final class Builder {
+
+        private final ColumnarRoster.Builder columns;
+        private final List<Employee> employees;
+        private final SalaryIndex salaryIndex;
+        private final NameSearchIndex nameSearchIndex;
+
+        private Builder(boolean columnar) {
+            columns = columnar ? new ColumnarRoster.Builder(16) : null;
+            employees = columnar ? null : new ArrayList<>();
+            salaryIndex = columnar ? null : new SalaryIndex();
+            nameSearchIndex = columnar ? null : new NameSearchIndex();
+        }
+
+        void add(Employee employee) {
+            if (columns != null) {
+                columns.add(employee);
+            } else {
+                employees.add(employee);
+                salaryIndex.add(employee);
+                nameSearchIndex.add(employee);
+            }
+        }
+
+        Roster build(String version, long loadedAt) {
+            if (columns != null) {
+                ColumnarRoster built = columns.build();
+                return new Roster(built.asList(), null, null, built, version, loadedAt);
+            }
+            return new Roster(
+                    Collections.unmodifiableList(employees), salaryIndex, nameSearchIndex, null, version, loadedAt);
+        }
+    }
+}
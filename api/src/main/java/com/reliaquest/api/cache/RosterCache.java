@@ -0,0 +1,517 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process snapshot of the upstream employee roster.
+ *
+ * <p>A snapshot younger than {@code employee.cache.ttl} is served as is. Once it is older than that, but still within
+ * {@code employee.cache.stale-ttl}, it keeps being served while a single background refresh revalidates it. Anything
+ * older, or an empty cache, is loaded synchronously, with concurrent callers sharing the same load. A TTL of zero
+ * revalidates on every read.
+ *
+ * <p>When the loader knows the upstream version of the roster, an expired snapshot is revalidated rather than
+ * reloaded: the loader is handed the version held and may answer that it is still current, in which case the snapshot
+ * and its indexes are kept and only its age is reset, or with the changes made since, which are applied to it. Such
+ * reloads are counted as {@code employee.roster.cache.not-modified} and {@code employee.roster.cache.deltas}.
+ *
+ * <p>When a synchronous load fails because upstream is unavailable (rate limited, or refused by its circuit breaker or
+ * bulkhead), the last snapshot loaded is served instead however old it is, so reads keep answering through an upstream
+ * outage.
+ *
+ * <p>Mutations made through this service are patched into the snapshot and its indexes rather than forcing a reload.
+ * A load that was in flight when a patch was made has the patch replayed onto what it loaded before it is installed;
+ * only an invalidation, or more patches than are kept for replay, makes it discard what it loaded.
+ *
+ * <p>With {@code employee.cache.columnar} the snapshot is held as a {@link ColumnarRoster} rather than as
+ * {@code Employee} objects with indexes.
+ *
+ * <p>Reads are counted as {@code employee.roster.cache.requests}, tagged {@code result} {@code hit}, {@code stale}
+ * (served while refreshing), {@code miss} (loaded synchronously) or {@code fallback} (last snapshot served while
+ * upstream is unavailable).
+ */
+@Component
+public class RosterCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RosterCache.class);
+    // Patches kept for replay onto loads in flight; a load that outlives more of them is discarded instead.
+    private static final int REPLAYED_PATCHES = 1024;
+
+    private final long ttlNanos;
+    private final long staleTtlNanos;
+    private final boolean columnar;
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter fallbacks;
+    private final Counter notModified;
+    private final Counter deltas;
+
+    private final AtomicReference<Roster> snapshot = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    // Serializes synchronous loads, so concurrent cache misses share a single upstream fetch.
+    private final ReentrantLock loadLock = new ReentrantLock();
+    // Serializes changes to the snapshot and its indexes.
+    private final ReentrantLock stateLock = new ReentrantLock();
+    // Guarded by stateLock: the patches since the last invalidation, oldest first, and the generation it bumped to.
+    private final Deque<Patch> patches = new ArrayDeque<>();
+    private long invalidatedGeneration;
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "roster-cache-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RosterCache(Duration ttl, Duration staleTtl) {
+        this(ttl, staleTtl, false, new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public RosterCache(
+            @Value("${employee.cache.ttl:30s}") Duration ttl,
+            @Value("${employee.cache.stale-ttl:5m}") Duration staleTtl,
+            @Value("${employee.cache.columnar:false}") boolean columnar,
+            MeterRegistry meterRegistry) {
+        this.ttlNanos = ttl.toNanos();
+        this.staleTtlNanos = ttlNanos + staleTtl.toNanos();
+        this.columnar = columnar;
+        this.hits = requests(meterRegistry, "hit");
+        this.staleHits = requests(meterRegistry, "stale");
+        this.misses = requests(meterRegistry, "miss");
+        this.fallbacks = requests(meterRegistry, "fallback");
+        this.notModified = Counter.builder("employee.roster.cache.not-modified")
+                .description("Roster reloads answered by upstream as unchanged")
+                .register(meterRegistry);
+        this.deltas = Counter.builder("employee.roster.cache.deltas")
+                .description("Roster reloads answered by upstream with the changes since the cached roster")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached roster, loading it through {@code loader} when the cache is empty or expired.
+     */
+    public List<Employee> get(Supplier<List<Employee>> loader) {
+        return getRoster(loader).getEmployees();
+    }
+
+    /**
+     * Like {@link #get(Supplier)}, but revalidates an expired roster through a {@link Loader} rather than reloading it.
+     */
+    public List<Employee> get(Loader loader) {
+        return getRoster(loader).getEmployees();
+    }
+
+    /**
+     * Like {@link #get(Supplier)}, but also exposes the indexes built over the returned roster.
+     */
+    public Roster getRoster(Supplier<List<Employee>> loader) {
+        return getRoster(unversioned(loader));
+    }
+
+    /**
+     * Like {@link #get(Loader)}, but also exposes the indexes built over the returned roster.
+     */
+    public Roster getRoster(Loader loader) {
+        Roster current = snapshot.get();
+        Roster cached = cached(current, loader);
+        if (cached != null) {
+            return cached;
+        }
+        misses.increment();
+        try {
+            return ttlNanos <= 0 ? reload(loader) : load(loader, current);
+        } catch (UpstreamUnavailableException e) {
+            Roster lastKnown = getLastKnownRoster();
+            if (lastKnown == null) {
+                throw e;
+            }
+            return lastKnown;
+        }
+    }
+
+    /**
+     * Returns the last roster loaded, however old, for a caller that could not reach upstream; {@code null} if there is
+     * none.
+     */
+    public Roster getLastKnownRoster() {
+        Roster current = snapshot.get();
+        if (current != null) {
+            fallbacks.increment();
+            logger.warn(
+                    "Upstream unavailable, serving the roster loaded {}s ago.",
+                    TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - current.getLoadedAt()));
+        }
+        return current;
+    }
+
+    /**
+     * Like {@link #getRoster(Supplier)}, but returns {@code null} instead of loading synchronously when there is no
+     * usable snapshot. A stale snapshot is still returned and refreshed in the background.
+     */
+    public Roster getRosterIfCached(Supplier<List<Employee>> loader) {
+        return getRosterIfCached(unversioned(loader));
+    }
+
+    /**
+     * Like {@link #getRosterIfCached(Supplier)}, revalidating through a {@link Loader}.
+     */
+    public Roster getRosterIfCached(Loader loader) {
+        Roster cached = cached(snapshot.get(), loader);
+        if (cached == null) {
+            misses.increment();
+        }
+        return cached;
+    }
+
+    /**
+     * Starts loading the roster in the background when none is cached, for a caller that answered without it but whose
+     * next reads should find it cached.
+     */
+    public void prefetch(Loader loader) {
+        if (ttlNanos > 0 && snapshot.get() == null) {
+            refreshAsync(loader);
+        }
+    }
+
+    /**
+     * Generation of the snapshot, bumped by every patch and invalidation. Read it before fetching a roster to
+     * {@link #put(Loaded, long)}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Installs a whole roster the caller fetched itself, and returns it indexed. Unlike a load, this never waits for
+     * another load to finish, so it may be called from an event loop. Patches made since {@code startedGeneration} are
+     * replayed onto the roster; if the snapshot was invalidated since, the roster is discarded and the current
+     * snapshot returned instead.
+     *
+     * @param startedGeneration {@link #generation()} read before the roster was fetched.
+     */
+    public Roster put(Loaded loaded, long startedGeneration) {
+        if (loaded.isDelta()) {
+            throw new IllegalArgumentException("Only a whole roster can be put.");
+        }
+        Roster built = build(loaded);
+        Roster installed = installIfCurrent(built, startedGeneration);
+        if (installed != null) {
+            return installed;
+        }
+        Roster current = snapshot.get();
+        return current != null ? current : built;
+    }
+
+    /**
+     * Patches an employee created upstream into the snapshot, if there is one.
+     */
+    public void employeeAdded(Employee employee) {
+        employeesAdded(List.of(employee));
+    }
+
+    /**
+     * Patches a batch of employees created upstream into the snapshot with a single copy, if there is one.
+     */
+    public void employeesAdded(List<Employee> employees) {
+        if (!employees.isEmpty()) {
+            patch(roster -> roster.withAdded(employees));
+        }
+    }
+
+    /**
+     * Patches an employee deleted upstream out of the snapshot, if there is one.
+     */
+    public void employeeRemoved(String id) {
+        patch(roster -> roster.withRemoved(id));
+    }
+
+    /**
+     * Patches changes pushed by upstream into the snapshot, if there is one. The snapshot moves to the version of
+     * {@code changes} if it was at {@code previousVersion}, and otherwise keeps its own: applying creates and deletes is
+     * idempotent, so a change the snapshot already includes is harmless, and a version that is too old only means the
+     * next revalidation goes over some changes again.
+     */
+    public void changesPushed(Loaded changes, String previousVersion) {
+        patch(roster -> roster.withChanges(
+                changes.added(),
+                changes.removed(),
+                previousVersion.equals(roster.getVersion()) ? changes.version() : roster.getVersion(),
+                roster.getLoadedAt()));
+    }
+
+    /**
+     * Marks the snapshot, if any, as freshly loaded, for a caller that knows it has not missed any upstream change.
+     */
+    public void confirmCurrent() {
+        stateLock.lock();
+        try {
+            Roster current = snapshot.get();
+            if (current != null) {
+                snapshot.set(current.revalidated(System.nanoTime()));
+            }
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    /**
+     * Drops the current snapshot so that the next read reloads it. Loads that started before the invalidation are
+     * discarded instead of being installed.
+     */
+    public void invalidate() {
+        stateLock.lock();
+        try {
+            invalidatedGeneration = generation.incrementAndGet();
+            patches.clear();
+            snapshot.set(null);
+        } finally {
+            stateLock.unlock();
+        }
+        logger.debug("Roster cache invalidated.");
+    }
+
+    private Roster cached(Roster current, Loader loader) {
+        if (ttlNanos <= 0 || current == null) {
+            return null;
+        }
+        long age = System.nanoTime() - current.getLoadedAt();
+        if (age < ttlNanos) {
+            hits.increment();
+            return current;
+        }
+        if (age < staleTtlNanos) {
+            staleHits.increment();
+            refreshAsync(loader);
+            return current;
+        }
+        return null;
+    }
+
+    private void patch(UnaryOperator<Roster> change) {
+        stateLock.lock();
+        try {
+            // Loads already in flight predate this mutation, so it is kept to be replayed onto what they load.
+            patches.addLast(new Patch(generation.incrementAndGet(), change));
+            if (patches.size() > REPLAYED_PATCHES) {
+                patches.removeFirst();
+            }
+            Roster current = snapshot.get();
+            if (current != null) {
+                snapshot.set(change.apply(current));
+            }
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    private Roster load(Loader loader, Roster seen) {
+        loadLock.lock();
+        try {
+            // Another caller may have loaded the roster while this one was waiting for the lock.
+            Roster current = snapshot.get();
+            if (current != null && current != seen) {
+                return current;
+            }
+            return install(loader);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private Roster reload(Loader loader) {
+        loadLock.lock();
+        try {
+            return install(loader);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void refreshAsync(Loader loader) {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        refresher.execute(() -> {
+            try {
+                install(loader);
+            } catch (RuntimeException e) {
+                logger.warn("Background roster refresh failed, serving stale roster.", e);
+            } finally {
+                refreshing.set(false);
+            }
+        });
+    }
+
+    private Roster install(Loader loader) {
+        long startedGeneration = generation.get();
+        Roster known = snapshot.get();
+        Loaded fetched = loader.load(known == null ? null : known.getVersion());
+        Roster loaded;
+        if (fetched != null && !fetched.isDelta()) {
+            loaded = build(fetched);
+        } else if (known == null || known.getVersion() == null) {
+            throw new IllegalStateException("Roster loader answered relative to a version it was not given.");
+        } else if (fetched == null) {
+            notModified.increment();
+            loaded = known.revalidated(System.nanoTime());
+        } else {
+            deltas.increment();
+            loaded = known.withChanges(fetched.added(), fetched.removed(), fetched.version(), System.nanoTime());
+        }
+        Roster installed = installIfCurrent(loaded, startedGeneration);
+        if (installed != null) {
+            return installed;
+        }
+        // Invalidated while loading: the caller gets what readers see, as with put.
+        Roster current = snapshot.get();
+        return current != null ? current : loaded;
+    }
+
+    // Builds a whole roster; a streamed one is read here, and counts as loaded once it has been read.
+    private Roster build(Loaded fetched) {
+        if (fetched.source() != null) {
+            Roster.Builder builder = Roster.builder(columnar);
+            fetched.source().forEach(builder::add);
+            return builder.build(fetched.version(), System.nanoTime());
+        }
+        long loadedAt = System.nanoTime();
+        return columnar
+                ? Roster.columnar(fetched.employees(), fetched.version(), loadedAt)
+                : Roster.of(fetched.employees(), fetched.version(), loadedAt);
+    }
+
+    // The state lock is only held to replay patches and swap the snapshot, never across a load. Returns the roster
+    // installed, or null if it was discarded.
+    private Roster installIfCurrent(Roster loaded, long startedGeneration) {
+        stateLock.lock();
+        try {
+            Roster installed = generation.get() == startedGeneration ? loaded : replayed(loaded, startedGeneration);
+            if (installed == null) {
+                return null;
+            }
+            snapshot.set(installed);
+            logger.debug(
+                    "Roster cache refreshed with {} employees.",
+                    installed.getEmployees().size());
+            return installed;
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    /*
+     * Applies the patches made since startedGeneration to a roster loaded from upstream, or returns null if they are no
+     * longer all known. Patches add and remove by id, so one that the load already saw changes nothing when replayed.
+     */
+    private Roster replayed(Roster loaded, long startedGeneration) {
+        if (invalidatedGeneration > startedGeneration
+                || patches.isEmpty()
+                || patches.getFirst().generation() > startedGeneration + 1) {
+            return null;
+        }
+        Roster replayed = loaded;
+        for (Patch patch : patches) {
+            if (patch.generation() > startedGeneration) {
+                replayed = patch.change().apply(replayed);
+            }
+        }
+        return replayed;
+    }
+
+    private record Patch(long generation, UnaryOperator<Roster> change) {}
+
+    private static Loader unversioned(Supplier<List<Employee>> loader) {
+        return knownVersion -> new Loaded(loader.get(), null);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("employee.roster.cache.requests")
+                .description("Roster cache reads by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the roster from upstream, conditionally on the version of the roster already held.
+     */
+    @FunctionalInterface
+    public interface Loader {
+
+        /**
+         * @param knownVersion version of the cached roster, or {@code null} when there is none to compare with.
+         * @return the upstream roster, the changes made to it since {@code knownVersion}, or {@code null} when upstream
+         * confirms {@code knownVersion} is still current.
+         */
+        Loaded load(String knownVersion);
+    }
+
+    /**
+     * Feeds a whole roster to the cache one employee at a time.
+     */
+    @FunctionalInterface
+    public interface EmployeeSource {
+
+        void forEach(Consumer<Employee> consumer);
+    }
+
+    /**
+     * Either a whole roster ({@code employees}, or a {@code source} read while the snapshot is built from it) or the
+     * changes to apply to the known one ({@code added} and {@code removed} ids).
+     *
+     * @param version opaque upstream version of the resulting roster, or {@code null} if upstream did not send one.
+     */
+    public record Loaded(
+            List<Employee> employees,
+            EmployeeSource source,
+            List<Employee> added,
+            Set<String> removed,
+            String version) {
+
+        public Loaded(List<Employee> employees, String version) {
+            this(employees, null, null, null, version);
+        }
+
+        public static Loaded streamed(EmployeeSource source, String version) {
+            return new Loaded(null, source, null, null, version);
+        }
+
+        public static Loaded changes(List<Employee> added, Set<String> removed, String version) {
+            return new Loaded(null, null, added, removed, version);
+        }
+
+        boolean isDelta() {
+            return employees == null && source == null;
+        }
+    }
+}
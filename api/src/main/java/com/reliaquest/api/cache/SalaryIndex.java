@@ -0,0 +1,127 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Employees ordered by salary, maintained incrementally as the cached roster changes.
+ *
+ * <p>The highest salary is the last key of the tree and the top earners are the first {@code k} entries of its
+ * descending view, so neither needs to look at the rest of the roster. Employees sharing a salary keep roster order,
+ * matching a stable sort of the roster by descending salary.
+ */
+public class SalaryIndex {
+
+    private final TreeMap<Integer, LinkedHashMap<String, Employee>> bySalary = new TreeMap<>();
+    private final Map<String, Integer> salaryById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static SalaryIndex of(List<Employee> employees) {
+        SalaryIndex index = new SalaryIndex();
+        employees.forEach(index::add);
+        return index;
+    }
+
+    public void add(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(employee.getId());
+            bySalary.computeIfAbsent(employee.getEmployeeSalary(), ignored -> new LinkedHashMap<>())
+                    .put(employee.getId(), employee);
+            salaryById.put(employee.getId(), employee.getEmployeeSalary());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public OptionalInt getHighestSalary() {
+        lock.readLock().lock();
+        try {
+            return bySalary.isEmpty() ? OptionalInt.empty() : OptionalInt.of(bySalary.lastKey());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<String> getTopEarnerNames(int limit) {
+        lock.readLock().lock();
+        try {
+            List<String> names = new ArrayList<>(limit);
+            for (LinkedHashMap<String, Employee> employees :
+                    bySalary.descendingMap().values()) {
+                for (Employee employee : employees.values()) {
+                    if (names.size() == limit) {
+                        return names;
+                    }
+                    names.add(employee.getEmployeeName());
+                }
+            }
+            return names;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The {@code limit} highest earners, like {@link #getTopEarnerNames(int)}, skipping the {@code excluded} ids.
+     */
+    public List<Employee> getTopEarners(int limit, Set<String> excluded) {
+        lock.readLock().lock();
+        try {
+            List<Employee> earners = new ArrayList<>(limit);
+            for (LinkedHashMap<String, Employee> employees :
+                    bySalary.descendingMap().values()) {
+                for (Employee employee : employees.values()) {
+                    if (earners.size() == limit) {
+                        return earners;
+                    }
+                    if (!excluded.contains(employee.getId())) {
+                        earners.add(employee);
+                    }
+                }
+            }
+            return earners;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(String id) {
+        lock.readLock().lock();
+        try {
+            return salaryById.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeUnlocked(String id) {
+        Integer salary = salaryById.remove(id);
+        if (salary == null) {
+            return;
+        }
+        LinkedHashMap<String, Employee> employees = bySalary.get(salary);
+        employees.remove(id);
+        if (employees.isEmpty()) {
+            bySalary.remove(salary);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+
+/**
+ * Stops calling an upstream that keeps failing. After {@code failureThreshold} consecutive failures the circuit opens
+ * and calls are refused for {@code openDuration}. It then half-opens: up to {@code halfOpenProbes} calls at a time are
+ * let through, and the first of them to succeed closes the circuit again while a failure reopens it.
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final int halfOpenProbes;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openUntil;
+    private int probesInFlight;
+
+    CircuitBreaker(int failureThreshold, Duration openDuration, int halfOpenProbes) {
+        if (failureThreshold <= 0 || halfOpenProbes <= 0) {
+            throw new IllegalArgumentException("Circuit breaker thresholds must be positive.");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenProbes = halfOpenProbes;
+    }
+
+    /**
+     * @return zero when a call may be made, otherwise nanoseconds until it is worth trying again.
+     */
+    synchronized long tryAcquire(long now) {
+        if (state == State.OPEN) {
+            if (now - openUntil < 0) {
+                return openUntil - now;
+            }
+            state = State.HALF_OPEN;
+            probesInFlight = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= halfOpenProbes) {
+                // The probes in flight will settle it well within another open period.
+                return Math.max(1, openNanos);
+            }
+            probesInFlight++;
+        }
+        return 0;
+    }
+
+    /**
+     * Records a call that reached a healthy upstream, including one it answered with a client error. While open, no
+     * calls are let through, so a success then is from a call made before the circuit opened and does not close it.
+     */
+    synchronized void onSuccess() {
+        if (state == State.OPEN) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            state = State.CLOSED;
+            probesInFlight = 0;
+        }
+        consecutiveFailures = 0;
+    }
+
+    /**
+     * Records a call that failed because of upstream: no connection, a timeout or a server error.
+     */
+    synchronized void onFailure(long now) {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openUntil = now + openNanos;
+            probesInFlight = 0;
+        }
+    }
+
+    /**
+     * Records a call that says nothing about upstream health, such as one refused by the client-side rate limit.
+     */
+    synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && probesInFlight > 0) {
+            probesInFlight--;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+}
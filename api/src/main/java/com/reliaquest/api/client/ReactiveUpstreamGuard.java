@@ -0,0 +1,70 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link UpstreamGuard} for calls made with {@code WebClient}, sharing its rate limit and
+ * backoff, and the circuit breakers and bulkheads of {@link UpstreamIsolation}.
+ *
+ * <p>Nothing here parks a thread: waiting for a permit is a timer rather than a sleep, and a full bulkhead refuses the
+ * call straight away instead of waiting {@code employee.upstream.bulkhead.max-wait} for room, since calls beyond it
+ * only queue for a connection of the client's pool.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveUpstreamGuard {
+
+    private final UpstreamGuard upstreamGuard;
+    private final UpstreamIsolation isolation;
+
+    @Autowired
+    public ReactiveUpstreamGuard(UpstreamGuard upstreamGuard, UpstreamIsolation isolation) {
+        this.upstreamGuard = upstreamGuard;
+        this.isolation = isolation;
+    }
+
+    /**
+     * Subscribes to {@code call} once a permit is available, and if the circuit breaker and bulkhead of
+     * {@code operation} let it through.
+     */
+    public <T> Mono<T> execute(UpstreamOperation operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            Semaphore bulkhead = isolation.enter(operation, 0);
+            return acquirePermit(upstreamGuard.permitDeadline())
+                    .then(call)
+                    .onErrorMap(
+                            WebClientResponseException.TooManyRequests.class,
+                            e -> upstreamGuard.rateLimited(e.getHeaders()))
+                    .doOnSuccess(result -> {
+                        upstreamGuard.succeeded();
+                        isolation.succeeded(operation);
+                    })
+                    .doOnError(e -> {
+                        if (e instanceof WebClientResponseException response
+                                && response.getStatusCode().is4xxClientError()) {
+                            isolation.succeeded(operation);
+                        } else if (e instanceof WebClientResponseException || e instanceof WebClientRequestException) {
+                            isolation.failed(operation);
+                        } else {
+                            isolation.ignored(operation);
+                        }
+                    })
+                    .doOnCancel(() -> isolation.ignored(operation))
+                    .doFinally(signal -> bulkhead.release());
+        });
+    }
+
+    private Mono<Void> acquirePermit(long deadline) {
+        return Mono.defer(() -> {
+            long wait = upstreamGuard.tryAcquirePermit(deadline);
+            return wait == 0 ? Mono.empty() : Mono.delay(Duration.ofNanos(wait)).then(acquirePermit(deadline));
+        });
+    }
+}
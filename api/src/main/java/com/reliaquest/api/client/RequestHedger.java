@@ -0,0 +1,240 @@
+package com.reliaquest.api.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hedges slow upstream reads: when a call has not answered within the {@code employee.upstream.hedging.percentile}
+ * of recent call latencies, a second identical call is sent and whichever answers first wins. The delay never drops
+ * below {@code employee.upstream.hedging.min-delay}, and is {@code employee.upstream.hedging.initial-delay} until enough
+ * latencies have been seen.
+ *
+ * <p>Hedges are extra load on a rate-limited server, so they are budgeted: at most
+ * {@code employee.upstream.hedging.budget} of the client-side rate-limit allowance
+ * ({@code employee.upstream.rate-limit.capacity} per {@code refill-period}) may go to hedges, and a hedge is only sent
+ * if a rate-limit permit is available right away. Otherwise the first call is simply awaited.
+ *
+ * <p>Off unless {@code employee.upstream.hedging.enabled}. Hedges are counted as
+ * {@code employee.upstream.hedging.requests}, tagged {@code result} {@code sent}, {@code won} (answered first) or
+ * {@code skipped} (no budget); call latencies are recorded as {@code employee.upstream.hedging.latency}, for the
+ * upstream calls wrapped in {@link #timed(Supplier)}.
+ */
+@Component
+public class RequestHedger {
+
+    // Latencies seen before the percentile is trusted over the initial delay.
+    private static final int MIN_SAMPLES = 20;
+
+    private final boolean enabled;
+    private final long initialDelayNanos;
+    private final long minDelayNanos;
+    private final TokenBucket budget;
+    private final Timer latency;
+    private final Counter sent;
+    private final Counter won;
+    private final Counter skipped;
+    private final ExecutorService executor;
+
+    public RequestHedger() {
+        this(
+                false,
+                0.95,
+                Duration.ofMillis(50),
+                Duration.ofMillis(5),
+                0.1,
+                5,
+                Duration.ofSeconds(30),
+                new SimpleMeterRegistry());
+    }
+
+    public RequestHedger(
+            boolean enabled,
+            double percentile,
+            Duration initialDelay,
+            Duration minDelay,
+            double budget,
+            int rateLimitCapacity,
+            Duration rateLimitRefillPeriod,
+            MeterRegistry meterRegistry) {
+        this(
+                enabled,
+                percentile,
+                initialDelay,
+                minDelay,
+                budget,
+                rateLimitCapacity,
+                rateLimitRefillPeriod,
+                false,
+                meterRegistry);
+    }
+
+    @Autowired
+    public RequestHedger(
+            @Value("${employee.upstream.hedging.enabled:false}") boolean enabled,
+            @Value("${employee.upstream.hedging.percentile:0.95}") double percentile,
+            @Value("${employee.upstream.hedging.initial-delay:50ms}") Duration initialDelay,
+            @Value("${employee.upstream.hedging.min-delay:5ms}") Duration minDelay,
+            @Value("${employee.upstream.hedging.budget:0.1}") double budget,
+            @Value("${employee.upstream.rate-limit.capacity:5}") int rateLimitCapacity,
+            @Value("${employee.upstream.rate-limit.refill-period:30s}") Duration rateLimitRefillPeriod,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.executor = UpstreamExecutors.newExecutor("upstream-hedge", virtualThreads);
+        this.initialDelayNanos = initialDelay.toNanos();
+        this.minDelayNanos = minDelay.toNanos();
+        // Hedges per refill period, possibly less than one: the bucket holds at least one and refills proportionally
+        // slower.
+        double hedgesPerPeriod = budget * rateLimitCapacity;
+        if (hedgesPerPeriod > 0) {
+            int capacity = Math.max(1, (int) hedgesPerPeriod);
+            this.budget = new TokenBucket(capacity, Duration.ofNanos((long)
+                    (rateLimitRefillPeriod.toNanos() * (capacity / hedgesPerPeriod))));
+        } else {
+            this.budget = null;
+        }
+        this.latency = Timer.builder("employee.upstream.hedging.latency")
+                .description("Latency of hedged upstream calls, each attempt on its own")
+                .publishPercentiles(percentile)
+                .register(meterRegistry);
+        this.sent = hedges(meterRegistry, "sent");
+        this.won = hedges(meterRegistry, "won");
+        this.skipped = hedges(meterRegistry, "skipped");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Performs {@code call}, hedged by {@code hedge} if it is slow and {@code hedgePermit} grants a permit for the hedge
+     * without waiting. If one of them fails, the other is still awaited; the failure is only thrown if both fail.
+     */
+    public <T> T execute(Supplier<T> call, Supplier<T> hedge, BooleanSupplier hedgePermit) {
+        CompletableFuture<T> first = submit(call);
+        try {
+            return first.get(hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Slow: hedge below.
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            first.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for upstream.", e);
+        }
+
+        if (budget == null || !budget.tryAcquire()) {
+            skipped.increment();
+            return join(first);
+        }
+        if (!hedgePermit.getAsBoolean()) {
+            budget.release();
+            skipped.increment();
+            return join(first);
+        }
+        sent.increment();
+        CompletableFuture<T> second = submit(hedge);
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        AtomicBoolean hedgeWon = new AtomicBoolean();
+        first.whenComplete((result, failure) -> settle(winner, failures, hedgeWon, false, result, failure));
+        second.whenComplete((result, failure) -> settle(winner, failures, hedgeWon, true, result, failure));
+        T result = join(winner);
+        if (hedgeWon.get()) {
+            won.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Records the latency of {@code call}, the upstream call itself, into the percentile the hedge delay follows. Wrap
+     * it inside any wait for permits or bulkheads, which would otherwise push the delay up.
+     */
+    public <T> Supplier<T> timed(Supplier<T> call) {
+        return () -> {
+            long start = System.nanoTime();
+            T result = call.get();
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        };
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, executor);
+    }
+
+    private long hedgeDelayNanos() {
+        if (latency.count() < MIN_SAMPLES) {
+            return Math.max(minDelayNanos, initialDelayNanos);
+        }
+        ValueAtPercentile[] percentiles = latency.takeSnapshot().percentileValues();
+        long observed = percentiles.length == 0 ? initialDelayNanos : (long) percentiles[0].value(TimeUnit.NANOSECONDS);
+        return Math.max(minDelayNanos, observed);
+    }
+
+    // The first success completes winner, noting whether it was the hedge before anyone can see the result.
+    private static <T> void settle(
+            CompletableFuture<T> winner,
+            AtomicInteger failures,
+            AtomicBoolean hedgeWon,
+            boolean hedge,
+            T result,
+            Throwable failure) {
+        if (failure == null) {
+            synchronized (winner) {
+                if (!winner.isDone()) {
+                    hedgeWon.set(hedge);
+                    winner.complete(result);
+                }
+            }
+        } else if (failures.incrementAndGet() == 2) {
+            winner.completeExceptionally(failure);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable failure) {
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        return failure instanceof RuntimeException runtime ? runtime : new IllegalStateException(failure);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static Counter hedges(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("employee.upstream.hedging.requests")
+                .description("Hedged upstream requests by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
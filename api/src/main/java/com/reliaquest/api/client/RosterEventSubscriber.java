@@ -0,0 +1,252 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.config.UpstreamHttpConfiguration;
+import com.reliaquest.api.dto.EmployeeChange;
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Keeps the roster cache in sync from the upstream Server-Sent Events stream, when
+ * {@code employee.upstream.events.enabled} is set.
+ *
+ * <p>Created and deleted employees are patched into the cached roster as they are pushed. Heartbeats confirm that no
+ * change has been missed, which keeps the cached roster fresh without polling upstream for as long as the stream is
+ * up. A {@code reset} event, sent when upstream can no longer replay what was missed, drops the cached roster.
+ *
+ * <p>A dropped stream is reconnected with exponential backoff, resuming from the last event received. The stream is
+ * considered dead when nothing, not even a heartbeat, arrives within {@code employee.upstream.events.idle-timeout}.
+ * Each connection attempt takes a permit from {@link UpstreamGuard}.
+ */
+@Component
+public class RosterEventSubscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(RosterEventSubscriber.class);
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    @Autowired
+    private RosterCache rosterCache;
+
+    @Autowired
+    private UpstreamGuard upstreamGuard;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UpstreamHttpConfiguration upstreamHttpConfiguration;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Value("${employee.upstream.base-url:http://localhost:8112/api/v1/employee}")
+    private String baseUrl;
+
+    @Value("${employee.upstream.events.enabled:false}")
+    private boolean enabled;
+
+    @Value("${employee.upstream.events.idle-timeout:30s}")
+    private Duration idleTimeout;
+
+    @Value("${employee.upstream.events.reconnect.initial:1s}")
+    private Duration reconnectInitial;
+
+    @Value("${employee.upstream.events.reconnect.max:30s}")
+    private Duration reconnectMax;
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile Long lastEventId;
+    private volatile BufferedReader stream;
+    private Thread thread;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "roster-events");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            closeStream();
+        }
+    }
+
+    private void run() {
+        // The configured upstream transport, except that a read may wait for up to the idle timeout.
+        RestTemplate restTemplate =
+                upstreamHttpConfiguration.restTemplateWithReadTimeout(observationRegistry, idleTimeout);
+
+        Duration backoff = reconnectInitial;
+        while (running) {
+            Duration wait;
+            connected = false;
+            try {
+                subscribe(restTemplate);
+                wait = reconnectInitial;
+            } catch (UpstreamRateLimitedException e) {
+                wait = e.getRetryAfter().compareTo(backoff) > 0 ? e.getRetryAfter() : backoff;
+            } catch (RuntimeException e) {
+                if (running) {
+                    logger.warn("Roster event stream failed: {}", e.toString());
+                }
+                wait = backoff;
+            }
+            // A stream that was up restarts the backoff; one that never came up keeps growing it.
+            backoff = connected ? reconnectInitial : min(backoff.multipliedBy(2), reconnectMax);
+            if (running) {
+                logger.info("Reconnecting to the roster event stream in {} ms.", wait.toMillis());
+                try {
+                    Thread.sleep(wait.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void subscribe(RestTemplate restTemplate) {
+        Long resumeFrom = lastEventId;
+        upstreamGuard.execute(() -> restTemplate.execute(
+                baseUrl + "/events",
+                HttpMethod.GET,
+                request -> {
+                    request.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+                    if (resumeFrom != null) {
+                        request.getHeaders().set(LAST_EVENT_ID, String.valueOf(resumeFrom));
+                    }
+                },
+                response -> {
+                    connected = true;
+                    if (resumeFrom == null) {
+                        // Changes made before this first subscription cannot be replayed, so whatever is cached may
+                        // already have missed some.
+                        rosterCache.invalidate();
+                    }
+                    logger.info("Subscribed to the roster event stream from event {}.", resumeFrom);
+                    stream = new BufferedReader(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8));
+                    try {
+                        consume(stream);
+                    } finally {
+                        closeStream();
+                    }
+                    return null;
+                }));
+    }
+
+    /**
+     * Reads events off {@code reader} until the stream ends, applying each as it completes.
+     */
+    void consume(BufferedReader reader) throws IOException {
+        String id = null;
+        String event = null;
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                if (event != null || data.length() > 0) {
+                    dispatch(event == null ? "message" : event, id, data.toString());
+                }
+                id = null;
+                event = null;
+                data.setLength(0);
+                continue;
+            }
+            if (line.startsWith(":")) {
+                continue;
+            }
+            int colon = line.indexOf(':');
+            String field = colon < 0 ? line : line.substring(0, colon);
+            String value = colon < 0 ? "" : line.substring(colon + 1);
+            if (value.startsWith(" ")) {
+                value = value.substring(1);
+            }
+            switch (field) {
+                case "id" -> id = value;
+                case "event" -> event = value;
+                case "data" -> {
+                    if (data.length() > 0) {
+                        data.append('\n');
+                    }
+                    data.append(value);
+                }
+                default -> {
+                    // retry and unknown fields are ignored.
+                }
+            }
+        }
+    }
+
+    private void dispatch(String event, String id, String data) throws IOException {
+        switch (event) {
+            case "CREATED", "DELETED" -> {
+                EmployeeChange change = objectMapper.readValue(data, EmployeeChange.class);
+                long version = change.getVersion();
+                RosterCache.Loaded changes = change.getType() == EmployeeChange.Type.CREATED
+                        ? RosterCache.Loaded.changes(
+                                List.of(change.getEmployee()), Set.of(), RosterVersions.tag(version))
+                        : RosterCache.Loaded.changes(
+                                List.of(), Set.of(change.getEmployee().getId()), RosterVersions.tag(version));
+                rosterCache.changesPushed(changes, RosterVersions.tag(version - 1));
+                logger.debug(
+                        "Applied pushed {} of employee {} at version {}.",
+                        event,
+                        change.getEmployee().getId(),
+                        version);
+            }
+            case "reset" -> {
+                logger.info("Upstream could not replay missed roster events, dropping the cached roster.");
+                rosterCache.invalidate();
+            }
+            case "heartbeat" -> rosterCache.confirmCurrent();
+            case "subscribed" -> logger.debug("Roster event stream starts after version {}.", data);
+            default -> logger.debug("Ignoring roster event {}.", event);
+        }
+        if (id != null && !id.isEmpty()) {
+            lastEventId = Long.parseLong(id);
+        }
+    }
+
+    private void closeStream() {
+        BufferedReader current = stream;
+        stream = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close the roster event stream.", e);
+            }
+        }
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
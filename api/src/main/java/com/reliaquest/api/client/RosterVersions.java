@@ -0,0 +1,31 @@
+package com.reliaquest.api.client;
+
+/**
+ * Conversions between upstream roster version numbers and the tags they travel as.
+ *
+ * <p>The whole-roster response carries its version as a weak ETag, {@code W/"<version>"}, and that tag is what the
+ * roster cache keeps. The change feed and the event stream number changes with the bare version.
+ */
+public final class RosterVersions {
+
+    private RosterVersions() {}
+
+    /**
+     * @return the version in {@code tag}, or {@code null} when it is not a roster version tag.
+     */
+    public static Long parse(String tag) {
+        if (tag == null) {
+            return null;
+        }
+        String version = tag.startsWith("W/") ? tag.substring(2) : tag;
+        try {
+            return Long.parseLong(version.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public static String tag(long version) {
+        return "W/\"" + version + "\"";
+    }
+}
@@ -0,0 +1,148 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.PriorityQueue;
+
+/**
+ * Salary aggregates computed token by token from an upstream roster payload, without binding it to {@code Employee}
+ * objects.
+ *
+ * <p>Accepts either the {@code {"data": [...]}} envelope or an NDJSON stream of employee objects. Only the salary of
+ * each employee is read, plus its name for top-earner queries; the name is copied into a reusable buffer and only
+ * becomes a {@code String} once it makes it into the result. Everything else is skipped by the parser.
+ */
+public final class StreamingRosterAggregator {
+
+    private static final String DATA = "data";
+    private static final String SALARY = "employee_salary";
+    private static final String NAME = "employee_name";
+
+    private StreamingRosterAggregator() {}
+
+    public static OptionalInt highestSalary(JsonParser parser) throws IOException {
+        int[] max = {Integer.MIN_VALUE};
+        boolean[] found = {false};
+        new Scanner(parser, false, (salary, name, nameLength) -> {
+                    max[0] = Math.max(max[0], salary);
+                    found[0] = true;
+                })
+                .scan();
+        return found[0] ? OptionalInt.of(max[0]) : OptionalInt.empty();
+    }
+
+    /**
+     * Names of the {@code limit} highest earners, highest first. Employees sharing a salary keep roster order, as with
+     * a stable sort of the roster by descending salary.
+     */
+    public static List<String> topEarnerNames(JsonParser parser, int limit) throws IOException {
+        if (limit <= 0) {
+            return List.of();
+        }
+        // Min-heap of the best candidates so far; the head is the one to evict next. Among equal salaries the later
+        // roster position ranks lower.
+        Comparator<Candidate> rank = Comparator.comparingInt(Candidate::salary)
+                .thenComparing(Comparator.comparingLong(Candidate::position).reversed());
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(limit + 1, rank);
+        long[] position = {0};
+
+        new Scanner(parser, true, (salary, name, nameLength) -> {
+                    long current = position[0]++;
+                    // A newcomer never outranks an equal salary already held, because it comes later in the roster.
+                    if (heap.size() == limit && salary <= heap.peek().salary()) {
+                        return;
+                    }
+                    heap.add(new Candidate(salary, current, name == null ? null : new String(name, 0, nameLength)));
+                    if (heap.size() > limit) {
+                        heap.poll();
+                    }
+                })
+                .scan();
+
+        List<Candidate> ranked = new ArrayList<>(heap);
+        ranked.sort(rank.reversed());
+        List<String> names = new ArrayList<>(ranked.size());
+        for (Candidate candidate : ranked) {
+            names.add(candidate.name());
+        }
+        return names;
+    }
+
+    private record Candidate(int salary, long position, String name) {}
+
+    @FunctionalInterface
+    private interface EmployeeSink {
+        void accept(int salary, char[] name, int nameLength);
+    }
+
+    private static final class Scanner {
+
+        private final JsonParser parser;
+        private final boolean readNames;
+        private final EmployeeSink sink;
+        private char[] nameBuffer = new char[64];
+
+        Scanner(JsonParser parser, boolean readNames, EmployeeSink sink) {
+            this.parser = parser;
+            this.readNames = readNames;
+            this.sink = sink;
+        }
+
+        void scan() throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.START_OBJECT) {
+                    readObject();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        // Reads one object: either the envelope, whose data array is descended into, or a single employee.
+        private void readObject() throws IOException {
+            boolean hasSalary = false;
+            int salary = 0;
+            int nameLength = -1;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (SALARY.equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    salary = parser.getIntValue();
+                    hasSalary = true;
+                } else if (readNames && NAME.equals(field) && value == JsonToken.VALUE_STRING) {
+                    nameLength = copyName();
+                } else if (DATA.equals(field) && value == JsonToken.START_ARRAY) {
+                    JsonToken element;
+                    while ((element = parser.nextToken()) != JsonToken.END_ARRAY && element != null) {
+                        if (element == JsonToken.START_OBJECT) {
+                            readObject();
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (hasSalary) {
+                sink.accept(salary, nameLength < 0 ? null : nameBuffer, Math.max(nameLength, 0));
+            }
+        }
+
+        private int copyName() throws IOException {
+            int length = parser.getTextLength();
+            if (length > nameBuffer.length) {
+                nameBuffer = Arrays.copyOf(nameBuffer, Math.max(length, nameBuffer.length * 2));
+            }
+            System.arraycopy(parser.getTextCharacters(), parser.getTextOffset(), nameBuffer, 0, length);
+            return length;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+
+/**
+ * Client-side estimate of the mock server's remaining request budget. Holds up to {@code capacity} tokens and refills
+ * them evenly over {@code refillPeriod}.
+ */
+final class TokenBucket {
+
+    private final int capacity;
+    private final long nanosPerToken;
+
+    private double tokens;
+    private long lastRefill;
+
+    TokenBucket(int capacity, Duration refillPeriod) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Token bucket capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.nanosPerToken = Math.max(1, refillPeriod.toNanos() / capacity);
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    synchronized boolean tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Puts back a token taken by {@link #tryAcquire()} that went unused.
+     */
+    synchronized void release() {
+        refill();
+        tokens = Math.min(capacity, tokens + 1);
+    }
+
+    /**
+     * Nanoseconds until the next token becomes available; zero if one is available now.
+     */
+    synchronized long nanosUntilAvailable() {
+        refill();
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) * nanosPerToken);
+    }
+
+    /**
+     * Empties the bucket, used once the server has told us the budget is gone.
+     */
+    synchronized void drain() {
+        refill();
+        tokens = 0;
+    }
+
+    synchronized int available() {
+        refill();
+        return (int) tokens;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        long elapsed = now - lastRefill;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + (double) elapsed / nanosPerToken);
+            lastRefill = now;
+        }
+    }
+}
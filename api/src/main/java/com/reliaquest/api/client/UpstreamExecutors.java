@@ -0,0 +1,38 @@
+package com.reliaquest.api.client;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Executors for upstream calls made off the request thread, such as hedges and batch chunks.
+ *
+ * <p>With {@code spring.threads.virtual.enabled} on Java 21 or later, requests are handled on virtual threads and so
+ * are these calls: each task gets a virtual thread of its own. Otherwise tasks run on a cached pool of daemon platform
+ * threads, as requests do on Tomcat's pool.
+ */
+public final class UpstreamExecutors {
+
+    private UpstreamExecutors() {}
+
+    public static ExecutorService newExecutor(String name, boolean virtualThreads) {
+        if (virtualThreads && JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            ThreadFactory threadFactory = new VirtualThreadTaskExecutor(name + "-").getVirtualThreadFactory();
+            try {
+                // Looked up rather than called, so that the default Java 17 build still compiles.
+                return (ExecutorService) Executors.class
+                        .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                        .invoke(null, threadFactory);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot create a virtual thread executor.", e);
+            }
+        }
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
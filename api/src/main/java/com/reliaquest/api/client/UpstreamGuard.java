@@ -0,0 +1,290 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+
+/**
+ * Gatekeeper for every call made to the mock employee server.
+ *
+ * <p>The server answers 429 once a small, random request budget is spent and then refuses everything for a backoff
+ * window. To avoid burning that budget, each upstream call first takes a token from a client-side {@link TokenBucket};
+ * a 429 drains the bucket and blocks further calls for the server's {@code Retry-After}, or for an exponentially
+ * growing backoff when the header is absent. Calls that cannot get a permit within {@code employee.upstream.max-wait}
+ * fail fast with {@link UpstreamRateLimitedException}. Idempotent reads can additionally be coalesced, so concurrent
+ * identical requests share one upstream call.
+ *
+ * <p>Calls made for an {@link UpstreamOperation} also go through that operation's circuit breaker and bulkhead in
+ * {@link UpstreamIsolation}, outside the rate limit so that a call refused there spends no permit. Reads of a single
+ * employee can also be hedged by {@link RequestHedger}.
+ *
+ * <p>Counters: {@code employee.upstream.rate-limited} (429 responses received), {@code employee.upstream.backoff}
+ * (backoff windows started, tagged by whether the server sent {@code Retry-After}) and
+ * {@code employee.upstream.rejected} (calls failed fast without reaching the server).
+ */
+@Component
+public class UpstreamGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamGuard.class);
+
+    private final TokenBucket tokenBucket;
+    private final UpstreamIsolation isolation;
+    private final RequestHedger hedger;
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final long maxWaitNanos;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    private final AtomicLong blockedUntil = new AtomicLong(System.nanoTime());
+    private final AtomicInteger consecutiveRateLimits = new AtomicInteger();
+
+    private final Counter rateLimitedCounter;
+    private final Counter retryAfterBackoffs;
+    private final Counter exponentialBackoffs;
+    private final Counter blockedRejections;
+    private final Counter exhaustedRejections;
+
+    public UpstreamGuard(
+            int capacity, Duration refillPeriod, Duration maxWait, Duration initialBackoff, Duration maxBackoff) {
+        this(capacity, refillPeriod, maxWait, initialBackoff, maxBackoff, new SimpleMeterRegistry());
+    }
+
+    public UpstreamGuard(
+            int capacity,
+            Duration refillPeriod,
+            Duration maxWait,
+            Duration initialBackoff,
+            Duration maxBackoff,
+            MeterRegistry meterRegistry) {
+        this(
+                capacity,
+                refillPeriod,
+                maxWait,
+                initialBackoff,
+                maxBackoff,
+                new UpstreamIsolation(),
+                new RequestHedger(),
+                meterRegistry);
+    }
+
+    @Autowired
+    public UpstreamGuard(
+            @Value("${employee.upstream.rate-limit.capacity:5}") int capacity,
+            @Value("${employee.upstream.rate-limit.refill-period:30s}") Duration refillPeriod,
+            @Value("${employee.upstream.max-wait:2s}") Duration maxWait,
+            @Value("${employee.upstream.backoff.initial:5s}") Duration initialBackoff,
+            @Value("${employee.upstream.backoff.max:90s}") Duration maxBackoff,
+            UpstreamIsolation isolation,
+            RequestHedger hedger,
+            MeterRegistry meterRegistry) {
+        this.tokenBucket = new TokenBucket(capacity, refillPeriod);
+        this.isolation = isolation;
+        this.hedger = hedger;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.rateLimitedCounter = Counter.builder("employee.upstream.rate-limited")
+                .description("429 responses received from the mock employee server")
+                .register(meterRegistry);
+        this.retryAfterBackoffs = backoffCounter(meterRegistry, "retry-after");
+        this.exponentialBackoffs = backoffCounter(meterRegistry, "exponential");
+        this.blockedRejections = rejectionCounter(meterRegistry, "backoff");
+        this.exhaustedRejections = rejectionCounter(meterRegistry, "no-permit");
+    }
+
+    /**
+     * Performs {@code call} once a permit is available, and if the circuit breaker and bulkhead of {@code operation}
+     * let it through.
+     */
+    public <T> T execute(UpstreamOperation operation, Supplier<T> call) {
+        return isolation.execute(operation, () -> execute(call));
+    }
+
+    /**
+     * Like {@link #execute(UpstreamOperation, Supplier)}, but concurrent calls with the same {@code key} share a single
+     * upstream call. Only use this for idempotent reads.
+     */
+    public <T> T coalesce(UpstreamOperation operation, String key, Supplier<T> call) {
+        return singleFlight.run(key, () -> execute(operation, call));
+    }
+
+    /**
+     * Like {@link #coalesce(UpstreamOperation, String, Supplier)}, but a slow call is hedged with a second one when
+     * hedging is enabled. The hedge only goes out if a permit is available right away.
+     */
+    public <T> T coalesceHedged(UpstreamOperation operation, String key, Supplier<T> call) {
+        if (!hedger.isEnabled()) {
+            return coalesce(operation, key, call);
+        }
+        return singleFlight.run(
+                key,
+                () -> hedger.execute(
+                        () -> execute(operation, hedger.timed(call)),
+                        () -> isolation.execute(operation, () -> attempt(hedger.timed(call))),
+                        this::tryAcquirePermitNow));
+    }
+
+    /**
+     * Performs {@code call} once a permit is available, without circuit breaker or bulkhead; for calls that are not
+     * request-scoped, such as the long-lived event stream.
+     */
+    public <T> T execute(Supplier<T> call) {
+        acquirePermit();
+        return attempt(call);
+    }
+
+    // Performs call with a permit already taken.
+    private <T> T attempt(Supplier<T> call) {
+        T result;
+        try {
+            result = call.get();
+        } catch (HttpStatusCodeException e) {
+            if (e.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                throw rateLimited(e.getResponseHeaders());
+            }
+            throw e;
+        }
+        if (result instanceof ResponseEntity<?> response
+                && response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            throw rateLimited(response.getHeaders());
+        }
+        succeeded();
+        return result;
+    }
+
+    /**
+     * Like {@link #execute(Supplier)}, but concurrent calls with the same {@code key} share a single upstream call. Only
+     * use this for idempotent reads.
+     */
+    public <T> T coalesce(String key, Supplier<T> call) {
+        return singleFlight.run(key, () -> execute(call));
+    }
+
+    private boolean tryAcquirePermitNow() {
+        return blockedUntil.get() - System.nanoTime() <= 0 && tokenBucket.tryAcquire();
+    }
+
+    private void acquirePermit() {
+        long deadline = permitDeadline();
+        long wait;
+        while ((wait = tryAcquirePermit(deadline)) > 0) {
+            sleep(wait);
+        }
+    }
+
+    /**
+     * @return the time by which a permit requested now must be granted, after which the call fails fast.
+     */
+    long permitDeadline() {
+        return System.nanoTime() + maxWaitNanos;
+    }
+
+    /**
+     * Takes a permit if one is available now.
+     *
+     * @return zero once the permit is taken, otherwise nanoseconds to wait before trying again.
+     * @throws UpstreamRateLimitedException if no permit can be had by {@code deadline}.
+     */
+    long tryAcquirePermit(long deadline) {
+        long now = System.nanoTime();
+        long blockedFor = blockedUntil.get() - now;
+        if (blockedFor > 0) {
+            if (now + blockedFor > deadline) {
+                blockedRejections.increment();
+                throw new UpstreamRateLimitedException(Duration.ofNanos(blockedFor));
+            }
+            return blockedFor;
+        }
+        if (tokenBucket.tryAcquire()) {
+            return 0;
+        }
+        long wait = Math.max(1, tokenBucket.nanosUntilAvailable());
+        if (now + wait > deadline) {
+            exhaustedRejections.increment();
+            throw new UpstreamRateLimitedException(Duration.ofNanos(wait));
+        }
+        return wait;
+    }
+
+    /**
+     * Records a call upstream answered without rate limiting it.
+     */
+    void succeeded() {
+        consecutiveRateLimits.set(0);
+    }
+
+    /**
+     * Backs off after upstream answered 429 with {@code headers}, returning the exception to fail the call with.
+     */
+    UpstreamRateLimitedException rateLimited(HttpHeaders headers) {
+        int attempt = consecutiveRateLimits.incrementAndGet();
+        rateLimitedCounter.increment();
+        Duration backoff = retryAfter(headers);
+        if (backoff != null) {
+            retryAfterBackoffs.increment();
+        } else {
+            exponentialBackoffs.increment();
+            long multiplier = 1L << Math.min(attempt - 1, 16);
+            backoff = initialBackoff.multipliedBy(multiplier);
+            if (backoff.compareTo(maxBackoff) > 0) {
+                backoff = maxBackoff;
+            }
+        }
+
+        tokenBucket.drain();
+        long until = System.nanoTime() + backoff.toNanos();
+        blockedUntil.accumulateAndGet(until, Math::max);
+        logger.warn("Mock employee server rate limited us (attempt {}), backing off for {}.", attempt, backoff);
+        return new UpstreamRateLimitedException(backoff);
+    }
+
+    private static Counter backoffCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("employee.upstream.backoff")
+                .description("Backoff windows started after a 429")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("employee.upstream.rejected")
+                .description("Upstream calls failed fast without reaching the server")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static Duration retryAfter(HttpHeaders headers) {
+        String value = headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an upstream permit.", e);
+        }
+    }
+}
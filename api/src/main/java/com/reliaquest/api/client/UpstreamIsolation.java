@@ -0,0 +1,171 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Circuit breaker and bulkhead for each {@link UpstreamOperation}.
+ *
+ * <p>Calls that fail because of upstream (connection errors, timeouts, 5xx) are counted per operation; after
+ * {@code employee.upstream.circuit.failure-threshold} in a row the circuit opens and calls of that operation fail
+ * fast with {@link UpstreamUnavailableException} for {@code employee.upstream.circuit.open-duration}, after which
+ * {@code employee.upstream.circuit.half-open-probes} calls probe whether upstream has recovered. Client errors, 429s
+ * included, show upstream is up and do not count.
+ *
+ * <p>Each operation may also have at most {@code employee.upstream.bulkhead.<operation>} calls in flight; further
+ * calls wait up to {@code employee.upstream.bulkhead.max-wait} for one to finish and then fail fast, so a slow
+ * upstream ties up a bounded number of request threads rather than all of them.
+ *
+ * <p>Refused calls are counted as {@code employee.upstream.rejected} with reason {@code circuit-open} or
+ * {@code bulkhead-full}; {@code employee.upstream.circuit.state} is 0 (closed), 1 (half-open) or 2 (open) per
+ * operation.
+ */
+@Component
+public class UpstreamIsolation {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamIsolation.class);
+
+    private final Map<UpstreamOperation, CircuitBreaker> circuitBreakers = new EnumMap<>(UpstreamOperation.class);
+    private final Map<UpstreamOperation, Semaphore> bulkheads = new EnumMap<>(UpstreamOperation.class);
+    private final long bulkheadWaitNanos;
+    private final Counter circuitOpenRejections;
+    private final Counter bulkheadFullRejections;
+
+    public UpstreamIsolation() {
+        this(5, Duration.ofSeconds(10), 1, 4, 10, 4, 6, Duration.ofMillis(500), new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public UpstreamIsolation(
+            @Value("${employee.upstream.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${employee.upstream.circuit.open-duration:10s}") Duration openDuration,
+            @Value("${employee.upstream.circuit.half-open-probes:1}") int halfOpenProbes,
+            @Value("${employee.upstream.bulkhead.roster:4}") int rosterCalls,
+            @Value("${employee.upstream.bulkhead.employee:10}") int employeeCalls,
+            @Value("${employee.upstream.bulkhead.query:4}") int queryCalls,
+            @Value("${employee.upstream.bulkhead.write:6}") int writeCalls,
+            @Value("${employee.upstream.bulkhead.max-wait:500ms}") Duration bulkheadMaxWait,
+            MeterRegistry meterRegistry) {
+        this.bulkheadWaitNanos = bulkheadMaxWait.toNanos();
+        bulkheads.put(UpstreamOperation.ROSTER, new Semaphore(rosterCalls));
+        bulkheads.put(UpstreamOperation.EMPLOYEE, new Semaphore(employeeCalls));
+        bulkheads.put(UpstreamOperation.QUERY, new Semaphore(queryCalls));
+        bulkheads.put(UpstreamOperation.WRITE, new Semaphore(writeCalls));
+        for (UpstreamOperation operation : UpstreamOperation.values()) {
+            CircuitBreaker circuitBreaker = new CircuitBreaker(failureThreshold, openDuration, halfOpenProbes);
+            circuitBreakers.put(operation, circuitBreaker);
+            Gauge.builder("employee.upstream.circuit.state", circuitBreaker, breaker -> breaker.state()
+                            .ordinal())
+                    .description("Upstream circuit breaker state: 0 closed, 1 half-open, 2 open")
+                    .tag("operation", operation.tag())
+                    .register(meterRegistry);
+        }
+        this.circuitOpenRejections = rejectionCounter(meterRegistry, "circuit-open");
+        this.bulkheadFullRejections = rejectionCounter(meterRegistry, "bulkhead-full");
+    }
+
+    /**
+     * Performs {@code call} if the circuit of {@code operation} lets it through and its bulkhead has room.
+     */
+    public <T> T execute(UpstreamOperation operation, Supplier<T> call) {
+        Semaphore bulkhead = enter(operation, bulkheadWaitNanos);
+        try {
+            T result = call.get();
+            if (result instanceof ResponseEntity<?> response
+                    && response.getStatusCode().is5xxServerError()) {
+                failed(operation);
+            } else {
+                succeeded(operation);
+            }
+            return result;
+        } catch (HttpClientErrorException e) {
+            succeeded(operation);
+            throw e;
+        } catch (RestClientException e) {
+            failed(operation);
+            throw e;
+        } catch (RuntimeException e) {
+            ignored(operation);
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Lets a call of {@code operation} through the circuit breaker and takes a place in its bulkhead, waiting up to
+     * {@code waitNanos} for one. The caller reports the outcome and releases the returned bulkhead.
+     *
+     * @throws UpstreamUnavailableException if the circuit is open or the bulkhead stays full.
+     */
+    Semaphore enter(UpstreamOperation operation, long waitNanos) {
+        CircuitBreaker circuitBreaker = circuitBreakers.get(operation);
+        long closedIn = circuitBreaker.tryAcquire(System.nanoTime());
+        if (closedIn > 0) {
+            circuitOpenRejections.increment();
+            throw new UpstreamUnavailableException(
+                    "Upstream " + operation.tag() + " calls are failing, not retried for "
+                            + TimeUnit.NANOSECONDS.toSeconds(closedIn) + "s.",
+                    Duration.ofNanos(closedIn));
+        }
+
+        Semaphore bulkhead = bulkheads.get(operation);
+        if (!acquire(bulkhead, waitNanos)) {
+            circuitBreaker.onIgnored();
+            bulkheadFullRejections.increment();
+            throw new UpstreamUnavailableException(
+                    "Too many upstream " + operation.tag() + " calls in flight.", Duration.ofSeconds(1));
+        }
+        return bulkhead;
+    }
+
+    void succeeded(UpstreamOperation operation) {
+        circuitBreakers.get(operation).onSuccess();
+    }
+
+    void failed(UpstreamOperation operation) {
+        CircuitBreaker circuitBreaker = circuitBreakers.get(operation);
+        boolean wasOpen = circuitBreaker.state() == CircuitBreaker.State.OPEN;
+        circuitBreaker.onFailure(System.nanoTime());
+        if (!wasOpen && circuitBreaker.state() == CircuitBreaker.State.OPEN) {
+            logger.warn("Upstream {} calls keep failing, opening the circuit.", operation.tag());
+        }
+    }
+
+    void ignored(UpstreamOperation operation) {
+        circuitBreakers.get(operation).onIgnored();
+    }
+
+    private static boolean acquire(Semaphore bulkhead, long waitNanos) {
+        try {
+            return bulkhead.tryAcquire(waitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("employee.upstream.rejected")
+                .description("Upstream calls failed fast without reaching the server")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
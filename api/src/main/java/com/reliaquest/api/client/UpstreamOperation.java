@@ -0,0 +1,20 @@
+package com.reliaquest.api.client;
+
+/**
+ * Kinds of upstream calls, each isolated behind its own circuit breaker and bulkhead by {@link UpstreamIsolation}, so
+ * that failing writes do not cut off reads and a burst of one kind cannot take every upstream connection.
+ */
+public enum UpstreamOperation {
+    /** Reads of the whole roster, its pages and its change feed. */
+    ROSTER,
+    /** Reads of a single employee. */
+    EMPLOYEE,
+    /** Queries answered by upstream with just their result. */
+    QUERY,
+    /** Creates and deletes. */
+    WRITE;
+
+    String tag() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,54 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.util.Locale;
+import org.springframework.http.MediaType;
+
+/**
+ * Jackson formats the upstream roster can be exchanged in. Smile and CBOR are binary encodings of the same data model
+ * as JSON: no text to escape or numbers to format, and Smile only sends each repeated property name once.
+ */
+public enum WireFormat {
+    JSON(MediaType.APPLICATION_JSON, new JsonFactory()),
+    SMILE(new MediaType("application", "x-jackson-smile"), new SmileFactory()),
+    CBOR(MediaType.APPLICATION_CBOR, new CBORFactory());
+
+    private final MediaType mediaType;
+    private final JsonFactory factory;
+
+    WireFormat(MediaType mediaType, JsonFactory factory) {
+        this.mediaType = mediaType;
+        this.factory = factory;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Streaming parser and generator factory for the format; the token API is the same for all of them.
+     */
+    public JsonFactory getFactory() {
+        return factory;
+    }
+
+    public static WireFormat of(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * @return the format of a response of {@code contentType}, JSON when it is missing or not a binary format.
+     */
+    public static WireFormat forContentType(MediaType contentType) {
+        if (contentType != null) {
+            for (WireFormat format : values()) {
+                if (format.mediaType.isCompatibleWith(contentType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+}
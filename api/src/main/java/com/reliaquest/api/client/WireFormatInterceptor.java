@@ -0,0 +1,44 @@
+package com.reliaquest.api.client;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Asks upstream for a binary format instead of JSON. Requests that accept JSON get the binary format put ahead of it,
+ * with JSON kept at a lower quality so that a server without the binary format still answers; requests for other
+ * media types, such as the NDJSON stream, are left alone.
+ */
+public class WireFormatInterceptor implements ClientHttpRequestInterceptor {
+
+    private final MediaType preferred;
+
+    public WireFormatInterceptor(WireFormat format) {
+        this.preferred = format.getMediaType();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        HttpHeaders headers = request.getHeaders();
+        List<MediaType> accept = headers.getAccept();
+        if (accept.stream().anyMatch(MediaType.APPLICATION_JSON::equalsTypeAndSubtype)) {
+            List<MediaType> negotiated = new ArrayList<>(accept.size() + 1);
+            negotiated.add(preferred);
+            for (MediaType mediaType : accept) {
+                if (!mediaType.equalsTypeAndSubtype(preferred)) {
+                    negotiated.add(new MediaType(mediaType, Map.of("q", "0.9")));
+                }
+            }
+            headers.setAccept(negotiated);
+        }
+        return execution.execute(request, body);
+    }
+}
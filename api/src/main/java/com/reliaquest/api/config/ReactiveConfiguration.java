@@ -0,0 +1,65 @@
+package com.reliaquest.api.config;
+
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Web server and upstream client of the {@code reactive} profile, which serves the API from
+ * {@link com.reliaquest.api.controller.ReactiveEmployeeController} on a few Netty event-loop threads.
+ *
+ * <p>Calls to the mock employee server go through a reactor-netty {@link WebClient} with a pool of at most
+ * {@code employee.upstream.http.max-connections} connections; calls beyond that wait for a connection without holding a
+ * thread. It honours the same connect and read timeouts, connection TTL and compression settings as
+ * {@link UpstreamHttpConfiguration}, but always speaks JSON. Calls are observed as {@code http.client.requests}, with
+ * employee ids left out of the uri tag by using uri templates.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveConfiguration.class);
+
+    // Big enough for the whole roster in one response.
+    private static final int MAX_IN_MEMORY_SIZE = 16 * 1024 * 1024;
+
+    // Tomcat is on the classpath for the servlet stack and would otherwise be picked for the reactive one as well.
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public WebClient upstreamWebClient(
+            WebClient.Builder builder,
+            @Value("${employee.upstream.http.max-connections:20}") int maxConnections,
+            @Value("${employee.upstream.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${employee.upstream.http.read-timeout:10s}") Duration readTimeout,
+            @Value("${employee.upstream.http.connection-ttl:5m}") Duration connectionTtl,
+            @Value("${employee.upstream.http.compression:true}") boolean compression) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("upstream")
+                .maxConnections(maxConnections)
+                // Waiting calls are bounded by the bulkheads of UpstreamIsolation instead.
+                .pendingAcquireMaxCount(-1)
+                .maxLifeTime(connectionTtl)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout)
+                .compress(compression);
+        logger.info("Upstream HTTP transport: reactor-netty, compression: {}, format: json", compression);
+        return builder.clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(MAX_IN_MEMORY_SIZE))
+                .build();
+    }
+}
@@ -0,0 +1,158 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.GzipDecompressingInterceptor;
+import com.reliaquest.api.client.WireFormat;
+import com.reliaquest.api.client.WireFormatInterceptor;
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.ObservationRegistry;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * HTTP transport for the calls made to the mock employee server.
+ *
+ * <p>{@code employee.upstream.http.client} selects the implementation:
+ * <ul>
+ *   <li>{@code apache} (default) - Apache HttpClient 5 with a pool of keep-alive connections and transparent gzip.</li>
+ *   <li>{@code jdk} - the JDK {@link HttpClient}, which negotiates HTTP/2 (h2c upgrade) when the server offers it and
+ *   multiplexes requests over a single connection. Gzip is negotiated by {@link GzipDecompressingInterceptor}.</li>
+ *   <li>{@code simple} - the previous {@code HttpURLConnection} based transport.</li>
+ * </ul>
+ * All of them honour the connect and read timeouts. {@code employee.upstream.http.format} picks the format the roster
+ * is asked for in: {@code json} (default), or the binary {@code smile} or {@code cbor}, see {@link WireFormat}. Calls
+ * are observed as {@code http.client.requests}, timed and
+ * tagged by method, uri and status; employee ids in the uri are replaced by {@code {id}} to keep the tag bounded.
+ */
+@Configuration
+public class UpstreamHttpConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamHttpConfiguration.class);
+    private static final Pattern EMPLOYEE_ID =
+            Pattern.compile("/[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    private final String client;
+    private final int maxConnections;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+    private final Duration connectionTtl;
+    private final boolean compression;
+    private final WireFormat format;
+
+    public UpstreamHttpConfiguration(
+            @Value("${employee.upstream.http.client:apache}") String client,
+            @Value("${employee.upstream.http.max-connections:20}") int maxConnections,
+            @Value("${employee.upstream.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${employee.upstream.http.read-timeout:10s}") Duration readTimeout,
+            @Value("${employee.upstream.http.connection-ttl:5m}") Duration connectionTtl,
+            @Value("${employee.upstream.http.compression:true}") boolean compression,
+            @Value("${employee.upstream.http.format:json}") String format) {
+        this.client = client.toLowerCase(Locale.ROOT);
+        this.maxConnections = maxConnections;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.connectionTtl = connectionTtl;
+        this.compression = compression;
+        this.format = WireFormat.of(format);
+    }
+
+    @Bean
+    public RestTemplate restTemplate(ObservationRegistry observationRegistry) {
+        logger.info("Upstream HTTP transport: {}, compression: {}, format: {}", client, compression, format);
+        return restTemplateWithReadTimeout(observationRegistry, readTimeout);
+    }
+
+    /**
+     * A {@link RestTemplate} with the same transport, observation and interceptors as the upstream one, but whose
+     * reads time out after {@code readTimeout}, for long-lived streams that wait longer between reads than a request
+     * would. It has its own connections, so a stream never holds one of the shared pool.
+     */
+    public RestTemplate restTemplateWithReadTimeout(ObservationRegistry observationRegistry, Duration readTimeout) {
+        RestTemplate restTemplate = new RestTemplate(requestFactory(readTimeout));
+        restTemplate.setObservationRegistry(observationRegistry);
+        restTemplate.setObservationConvention(new DefaultClientRequestObservationConvention() {
+            @Override
+            protected KeyValue uri(ClientRequestObservationContext context) {
+                KeyValue uri = super.uri(context);
+                return KeyValue.of(
+                        uri.getKey(), EMPLOYEE_ID.matcher(uri.getValue()).replaceAll("/{id}"));
+            }
+        });
+        if (compression && client.equals("jdk")) {
+            restTemplate.getInterceptors().add(new GzipDecompressingInterceptor());
+        }
+        if (format != WireFormat.JSON) {
+            restTemplate.getInterceptors().add(new WireFormatInterceptor(format));
+        }
+        return restTemplate;
+    }
+
+    public ClientHttpRequestFactory requestFactory() {
+        return requestFactory(readTimeout);
+    }
+
+    private ClientHttpRequestFactory requestFactory(Duration readTimeout) {
+        switch (client) {
+            case "apache":
+                return new HttpComponentsClientHttpRequestFactory(apacheHttpClient(readTimeout));
+            case "jdk":
+                JdkClientHttpRequestFactory jdkFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_2)
+                        .connectTimeout(connectTimeout)
+                        .build());
+                jdkFactory.setReadTimeout(readTimeout);
+                return jdkFactory;
+            case "simple":
+                SimpleClientHttpRequestFactory simpleFactory = new SimpleClientHttpRequestFactory();
+                simpleFactory.setConnectTimeout(connectTimeout);
+                simpleFactory.setReadTimeout(readTimeout);
+                return simpleFactory;
+            default:
+                throw new IllegalArgumentException("Unknown employee.upstream.http.client: " + client);
+        }
+    }
+
+    private CloseableHttpClient apacheHttpClient(Duration readTimeout) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.of(connectionTtl))
+                        .build())
+                .build();
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(connectionTtl))
+                // The default retry strategy silently retries 429 and 503 responses, which would spend the server's
+                // request budget behind UpstreamGuard's back.
+                .disableAutomaticRetries();
+        if (!compression) {
+            builder.disableContentCompression();
+        }
+        return builder.build();
+    }
+}
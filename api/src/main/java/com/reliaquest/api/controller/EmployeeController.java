@@ -1,20 +1,21 @@
 package com.reliaquest.api.controller;
 
+import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.model.CreateMockEmployeeInput;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.EmployeeService;
-import com.reliaquest.api.exception.EmployeeNotFoundException;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import java.util.List;
-import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/employee")
+@Profile("!reactive")
 public class EmployeeController implements IEmployeeController<Employee, CreateMockEmployeeInput> {
 
     private static final Logger logger = LoggerFactory.getLogger(EmployeeController.class);
@@ -25,53 +26,33 @@ public class EmployeeController implements IEmployeeController<Employee, CreateM
     @Override
     @GetMapping()
     public ResponseEntity<List<Employee>> getAllEmployees() {
-        try {
-            logger.info("Fetching all employees.");
-            List<Employee> employees = employeeService.getAllEmployees();
-            return ResponseEntity.ok(employees);
-        } catch (Exception e) {
-            logger.error("Error fetching all employees", e);
-            return ResponseEntity.status(500).body(null);
-        }
+        logger.info("Fetching all employees.");
+        List<Employee> employees = employeeService.getAllEmployees();
+        return ResponseEntity.ok(employees);
     }
 
     @Override
     @GetMapping("/highestSalary")
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
-        try {
-            logger.info("Fetching highest salary.");
-            int highestSalary = employeeService.getHighestSalaryOfEmployees();
-            return ResponseEntity.ok(highestSalary);
-        } catch (Exception e) {
-            logger.error("Error fetching highest salary", e);
-            return ResponseEntity.status(500).body(null);
-        }
+        logger.info("Fetching highest salary.");
+        int highestSalary = employeeService.getHighestSalaryOfEmployees();
+        return ResponseEntity.ok(highestSalary);
     }
 
     @Override
     @GetMapping("/topTenHighestEarningEmployeeNames")
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
-        try {
-            logger.info("Fetching top 10 highest earning employee names.");
-            List<String> topEmployees = employeeService.getTop10HighestEarningEmployeeNames();
-            return ResponseEntity.ok(topEmployees);
-        } catch (Exception e) {
-            logger.error("Error fetching top 10 highest earning employees", e);
-            return ResponseEntity.status(500).body(null);
-        }
+        logger.info("Fetching top 10 highest earning employee names.");
+        List<String> topEmployees = employeeService.getTop10HighestEarningEmployeeNames();
+        return ResponseEntity.ok(topEmployees);
     }
 
     @Override
     @GetMapping("/search/{searchString}")
     public ResponseEntity<List<Employee>> getEmployeesByNameSearch(@PathVariable String searchString) {
-        try {
-            logger.info("Searching employees by name fragment: {}", searchString);
-            List<Employee> employees = employeeService.getEmployeesByNameSearch(searchString);
-            return ResponseEntity.ok(employees);
-        } catch (Exception e) {
-            logger.error("Error searching employees by name", e);
-            return ResponseEntity.status(500).body(null);
-        }
+        logger.info("Searching employees by name fragment: {}", searchString);
+        List<Employee> employees = employeeService.getEmployeesByNameSearch(searchString);
+        return ResponseEntity.ok(employees);
     }
 
     @Override
@@ -87,23 +68,26 @@ public class EmployeeController implements IEmployeeController<Employee, CreateM
         } catch (EmployeeNotFoundException e) {
             logger.error("Employee not found with ID: {}", id, e);
             return ResponseEntity.status(404).body(null);
-        } catch (Exception e) {
-            logger.error("Error fetching employee by ID", e);
-            return ResponseEntity.status(500).body(null);
         }
     }
 
     @Override
     @PostMapping()
     public ResponseEntity<Employee> createEmployee(@RequestBody CreateMockEmployeeInput employeeInput) {
-        try {
-            logger.info("Creating new employee: {}", employeeInput);
-            Employee createdEmployee = employeeService.createEmployee(employeeInput);
-            return ResponseEntity.status(201).body(createdEmployee);
-        } catch (Exception e) {
-            logger.error("Error creating employee", e);
-            return ResponseEntity.status(500).body(null);
+        logger.info("Creating new employee: {}", employeeInput);
+        Employee createdEmployee = employeeService.createEmployee(employeeInput);
+        return ResponseEntity.status(201).body(createdEmployee);
+    }
+
+    // Not part of IEmployeeController: creates a whole list of employees with as few upstream requests as possible.
+    @PostMapping("/batch")
+    public ResponseEntity<List<Employee>> createEmployees(@RequestBody List<CreateMockEmployeeInput> employeeInputs) {
+        logger.info("Creating {} new employees.", employeeInputs.size());
+        if (employeeInputs.isEmpty()) {
+            return ResponseEntity.badRequest().body(null);
         }
+        List<Employee> createdEmployees = employeeService.createEmployees(employeeInputs);
+        return ResponseEntity.status(201).body(createdEmployees);
     }
 
     @Override
@@ -119,9 +103,6 @@ public class EmployeeController implements IEmployeeController<Employee, CreateM
         } catch (EmployeeNotFoundException e) {
             logger.error("Employee not found with ID: {}", id, e);
             return ResponseEntity.status(404).body("Employee not found with ID: " + id);
-        } catch (Exception e) {
-            logger.error("Error deleting employee", e);
-            return ResponseEntity.status(500).body("Failed to delete employee");
         }
     }
 
@@ -1,20 +1,48 @@
 package com.reliaquest.api.controller;
 
 import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
     @ExceptionHandler(EmployeeNotFoundException.class)
     public ResponseEntity<String> handleEmployeeNotFoundException(EmployeeNotFoundException e) {
         return ResponseEntity.status(404).body(e.getMessage());
     }
 
+    @ExceptionHandler(UpstreamRateLimitedException.class)
+    public ResponseEntity<Void> handleUpstreamRateLimitedException(UpstreamRateLimitedException e) {
+        logger.warn(e.getMessage());
+        return ResponseEntity.status(429)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(e))
+                .build();
+    }
+
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<Void> handleUpstreamUnavailableException(UpstreamUnavailableException e) {
+        logger.warn(e.getMessage());
+        return ResponseEntity.status(503)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(e))
+                .build();
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleException(Exception e) {
+        logger.error("Unhandled error", e);
         return ResponseEntity.status(500).body("Internal server error: " + e.getMessage());
     }
+
+    private static String retryAfterSeconds(UpstreamUnavailableException e) {
+        return String.valueOf(Math.max(1, e.getRetryAfter().toSeconds()));
+    }
 }
@@ -0,0 +1,151 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.model.CreateMockEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves the employee API on the event loop with the {@code reactive} profile, answering exactly as
+ * {@link EmployeeController} does.
+ */
+@RestController
+@RequestMapping("/api/employee")
+@Profile("reactive")
+public class ReactiveEmployeeController implements IReactiveEmployeeController<Employee, CreateMockEmployeeInput> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveEmployeeController.class);
+
+    @Autowired
+    private ReactiveEmployeeService employeeService;
+
+    @Override
+    @GetMapping()
+    public Mono<ResponseEntity<List<Employee>>> getAllEmployees() {
+        logger.info("Fetching all employees.");
+        return employeeService
+                .getAllEmployees()
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> failed(e, "Error fetching all employees"));
+    }
+
+    @Override
+    @GetMapping("/highestSalary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        logger.info("Fetching highest salary.");
+        return employeeService
+                .getHighestSalaryOfEmployees()
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> failed(e, "Error fetching highest salary"));
+    }
+
+    @Override
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        logger.info("Fetching top 10 highest earning employee names.");
+        return employeeService
+                .getTop10HighestEarningEmployeeNames()
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> failed(e, "Error fetching top 10 highest earning employees"));
+    }
+
+    @Override
+    @GetMapping("/search/{searchString}")
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(@PathVariable String searchString) {
+        logger.info("Searching employees by name fragment: {}", searchString);
+        return employeeService
+                .getEmployeesByNameSearch(searchString)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> failed(e, "Error searching employees by name"));
+    }
+
+    @Override
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id) {
+        logger.info("Fetching employee with ID: {}", id);
+        if (!isValidUUID(id)) {
+            return Mono.just(ResponseEntity.badRequest().body(null));
+        }
+        return employeeService
+                .getEmployeeById(id)
+                .map(ResponseEntity::ok)
+                .onErrorResume(EmployeeNotFoundException.class, e -> {
+                    logger.error("Employee not found with ID: {}", id, e);
+                    return Mono.just(ResponseEntity.status(404).body(null));
+                })
+                .onErrorResume(e -> failed(e, "Error fetching employee by ID"));
+    }
+
+    @Override
+    @PostMapping()
+    public Mono<ResponseEntity<Employee>> createEmployee(@RequestBody CreateMockEmployeeInput employeeInput) {
+        logger.info("Creating new employee: {}", employeeInput);
+        return employeeService
+                .createEmployee(employeeInput)
+                .map(createdEmployee -> ResponseEntity.status(201).body(createdEmployee))
+                .onErrorResume(e -> failed(e, "Error creating employee"));
+    }
+
+    @Override
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        logger.info("Deleting employee with ID: {}", id);
+        if (!isValidUUID(id)) {
+            return Mono.just(ResponseEntity.badRequest().body("Invalid UUID format: " + id));
+        }
+        return employeeService
+                .deleteEmployeeById(id)
+                .map(ResponseEntity::ok)
+                .onErrorResume(EmployeeNotFoundException.class, e -> {
+                    logger.error("Employee not found with ID: {}", id, e);
+                    return Mono.just(ResponseEntity.status(404).body("Employee not found with ID: " + id));
+                })
+                .onErrorResume(e -> failed(e, "Error deleting employee", "Failed to delete employee"));
+    }
+
+    private <T> Mono<ResponseEntity<T>> failed(Throwable e, String message) {
+        return failed(e, message, null);
+    }
+
+    // Maps a failure to the status EmployeeController answers it with, 500 with errorBody if it is not upstream's.
+    private <T> Mono<ResponseEntity<T>> failed(Throwable e, String message, T errorBody) {
+        if (e instanceof UpstreamRateLimitedException rateLimited) {
+            logger.warn(e.getMessage());
+            return Mono.just(retryLater(429, rateLimited));
+        } else if (e instanceof UpstreamUnavailableException unavailable) {
+            logger.warn(e.getMessage());
+            return Mono.just(retryLater(503, unavailable));
+        }
+        logger.error(message, e);
+        return Mono.just(ResponseEntity.status(500).body(errorBody));
+    }
+
+    private <T> ResponseEntity<T> retryLater(int status, UpstreamUnavailableException e) {
+        return ResponseEntity.status(status)
+                .header(
+                        HttpHeaders.RETRY_AFTER,
+                        String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .build();
+    }
+
+    private boolean isValidUUID(String id) {
+        try {
+            UUID.fromString(id);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
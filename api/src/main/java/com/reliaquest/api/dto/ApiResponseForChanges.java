@@ -0,0 +1,23 @@
+package com.reliaquest.api.dto;
+
+public class ApiResponseForChanges {
+    private EmployeeChanges data;
+    private String status;
+
+    // Getters and Setters
+    public EmployeeChanges getData() {
+        return data;
+    }
+
+    public void setData(EmployeeChanges data) {
+        this.data = data;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
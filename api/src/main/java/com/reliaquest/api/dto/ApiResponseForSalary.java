@@ -0,0 +1,23 @@
+package com.reliaquest.api.dto;
+
+public class ApiResponseForSalary {
+    private Integer data;
+    private String status;
+
+    // Getters and Setters
+    public Integer getData() {
+        return data;
+    }
+
+    public void setData(Integer data) {
+        this.data = data;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
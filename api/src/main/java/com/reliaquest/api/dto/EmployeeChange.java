@@ -0,0 +1,39 @@
+package com.reliaquest.api.dto;
+
+import com.reliaquest.api.model.Employee;
+
+public class EmployeeChange {
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+
+    private long version;
+    private Type type;
+    private Employee employee;
+
+    // Getters and Setters
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    public void setEmployee(Employee employee) {
+        this.employee = employee;
+    }
+}
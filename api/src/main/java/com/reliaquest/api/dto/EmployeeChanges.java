@@ -0,0 +1,34 @@
+package com.reliaquest.api.dto;
+
+import java.util.List;
+
+public class EmployeeChanges {
+    private List<EmployeeChange> changes;
+    private long version;
+    private boolean hasMore;
+
+    // Getters and Setters
+    public List<EmployeeChange> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<EmployeeChange> changes) {
+        this.changes = changes;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,12 @@
+package com.reliaquest.api.exception;
+
+import java.time.Duration;
+
+public class UpstreamRateLimitedException extends UpstreamUnavailableException {
+
+    public UpstreamRateLimitedException(Duration retryAfter) {
+        super(
+                "Mock employee server is rate limiting requests, retry after " + retryAfter.toSeconds() + "s.",
+                retryAfter);
+    }
+}
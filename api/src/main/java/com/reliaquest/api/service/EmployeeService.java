@@ -1,52 +1,277 @@
 package com.reliaquest.api.service;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.Roster;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.client.RosterVersions;
+import com.reliaquest.api.client.StreamingRosterAggregator;
+import com.reliaquest.api.client.UpstreamExecutors;
+import com.reliaquest.api.client.UpstreamGuard;
+import com.reliaquest.api.client.UpstreamOperation;
+import com.reliaquest.api.client.WireFormat;
 import com.reliaquest.api.dto.ApiResponse;
+import com.reliaquest.api.dto.ApiResponseForChanges;
 import com.reliaquest.api.dto.ApiResponseForId;
+import com.reliaquest.api.dto.ApiResponseForSalary;
+import com.reliaquest.api.dto.EmployeeChange;
+import com.reliaquest.api.dto.EmployeeChanges;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
 import com.reliaquest.api.model.CreateMockEmployeeInput;
 import com.reliaquest.api.model.Employee;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
-import java.util.Comparator;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 public class EmployeeService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmployeeService.class);
-    private static final String BASE_URL = "http://localhost:8112/api/v1/employee";
+    private static final String DEFAULT_BASE_URL = "http://localhost:8112/api/v1/employee";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private RosterCache rosterCache;
+
+    @Autowired
+    private UpstreamGuard upstreamGuard;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${employee.upstream.base-url:" + DEFAULT_BASE_URL + "}")
+    private String baseUrl = DEFAULT_BASE_URL;
+
+    // Page size for incremental roster fetches; 0 fetches the whole roster in one request.
+    @Value("${employee.upstream.page-size:0}")
+    private int pageSize;
+
+    // Reads the roster as an NDJSON stream instead of a single JSON document.
+    @Value("${employee.upstream.streaming:false}")
+    private boolean streaming;
+
+    // Computes the salary aggregates straight from the upstream payload when the roster is not cached, instead of
+    // loading and indexing the whole roster just to answer them.
+    @Value("${employee.aggregation.streaming:false}")
+    private boolean streamingAggregation;
+
+    // Brings a cached roster up to date from the upstream change feed instead of re-reading it whole.
+    @Value("${employee.upstream.change-feed:true}")
+    private boolean changeFeed;
+
+    // Employees sent per upstream batch request, and how many of those requests may be in flight at once.
+    @Value("${employee.upstream.batch.size:500}")
+    private int batchSize;
+
+    @Value("${employee.upstream.batch.in-flight:2}")
+    private int batchInFlight;
+
+    // Name search, highest salary and top earners are asked of upstream, rather than computed from a roster loaded for
+    // them, while no roster is cached.
+    @Value("${employee.upstream.query-push-down:false}")
+    private boolean queryPushDown;
+
+    // How long upstream is taken not to have the query endpoints once it says so, before they are tried again.
+    @Value("${employee.upstream.query-recheck:10m}")
+    private Duration queryRecheck = Duration.ofMinutes(10);
+
+    // System.nanoTime() until which the query endpoints are taken to be missing; 0 while they are not.
+    private volatile long queryEndpointsMissingUntil;
+
+    // Batch chunks run on virtual threads too when requests do.
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ExecutorService batchSubmitter;
+
     public List<Employee> getAllEmployees() {
-        logger.info("Fetching all employees from the API.");
-        ResponseEntity<ApiResponse> response = restTemplate.getForEntity(BASE_URL, ApiResponse.class);
+        return rosterCache.get(this::fetchAllEmployees);
+    }
 
-        if (response.getStatusCode() == HttpStatus.OK) {
+    private Roster getRoster() {
+        return rosterCache.getRoster(this::fetchAllEmployees);
+    }
+
+    /*
+     * A cached roster with a known version is first brought up to date from the change feed, so keeping it in sync costs
+     * in proportion to how much changed rather than to the roster size. When the feed no longer covers that version,
+     * the whole-roster request is made conditional on it instead: upstream answers 304 without a body while the roster
+     * is unchanged, and the cached roster is reused without parsing anything. Paged and streamed fetches are always
+     * unconditional.
+     */
+    private RosterCache.Loaded fetchAllEmployees(String knownVersion) {
+        if (knownVersion != null && changeFeed) {
+            Optional<RosterCache.Loaded> changes = fetchChangesSince(knownVersion);
+            if (changes.isPresent()) {
+                RosterCache.Loaded delta = changes.get();
+                return delta.added().isEmpty() && delta.removed().isEmpty() ? null : delta;
+            }
+        }
+        if (streaming || pageSize > 0) {
+            // Read while the cache builds the roster from it, so employees go straight into the snapshot and its indexes.
+            logger.info("Fetching all employees from the API incrementally.");
+            return RosterCache.Loaded.streamed(this::forEachUpstreamEmployee, null);
+        }
+
+        ResponseEntity<ApiResponse> response;
+        if (knownVersion == null) {
+            logger.info("Fetching all employees from the API.");
+            response = upstreamGuard.coalesce(UpstreamOperation.ROSTER, "GET " + baseUrl,
+                    () -> restTemplate.getForEntity(baseUrl, ApiResponse.class));
+        } else {
+            logger.info("Revalidating cached employees at version {}.", knownVersion);
+            HttpHeaders headers = new HttpHeaders();
+            headers.setIfNoneMatch(knownVersion);
+            response = upstreamGuard.coalesce(UpstreamOperation.ROSTER, "GET " + baseUrl + " " + knownVersion,
+                    () -> restTemplate.exchange(baseUrl, HttpMethod.GET, new HttpEntity<>(headers), ApiResponse.class));
+        }
+
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            logger.info("Employees unchanged upstream.");
+            return null;
+        } else if (response.getStatusCode() == HttpStatus.OK) {
             logger.info("Successfully fetched employees.");
-            return response.getBody().getData();
+            return new RosterCache.Loaded(response.getBody().getData(), response.getHeaders().getETag());
         } else {
             logger.error("Failed to fetch employees: {}", response.getStatusCode());
             throw new RuntimeException("Failed to fetch employees: " + response.getStatusCode());
         }
     }
 
+    /**
+     * Reads the upstream changes made after the roster version tagged {@code knownVersion}, or nothing if the change
+     * feed does not cover that version.
+     */
+    private Optional<RosterCache.Loaded> fetchChangesSince(String knownVersion) {
+        Long cursor = RosterVersions.parse(knownVersion);
+        if (cursor == null) {
+            return Optional.empty();
+        }
+        List<Employee> added = new ArrayList<>();
+        Set<String> removed = new HashSet<>();
+        boolean hasMore;
+        do {
+            // Passed as a uri variable so that the uri tag of the client metrics stays the same for every cursor.
+            long since = cursor;
+            ResponseEntity<ApiResponseForChanges> response;
+            try {
+                response = upstreamGuard.coalesce(UpstreamOperation.ROSTER, "GET " + baseUrl + "/changes " + since,
+                        () -> restTemplate.getForEntity(baseUrl + "/changes?since={since}", ApiResponseForChanges.class, since));
+            } catch (HttpClientErrorException.Gone | HttpClientErrorException.NotFound e) {
+                logger.info("Changes since version {} are not available upstream.", cursor);
+                return Optional.empty();
+            }
+            if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+                logger.info("Changes since version {} are not available upstream: {}", cursor, response.getStatusCode());
+                return Optional.empty();
+            }
+
+            EmployeeChanges changes = response.getBody().getData();
+            for (EmployeeChange change : changes.getChanges()) {
+                if (change.getType() == EmployeeChange.Type.CREATED) {
+                    added.add(change.getEmployee());
+                } else if (change.getType() == EmployeeChange.Type.DELETED) {
+                    removed.add(change.getEmployee().getId());
+                } else {
+                    logger.warn("Unknown upstream change type at version {}.", change.getVersion());
+                    return Optional.empty();
+                }
+            }
+            cursor = changes.getVersion();
+            hasMore = changes.isHasMore();
+        } while (hasMore);
+
+        logger.info("Applying {} created and {} deleted employees up to version {}.", added.size(), removed.size(), cursor);
+        return Optional.of(RosterCache.Loaded.changes(added, removed, RosterVersions.tag(cursor)));
+    }
+
+    /**
+     * Feeds every upstream employee to {@code consumer} as it is read, either from the NDJSON stream or page by page,
+     * so that at most one page is held in memory at a time besides what the consumer keeps.
+     */
+    void forEachUpstreamEmployee(Consumer<Employee> consumer) {
+        if (streaming) {
+            upstreamGuard.execute(UpstreamOperation.ROSTER, () -> restTemplate.execute(baseUrl, HttpMethod.GET,
+                    request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON)),
+                    response -> {
+                        try (MappingIterator<Employee> employees =
+                                     objectMapper.readerFor(Employee.class).readValues(response.getBody())) {
+                            employees.forEachRemaining(consumer);
+                        }
+                        return null;
+                    }));
+            return;
+        }
+
+        String cursor = null;
+        do {
+            String url = UriComponentsBuilder.fromHttpUrl(baseUrl)
+                    .queryParam("limit", Math.max(1, pageSize))
+                    .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                    .toUriString();
+            ResponseEntity<ApiResponse> page = upstreamGuard.execute(UpstreamOperation.ROSTER,
+                    () -> restTemplate.exchange(url, HttpMethod.GET, null, ApiResponse.class));
+            if (page.getStatusCode() != HttpStatus.OK || page.getBody() == null) {
+                throw new RuntimeException("Failed to fetch employees page: " + page.getStatusCode());
+            }
+            page.getBody().getData().forEach(consumer);
+            cursor = page.getHeaders().getFirst(NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+    }
+
     public List<Employee> getEmployeesByNameSearch(String nameFragment) {
-        List<Employee> allEmployees = getAllEmployees();
-        return allEmployees.stream()
-                .filter(emp -> emp.getEmployeeName().toLowerCase().contains(nameFragment.toLowerCase()))
-                .collect(Collectors.toList());
+        List<Employee> employees = queryUpstream("name search", "/query/search?name={name}", ApiResponse.class,
+                ApiResponse::getData, roster -> roster.searchByName(nameFragment), nameFragment);
+        return employees != null ? employees : getRoster().searchByName(nameFragment);
     }
 
     public Employee getEmployeeById(String id) {
-        String url = BASE_URL + "/" + id;
-        ResponseEntity<ApiResponseForId> response = restTemplate.getForEntity(url, ApiResponseForId.class);
+        String url = baseUrl + "/" + id;
+        ResponseEntity<ApiResponseForId> response;
+        try {
+            response = upstreamGuard.coalesceHedged(UpstreamOperation.EMPLOYEE, "GET " + url,
+                    () -> restTemplate.getForEntity(url, ApiResponseForId.class));
+        } catch (UpstreamUnavailableException e) {
+            // Answer from the last roster loaded, if it has the employee.
+            Roster lastKnown = rosterCache.getLastKnownRoster();
+            if (lastKnown == null) {
+                throw e;
+            }
+            return lastKnown.getEmployees().stream()
+                    .filter(employee -> id.equals(employee.getId()))
+                    .findFirst()
+                    .orElseThrow(() -> e);
+        }
 
         if (response.getStatusCode() == HttpStatus.OK) {
             return (Employee) response.getBody().getData();
@@ -58,20 +283,125 @@ public class EmployeeService {
     }
 
     public int getHighestSalaryOfEmployees() {
-        List<Employee> allEmployees = getAllEmployees();
-        return allEmployees.stream()
-                .mapToInt(Employee::getEmployeeSalary)
-                .max()
-                .orElseThrow(() -> new RuntimeException("No employees found."));
+        OptionalInt highestSalary = queryUpstream("highest salary", "/query/highest-salary", ApiResponseForSalary.class,
+                response -> response.getData() != null ? OptionalInt.of(response.getData()) : OptionalInt.empty(),
+                Roster::getHighestSalary);
+        if (highestSalary == null) {
+            Roster roster = getRosterForAggregation();
+            highestSalary = roster != null
+                    ? roster.getHighestSalary()
+                    : aggregateUpstream("highest salary", StreamingRosterAggregator::highestSalary, Roster::getHighestSalary);
+        }
+        return highestSalary.orElseThrow(() -> new RuntimeException("No employees found."));
     }
 
     public List<String> getTop10HighestEarningEmployeeNames() {
-        List<Employee> allEmployees = getAllEmployees();
-        return allEmployees.stream()
-                .sorted(Comparator.comparingInt(Employee::getEmployeeSalary).reversed())
-                .limit(10)
-                .map(Employee::getEmployeeName)
-                .collect(Collectors.toList());
+        List<String> names = queryUpstream("top earners", "/query/top-earners?limit={limit}", ApiResponse.class,
+                response -> response.getData() != null
+                        ? response.getData().stream().map(Employee::getEmployeeName).toList()
+                        : null,
+                roster -> roster.getTopEarnerNames(10), 10);
+        if (names != null) {
+            return names;
+        }
+        Roster roster = getRosterForAggregation();
+        return roster != null
+                ? roster.getTopEarnerNames(10)
+                : aggregateUpstream("top earners", parser -> StreamingRosterAggregator.topEarnerNames(parser, 10),
+                        lastKnown -> lastKnown.getTopEarnerNames(10));
+    }
+
+    /**
+     * Answers a read query with upstream's query endpoint at {@code path}, so that only the result is transferred
+     * rather than the roster. Only done with {@code employee.upstream.query-push-down} on and no roster cached: a
+     * cached roster, however stale, answers the query without any upstream call.
+     *
+     * <p>A 404, 405 or 501 means upstream does not have the query endpoints, and they are not asked again for
+     * {@code employee.upstream.query-recheck}. Any other 5xx only fails this query, which is then computed from the
+     * roster.
+     *
+     * @return the answer, or {@code null} if the query was not pushed down, failed upstream, or {@code result} has
+     * none, in which case the caller computes it from the roster.
+     */
+    private <B, T> T queryUpstream(String query, String path, Class<B> responseType, Function<B, T> result,
+                                   Function<Roster, T> fromRoster, Object... uriVariables) {
+        long missingUntil = queryEndpointsMissingUntil;
+        if (!queryPushDown || (missingUntil != 0 && missingUntil - System.nanoTime() > 0)) {
+            return null;
+        }
+        Roster cached = rosterCache.getRosterIfCached(this::fetchAllEmployees);
+        if (cached != null) {
+            return fromRoster.apply(cached);
+        }
+
+        String url = baseUrl + path;
+        ResponseEntity<B> response;
+        try {
+            // Passed as uri variables so that the uri tag of the client metrics stays the same for every query.
+            response = upstreamGuard.coalesce(UpstreamOperation.QUERY, "GET " + url + " " + Arrays.toString(uriVariables),
+                    () -> restTemplate.getForEntity(url, responseType, uriVariables));
+        } catch (HttpClientErrorException.NotFound | HttpClientErrorException.MethodNotAllowed
+                 | HttpServerErrorException.NotImplemented e) {
+            logger.warn("Upstream has no query endpoints ({}), computing {} from the roster for the next {}.",
+                    e.getStatusCode(), query, queryRecheck);
+            queryEndpointsMissingUntil = System.nanoTime() + Math.max(1, queryRecheck.toNanos());
+            return null;
+        } catch (HttpServerErrorException e) {
+            logger.warn("Upstream failed the {} query ({}), computing it from the roster instead.",
+                    query, e.getStatusCode());
+            return null;
+        } catch (UpstreamUnavailableException e) {
+            // Answer from the last roster loaded, however old.
+            Roster lastKnown = rosterCache.getLastKnownRoster();
+            if (lastKnown == null) {
+                throw e;
+            }
+            return fromRoster.apply(lastKnown);
+        }
+        if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+            throw new RuntimeException("Failed to query " + query + ": " + response.getStatusCode());
+        }
+        return result.apply(response.getBody());
+    }
+
+    private Roster getRosterForAggregation() {
+        return streamingAggregation ? rosterCache.getRosterIfCached(this::fetchAllEmployees) : getRoster();
+    }
+
+    /*
+     * The roster is then loaded in the background, so that only the first aggregate of a cold cache is streamed and
+     * later ones are answered from the cache rather than each costing an upstream call.
+     *
+     * Falls back to computing the aggregate from the last roster loaded, however old, while upstream is unavailable.
+     */
+    private <T> T aggregateUpstream(String aggregate, PayloadAggregation<T> aggregation, Function<Roster, T> fallback) {
+        try {
+            T result = aggregateUpstream(aggregate, aggregation);
+            rosterCache.prefetch(this::fetchAllEmployees);
+            return result;
+        } catch (UpstreamUnavailableException e) {
+            Roster lastKnown = rosterCache.getLastKnownRoster();
+            if (lastKnown == null) {
+                throw e;
+            }
+            return fallback.apply(lastKnown);
+        }
+    }
+
+    private <T> T aggregateUpstream(String aggregate, PayloadAggregation<T> aggregation) {
+        logger.info("Roster not cached, computing {} from the upstream payload.", aggregate);
+        MediaType accept = streaming ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+        return upstreamGuard.coalesce(UpstreamOperation.ROSTER, aggregate + " " + baseUrl,
+                () -> restTemplate.execute(baseUrl, HttpMethod.GET,
+                        request -> request.getHeaders().setAccept(List.of(accept)),
+                        response -> {
+                            // The request may have been negotiated to a binary format, which parses to the same tokens.
+                            WireFormat format = WireFormat.forContentType(response.getHeaders().getContentType());
+                            JsonFactory factory = format == WireFormat.JSON ? objectMapper.getFactory() : format.getFactory();
+                            try (JsonParser parser = factory.createParser(response.getBody())) {
+                                return aggregation.apply(parser);
+                            }
+                        }));
     }
 
     public Employee createEmployee(CreateMockEmployeeInput employee) {
@@ -80,15 +410,77 @@ public class EmployeeService {
         headers.setContentType(MediaType.APPLICATION_JSON);
         HttpEntity<CreateMockEmployeeInput> entity = new HttpEntity<>(employee, headers);
 
-        ResponseEntity<ApiResponseForId> response = restTemplate.exchange(BASE_URL, HttpMethod.POST, entity, ApiResponseForId.class);
+        ResponseEntity<ApiResponseForId> response = upstreamGuard.execute(UpstreamOperation.WRITE,
+                () -> restTemplate.exchange(baseUrl, HttpMethod.POST, entity, ApiResponseForId.class));
 
         if (response.getStatusCode() == HttpStatus.OK) {
-            return response.getBody().getData();
+            Employee created = response.getBody().getData();
+            rosterCache.employeeAdded(created);
+            return created;
         } else {
             throw new RuntimeException("Failed to create employee: " + response.getStatusCode());
         }
     }
 
+    /**
+     * Creates {@code employees} upstream in chunks of {@code employee.upstream.batch.size}, one request per chunk. Up to
+     * {@code employee.upstream.batch.in-flight} chunks are submitted concurrently, so the next chunk is already on the
+     * wire while the previous one is being processed. The created employees are returned in input order.
+     *
+     * <p>If a chunk fails, no further chunks are submitted; chunks already in flight are awaited and whatever was
+     * created is still patched into the roster cache before the failure is rethrown.
+     */
+    public List<Employee> createEmployees(List<CreateMockEmployeeInput> employees) {
+        int chunkSize = Math.max(1, batchSize);
+        int maxInFlight = Math.max(1, batchInFlight);
+        logger.info("Creating {} employees in chunks of {}.", employees.size(), chunkSize);
+
+        List<Employee> created = new ArrayList<>(employees.size());
+        Deque<CompletableFuture<List<Employee>>> inFlight = new ArrayDeque<>();
+        RuntimeException failure = null;
+        for (int from = 0; from < employees.size() && failure == null; from += chunkSize) {
+            List<CreateMockEmployeeInput> chunk = employees.subList(from, Math.min(from + chunkSize, employees.size()));
+            inFlight.add(CompletableFuture.supplyAsync(() -> submitBatch(chunk), batchSubmitter()));
+            if (inFlight.size() == maxInFlight) {
+                failure = awaitBatch(inFlight.poll(), created);
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            RuntimeException chunkFailure = awaitBatch(inFlight.poll(), created);
+            failure = failure != null ? failure : chunkFailure;
+        }
+
+        rosterCache.employeesAdded(created);
+        if (failure != null) {
+            logger.error("Batch create stopped after {} of {} employees.", created.size(), employees.size());
+            throw failure;
+        }
+        return created;
+    }
+
+    private List<Employee> submitBatch(List<CreateMockEmployeeInput> chunk) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<List<CreateMockEmployeeInput>> entity = new HttpEntity<>(chunk, headers);
+
+        ResponseEntity<ApiResponse> response = upstreamGuard.execute(UpstreamOperation.WRITE,
+                () -> restTemplate.exchange(baseUrl + "/batch", HttpMethod.POST, entity, ApiResponse.class));
+        if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+            throw new RuntimeException("Failed to create employees: " + response.getStatusCode());
+        }
+        return response.getBody().getData();
+    }
+
+    // Collects the employees of a finished chunk, returning its failure instead if it failed.
+    private RuntimeException awaitBatch(CompletableFuture<List<Employee>> batch, List<Employee> created) {
+        try {
+            created.addAll(batch.join());
+            return null;
+        } catch (CompletionException e) {
+            return e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
     public String deleteEmployeeById(String id) {
 
         //Delete is disabled from the client side hence not able to complete the operation and could not test it.
@@ -97,23 +489,43 @@ public class EmployeeService {
         //    "error": "Request method 'DELETE' is not supported"
         //}
 
-        String url = BASE_URL + "/" + id;
+        String url = baseUrl + "/" + id;
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         HttpEntity<CreateMockEmployeeInput> entity = new HttpEntity<>(headers);
 
-        ResponseEntity<ApiResponseForId> response = restTemplate.exchange(
+        ResponseEntity<ApiResponseForId> response = upstreamGuard.execute(UpstreamOperation.WRITE, () -> restTemplate.exchange(
                 url, // URI with path parameter
                 HttpMethod.DELETE, // Method type
                 entity, // Entity with headers
                 ApiResponseForId.class, // Response type
                 id // Path variable for {name}
-        );
+        ));
         if (response.getStatusCode() == HttpStatus.OK) {
+            rosterCache.employeeRemoved(id);
             return "Employee with ID " + id + " has been deleted.";
         } else {
             throw new RuntimeException("Failed to delete employee: " + response.getStatusCode());
         }
     }
+
+    private synchronized ExecutorService batchSubmitter() {
+        if (batchSubmitter == null) {
+            batchSubmitter = UpstreamExecutors.newExecutor("upstream-batch", virtualThreads);
+        }
+        return batchSubmitter;
+    }
+
+    @PreDestroy
+    synchronized void shutdown() {
+        if (batchSubmitter != null) {
+            batchSubmitter.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface PayloadAggregation<T> {
+        T apply(JsonParser parser) throws IOException;
+    }
 }
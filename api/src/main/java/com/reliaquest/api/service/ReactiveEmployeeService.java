@@ -0,0 +1,181 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.cache.Roster;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.client.ReactiveUpstreamGuard;
+import com.reliaquest.api.client.UpstreamOperation;
+import com.reliaquest.api.dto.ApiResponse;
+import com.reliaquest.api.dto.ApiResponseForId;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.model.CreateMockEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeService}, used with the {@code reactive} profile. Upstream calls go through
+ * a {@link WebClient} and {@link ReactiveUpstreamGuard}, so a request waiting on upstream holds no thread.
+ *
+ * <p>The roster is shared with the rest of the application through {@link RosterCache}. A roster that has to be loaded
+ * before answering is fetched whole, and concurrent requests share that fetch; a stale one is still refreshed in the
+ * background, where blocking on the fetch is harmless. The salary aggregates are always answered from the roster.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveEmployeeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveEmployeeService.class);
+    private static final String DEFAULT_BASE_URL = "http://localhost:8112/api/v1/employee";
+
+    @Autowired
+    @Qualifier("upstreamWebClient") private WebClient webClient;
+
+    @Autowired
+    private RosterCache rosterCache;
+
+    @Autowired
+    private ReactiveUpstreamGuard upstreamGuard;
+
+    @Value("${employee.upstream.base-url:" + DEFAULT_BASE_URL + "}")
+    private String baseUrl = DEFAULT_BASE_URL;
+
+    // Subscribers arriving while a load is in flight share it; once it is over, the next one starts a new load. The
+    // roster is installed without waiting for the cache's own loads, which would block the event loop, and only if no
+    // mutation was patched into the cache while it was being fetched.
+    private final Mono<Roster> rosterLoad = Mono.defer(() -> {
+                long generation = rosterCache.generation();
+                return fetchRoster()
+                        .map(employees -> rosterCache.put(new RosterCache.Loaded(employees, null), generation));
+            })
+            .cacheInvalidateIf(roster -> true);
+
+    private final Map<String, Mono<Employee>> employeeLoads = new ConcurrentHashMap<>();
+
+    public Mono<List<Employee>> getAllEmployees() {
+        return getRoster().map(Roster::getEmployees);
+    }
+
+    public Mono<List<Employee>> getEmployeesByNameSearch(String nameFragment) {
+        return getRoster().map(roster -> roster.searchByName(nameFragment));
+    }
+
+    public Mono<Integer> getHighestSalaryOfEmployees() {
+        return getRoster().map(roster -> roster.getHighestSalary()
+                .orElseThrow(() -> new RuntimeException("No employees found.")));
+    }
+
+    public Mono<List<String>> getTop10HighestEarningEmployeeNames() {
+        return getRoster().map(roster -> roster.getTopEarnerNames(10));
+    }
+
+    private Mono<Roster> getRoster() {
+        return Mono.defer(() -> {
+            Roster cached = rosterCache.getRosterIfCached(this::refreshRoster);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            return rosterLoad.onErrorResume(
+                    UpstreamUnavailableException.class, e -> lastKnownRoster(e, Function.identity()));
+        });
+    }
+
+    // Background refresh of a stale roster, run on the cache's own refresher thread.
+    private RosterCache.Loaded refreshRoster(String knownVersion) {
+        return new RosterCache.Loaded(fetchRoster().block(), null);
+    }
+
+    private Mono<List<Employee>> fetchRoster() {
+        logger.info("Fetching all employees from the API.");
+        return upstreamGuard
+                .execute(
+                        UpstreamOperation.ROSTER,
+                        webClient
+                                .get()
+                                .uri(baseUrl)
+                                .accept(MediaType.APPLICATION_JSON)
+                                .retrieve()
+                                .bodyToMono(ApiResponse.class))
+                .map(ApiResponse::getData)
+                .doOnNext(employees -> logger.info("Successfully fetched {} employees.", employees.size()));
+    }
+
+    public Mono<Employee> getEmployeeById(String id) {
+        // Concurrent reads of the same employee share one upstream call.
+        return Mono.defer(() -> employeeLoads.computeIfAbsent(id, key -> fetchEmployee(key)
+                .doOnTerminate(() -> employeeLoads.remove(key))
+                .cache()));
+    }
+
+    private Mono<Employee> fetchEmployee(String id) {
+        return upstreamGuard
+                .execute(
+                        UpstreamOperation.EMPLOYEE,
+                        webClient
+                                .get()
+                                .uri(baseUrl + "/{id}", id)
+                                .accept(MediaType.APPLICATION_JSON)
+                                .retrieve()
+                                .bodyToMono(ApiResponseForId.class))
+                .map(ApiResponseForId::getData)
+                .onErrorMap(WebClientResponseException.NotFound.class, e -> new EmployeeNotFoundException(id))
+                // Answer from the last roster loaded, if it has the employee.
+                .onErrorResume(
+                        UpstreamUnavailableException.class,
+                        e -> lastKnownRoster(e, lastKnown -> lastKnown.getEmployees().stream()
+                                .filter(employee -> id.equals(employee.getId()))
+                                .findFirst()
+                                .orElseThrow(() -> e)));
+    }
+
+    // Answers from the last roster loaded, however old, while upstream is unavailable.
+    private <T> Mono<T> lastKnownRoster(UpstreamUnavailableException e, Function<Roster, T> answer) {
+        return Mono.fromSupplier(() -> {
+            Roster lastKnown = rosterCache.getLastKnownRoster();
+            if (lastKnown == null) {
+                throw e;
+            }
+            return answer.apply(lastKnown);
+        });
+    }
+
+    public Mono<Employee> createEmployee(CreateMockEmployeeInput employee) {
+        logger.info("Creating employee: {}", employee);
+        return upstreamGuard
+                .execute(
+                        UpstreamOperation.WRITE,
+                        webClient
+                                .post()
+                                .uri(baseUrl)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(employee)
+                                .retrieve()
+                                .bodyToMono(ApiResponseForId.class))
+                .map(ApiResponseForId::getData)
+                .doOnNext(rosterCache::employeeAdded);
+    }
+
+    public Mono<String> deleteEmployeeById(String id) {
+        // As with EmployeeService, the mock server has no DELETE route for a single employee.
+        return upstreamGuard
+                .execute(
+                        UpstreamOperation.WRITE,
+                        webClient.delete().uri(baseUrl + "/{id}", id).retrieve().toBodilessEntity())
+                .onErrorMap(WebClientResponseException.NotFound.class, e -> new EmployeeNotFoundException(id))
+                .doOnNext(response -> rosterCache.employeeRemoved(id))
+                .map(response -> "Employee with ID " + id + " has been deleted.");
+    }
+}
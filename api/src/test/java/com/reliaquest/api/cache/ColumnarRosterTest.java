@@ -0,0 +1,99 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class ColumnarRosterTest {
+
+    private static final String[] NAMES = {"Alice Smith", "BOB smithers", "Zoë Ågren", "Chloé", "İlker", null};
+    private static final String[] TITLES = {"SE", "Manager", null};
+
+    @Test
+    void testMatchesObjectRoster() {
+        List<Employee> employees = randomEmployees(new Random(5), 400);
+        ColumnarRoster columns = ColumnarRoster.of(employees);
+        SalaryIndex salaryIndex = SalaryIndex.of(employees);
+
+        assertEquals(describe(employees), describe(columns.asList()));
+        assertEquals(salaryIndex.getHighestSalary(), columns.highestSalary());
+        assertEquals(salaryIndex.getTopEarnerNames(10), columns.topEarnerNames(10));
+        for (String fragment : List.of("smith", "SMITH", "ö", "å", "i", "", "nobody")) {
+            List<Employee> expected = employees.stream()
+                    .filter(emp -> emp.getEmployeeName() != null
+                            && emp.getEmployeeName()
+                                    .toLowerCase(Locale.ROOT)
+                                    .contains(fragment.toLowerCase(Locale.ROOT)))
+                    .collect(Collectors.toList());
+            assertEquals(describe(expected), describe(columns.searchByName(fragment)), "fragment '" + fragment + "'");
+        }
+    }
+
+    @Test
+    void testAddAndRemove() {
+        String uuid = UUID.randomUUID().toString();
+        ColumnarRoster columns = ColumnarRoster.of(List.of(
+                new Employee(uuid, "Alice", 90000, 30, "SE", "alice@xyz.com"),
+                new Employee("2", "Bob", 120000, 40, "Manager", "bob@xyz.com")));
+
+        columns = columns.withAdded(new Employee("3", "Charlie", 150000, 50, "SE", null));
+        assertEquals(List.of("Charlie", "Bob", "Alice"), columns.topEarnerNames(10));
+
+        columns = columns.withRemoved(uuid).withRemoved("2");
+        assertEquals(List.of("3|Charlie|150000|50|SE|null"), describe(columns.asList()));
+        assertEquals(150000, columns.highestSalary().getAsInt());
+    }
+
+    @Test
+    void testChangesMatchObjectRoster() {
+        List<Employee> employees = randomEmployees(new Random(11), 50);
+        List<Employee> added = List.of(
+                new Employee(UUID.randomUUID().toString(), "New One", 5000, 30, "SE", null),
+                new Employee("id-new", "New Two", 6000, 30, null, null),
+                employees.get(3));
+        Set<String> removed = Set.of(
+                employees.get(0).getId(), employees.get(7).getId(), added.get(0).getId());
+
+        Roster objects = Roster.of(employees, "v1", 0).withChanges(added, removed, "v2", 1);
+        Roster columns = Roster.columnar(employees, "v1", 0).withChanges(added, removed, "v2", 1);
+
+        // The third addition is already in the roster and keeps its place.
+        assertEquals(49, objects.getEmployees().size());
+        assertEquals("New Two", objects.getEmployees().get(48).getEmployeeName());
+        assertEquals(describe(objects.getEmployees()), describe(columns.getEmployees()));
+        assertEquals(objects.getTopEarnerNames(5), columns.getTopEarnerNames(5));
+        assertEquals("v2", columns.getVersion());
+    }
+
+    private static List<Employee> randomEmployees(Random random, int count) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // Mostly UUIDs, as upstream sends, with some ids that cannot be packed into longs.
+            String id = i % 7 == 0 ? "id-" + i : new UUID(random.nextLong(), random.nextLong()).toString();
+            String name = NAMES[random.nextInt(NAMES.length)];
+            employees.add(new Employee(
+                    id,
+                    name == null ? null : name + " " + i,
+                    1000 + random.nextInt(20),
+                    18 + random.nextInt(50),
+                    TITLES[random.nextInt(TITLES.length)],
+                    i % 5 == 0 ? null : "employee" + i + "@company.com"));
+        }
+        return employees;
+    }
+
+    private static List<String> describe(List<Employee> employees) {
+        return employees.stream()
+                .map(emp -> emp.getId() + "|" + emp.getEmployeeName() + "|" + emp.getEmployeeSalary() + "|"
+                        + emp.getEmployeeAge() + "|" + emp.getEmployeeTitle() + "|" + emp.getEmployeeEmail())
+                .collect(Collectors.toList());
+    }
+}
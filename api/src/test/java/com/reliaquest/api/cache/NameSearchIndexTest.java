@@ -0,0 +1,83 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class NameSearchIndexTest {
+
+    private static final String ALPHABET = "abcdeAB ";
+
+    @Test
+    void testMatchesScanImplementation() {
+        // A tiny alphabet produces many shared trigrams, exercising the posting-list intersection.
+        Random random = new Random(11);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            employees.add(new Employee(String.valueOf(i), randomText(random, 12), 1000, 30, "SE", "e@x.com"));
+        }
+        NameSearchIndex index = NameSearchIndex.of(employees);
+
+        for (int i = 0; i < 200; i++) {
+            String fragment = randomText(random, 1 + random.nextInt(5));
+            List<Employee> expected = employees.stream()
+                    .filter(emp -> emp.getEmployeeName().toLowerCase().contains(fragment.toLowerCase()))
+                    .collect(Collectors.toList());
+            assertEquals(expected, index.search(fragment), "fragment '" + fragment + "'");
+        }
+    }
+
+    @Test
+    void testAddAndRemove() {
+        NameSearchIndex index = NameSearchIndex.of(List.of(
+                new Employee("1", "Alice Smith", 90000, 30, "SE", "abc@xyz.com"),
+                new Employee("2", "Bob Smithers", 120000, 30, "SE", "abc@xyz.com")));
+
+        index.add(new Employee("3", "Charlie SMITH", 150000, 30, "SE", "abc@xyz.com"));
+        assertEquals(List.of("1", "2", "3"), ids(index.search("smith")));
+
+        index.remove("2");
+        assertEquals(List.of("1", "3"), ids(index.search("Smith")));
+        assertEquals(List.of(), ids(index.search("bob")));
+        assertEquals(List.of("1"), ids(index.search("al")));
+    }
+
+    @Test
+    void testChurnCompactsTombstones() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            employees.add(new Employee(String.valueOf(i), "Employee " + i, 1000, 30, "SE", "e@x.com"));
+        }
+        NameSearchIndex index = NameSearchIndex.of(employees);
+
+        // Replaces every employee ten times over, as a long-lived patched roster would.
+        for (int i = 100; i < 1100; i++) {
+            index.remove(String.valueOf(i - 100));
+            index.add(new Employee(String.valueOf(i), "Employee " + i, 1000, 30, "SE", "e@x.com"));
+            assertTrue(index.tombstones() <= 64, "Tombstones were not compacted: " + index.tombstones());
+        }
+
+        assertEquals(100, index.search("employee").size());
+        assertEquals(List.of("1099"), ids(index.search("employee 1099")));
+        assertEquals(List.of(), ids(index.search("employee 99 ")));
+        assertEquals("1000", index.search("employee 10").get(0).getId());
+    }
+
+    private static List<String> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).collect(Collectors.toList());
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,246 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+class RosterCacheTest {
+
+    private final List<Employee> roster = List.of(new Employee("1", "Alice", 90000, 30, "SE", "abc@xyz.com"));
+
+    @Test
+    void testFreshSnapshotIsReused() {
+        RosterCache cache = new RosterCache(Duration.ofMinutes(1), Duration.ofMinutes(5));
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<Employee>> loader = () -> {
+            loads.incrementAndGet();
+            return roster;
+        };
+
+        List<Employee> first = cache.get(loader);
+        List<Employee> second = cache.get(loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testLastRosterIsServedWhileUpstreamIsUnavailable() throws Exception {
+        RosterCache cache = new RosterCache(Duration.ofMillis(10), Duration.ZERO);
+        List<Employee> first = cache.get(() -> roster);
+        TimeUnit.MILLISECONDS.sleep(20);
+
+        List<Employee> fallback = cache.get(() -> {
+            throw new UpstreamUnavailableException("Circuit open.", Duration.ofSeconds(10));
+        });
+
+        assertSame(first, fallback);
+    }
+
+    @Test
+    void testUnavailableUpstreamFailsWithoutRoster() {
+        RosterCache cache = new RosterCache(Duration.ofMinutes(1), Duration.ofMinutes(5));
+
+        assertThrows(
+                UpstreamUnavailableException.class,
+                () -> cache.get(() -> {
+                    throw new UpstreamUnavailableException("Circuit open.", Duration.ofSeconds(10));
+                }));
+    }
+
+    @Test
+    void testInvalidateForcesReload() {
+        RosterCache cache = new RosterCache(Duration.ofMinutes(1), Duration.ofMinutes(5));
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<Employee>> loader = () -> {
+            loads.incrementAndGet();
+            return roster;
+        };
+
+        cache.get(loader);
+        cache.invalidate();
+        cache.get(loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testZeroTtlDisablesCaching() {
+        RosterCache cache = new RosterCache(Duration.ZERO, Duration.ZERO);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<Employee>> loader = () -> {
+            loads.incrementAndGet();
+            return roster;
+        };
+
+        cache.get(loader);
+        cache.get(loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testUnchangedVersionKeepsSnapshot() {
+        RosterCache cache = new RosterCache(Duration.ZERO, Duration.ZERO);
+        List<String> knownVersions = new ArrayList<>();
+        RosterCache.Loader loader = knownVersion -> {
+            knownVersions.add(String.valueOf(knownVersion));
+            return knownVersion == null ? new RosterCache.Loaded(roster, "v1") : null;
+        };
+
+        Roster first = cache.getRoster(loader);
+        Roster second = cache.getRoster(loader);
+        cache.employeeRemoved("1");
+        Roster patched = cache.getRoster(loader);
+
+        assertEquals(List.of("null", "v1", "null"), knownVersions);
+        assertSame(first.getEmployees(), second.getEmployees());
+        assertEquals(1, patched.getEmployees().size());
+    }
+
+    @Test
+    void testStreamedRosterIsBuiltInEitherLayout() {
+        List<Employee> employees = List.of(
+                new Employee("1", "Alice", 90000, 30, "SE", "abc@xyz.com"),
+                new Employee("2", "Bob", 120000, 30, "SE", "abc@xyz.com"));
+        for (boolean columnar : new boolean[] {false, true}) {
+            RosterCache cache =
+                    new RosterCache(Duration.ofMinutes(1), Duration.ofMinutes(5), columnar, new SimpleMeterRegistry());
+
+            Roster loaded = cache.getRoster(knownVersion -> RosterCache.Loaded.streamed(employees::forEach, null));
+
+            assertEquals(
+                    List.of("1", "2"),
+                    loaded.getEmployees().stream().map(Employee::getId).toList());
+            assertEquals(120000, loaded.getHighestSalary().getAsInt());
+            assertEquals(List.of("Bob", "Alice"), loaded.getTopEarnerNames(10));
+            assertEquals(
+                    List.of("Alice"),
+                    loaded.searchByName("lic").stream()
+                            .map(Employee::getEmployeeName)
+                            .toList());
+        }
+    }
+
+    @Test
+    void testPatchDuringDeltaIsReplayedOntoIt() {
+        RosterCache cache = new RosterCache(Duration.ZERO, Duration.ZERO);
+        Employee bob = new Employee("2", "Bob", 120000, 30, "SE", "abc@xyz.com");
+        Employee charlie = new Employee("3", "Charlie", 150000, 30, "SE", "abc@xyz.com");
+        RosterCache.Loader loader = knownVersion -> {
+            if (knownVersion == null) {
+                return new RosterCache.Loaded(roster, "v1");
+            }
+            // A create patched in while the delta is being fetched, which did not see it.
+            cache.employeeAdded(bob);
+            return RosterCache.Loaded.changes(List.of(charlie), Set.of(), "v2");
+        };
+
+        cache.getRoster(loader);
+        Roster returned = cache.getRoster(loader);
+        Roster current = cache.getLastKnownRoster();
+
+        assertSame(current, returned);
+        assertEquals(
+                List.of("Alice", "Charlie", "Bob"),
+                current.getEmployees().stream().map(Employee::getEmployeeName).toList());
+        assertEquals(List.of(bob), current.searchByName("bob"));
+        assertEquals(List.of("Charlie", "Bob", "Alice"), current.getTopEarnerNames(10));
+    }
+
+    @Test
+    void testPatchesDuringLoadAreReplayedOntoIt() {
+        RosterCache cache = new RosterCache(Duration.ofMinutes(1), Duration.ofMinutes(5));
+        Employee bob = new Employee("2", "Bob", 120000, 30, "SE", "abc@xyz.com");
+        RosterCache.Loader loader = knownVersion -> {
+            // Changes pushed while the roster is being fetched, the first of which it saw.
+            cache.changesPushed(RosterCache.Loaded.changes(List.of(bob), Set.of(), "v2"), "v1");
+            cache.changesPushed(RosterCache.Loaded.changes(List.of(), Set.of("1"), "v3"), "v2");
+            return new RosterCache.Loaded(List.of(roster.get(0), bob), "v2");
+        };
+
+        Roster loaded = cache.getRoster(loader);
+
+        assertSame(loaded, cache.getLastKnownRoster());
+        assertEquals(
+                List.of("Bob"),
+                loaded.getEmployees().stream().map(Employee::getEmployeeName).toList());
+        assertEquals("v3", loaded.getVersion());
+    }
+
+    @Test
+    void testPutReplaysPatchMadeWhileFetching() {
+        RosterCache cache = new RosterCache(Duration.ofMinutes(1), Duration.ofMinutes(5));
+        Employee bob = new Employee("2", "Bob", 120000, 30, "SE", "abc@xyz.com");
+        cache.put(new RosterCache.Loaded(roster, null), cache.generation());
+
+        long generation = cache.generation();
+        // A create is patched in while the roster is being fetched, which did not see it.
+        cache.employeeAdded(bob);
+        Roster returned = cache.put(new RosterCache.Loaded(roster, null), generation);
+
+        assertEquals(
+                List.of("Alice", "Bob"),
+                returned.getEmployees().stream().map(Employee::getEmployeeName).toList());
+        assertSame(returned, cache.getLastKnownRoster());
+    }
+
+    @Test
+    void testPutDiscardsRosterFetchedBeforeInvalidate() {
+        RosterCache cache = new RosterCache(Duration.ofMinutes(1), Duration.ofMinutes(5));
+        long generation = cache.generation();
+        cache.employeeAdded(new Employee("2", "Bob", 120000, 30, "SE", "abc@xyz.com"));
+        cache.invalidate();
+
+        cache.put(new RosterCache.Loaded(roster, null), generation);
+
+        assertNull(cache.getLastKnownRoster());
+    }
+
+    @Test
+    void testPutDoesNotWaitForLoadInProgress() throws Exception {
+        RosterCache cache = new RosterCache(Duration.ofMinutes(1), Duration.ofMinutes(5));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<Employee>> load = CompletableFuture.supplyAsync(() -> cache.get(() -> {
+            loading.countDown();
+            await(release);
+            return roster;
+        }));
+        loading.await();
+
+        try {
+            Roster put = assertTimeoutPreemptively(
+                    Duration.ofSeconds(5), () -> cache.put(new RosterCache.Loaded(roster, null), cache.generation()));
+            assertSame(put, cache.getLastKnownRoster());
+        } finally {
+            release.countDown();
+        }
+        load.get(5, TimeUnit.SECONDS);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
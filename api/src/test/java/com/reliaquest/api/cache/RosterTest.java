@@ -0,0 +1,82 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class RosterTest {
+
+    @Test
+    void testPatchesMatchRebuiltRoster() {
+        Random random = new Random(5);
+        List<Employee> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            expected.add(employee(random, i));
+        }
+        Roster roster = Roster.of(expected, "v1", 0);
+        Roster unpatched = roster;
+
+        // Enough patches to cross the rebuild threshold several times, with re-adds of removed ids.
+        for (int round = 0; round < 500; round++) {
+            if (random.nextBoolean() && !expected.isEmpty()) {
+                Employee removed = expected.remove(random.nextInt(expected.size()));
+                roster = roster.withRemoved(removed.getId());
+            } else {
+                Employee added = employee(random, random.nextInt(400));
+                if (expected.stream().noneMatch(employee -> employee.getId().equals(added.getId()))) {
+                    expected.add(added);
+                }
+                roster = roster.withAdded(List.of(added));
+            }
+
+            assertEquals(ids(expected), ids(roster.getEmployees()));
+            assertEquals(expected.stream().mapToInt(Employee::getEmployeeSalary).max(), roster.getHighestSalary());
+            assertEquals(
+                    expected.stream()
+                            .sorted(Comparator.comparingInt(Employee::getEmployeeSalary)
+                                    .reversed())
+                            .limit(10)
+                            .map(Employee::getEmployeeName)
+                            .collect(Collectors.toList()),
+                    roster.getTopEarnerNames(10));
+            assertEquals(
+                    ids(expected.stream()
+                            .filter(employee -> employee.getEmployeeName().contains("ee 1"))
+                            .toList()),
+                    ids(roster.searchByName("EE 1")));
+        }
+
+        // The roster patches were made from is left as it was.
+        assertEquals(200, unpatched.getEmployees().size());
+    }
+
+    @Test
+    void testBatchOfChangesAppliesRemovalsFirst() {
+        Employee alice = new Employee("1", "Alice", 90000, 30, "SE", "abc@xyz.com");
+        Employee bob = new Employee("2", "Bob", 120000, 30, "SE", "abc@xyz.com");
+        Roster roster = Roster.of(List.of(alice, bob), "v1", 0);
+
+        Roster patched = roster.withChanges(List.of(alice, bob), Set.of("1"), "v2", 1);
+
+        // Alice is removed and not re-added; Bob is already there and keeps his place.
+        assertEquals(List.of("2"), ids(patched.getEmployees()));
+        assertEquals("v2", patched.getVersion());
+        assertEquals(List.of("Bob"), patched.getTopEarnerNames(10));
+    }
+
+    private static Employee employee(Random random, int i) {
+        // Narrow salary range, so that plenty of employees share a salary.
+        return new Employee(String.valueOf(i), "Employee " + i, 1000 + random.nextInt(20), 30, "SE", "e@x.com");
+    }
+
+    private static List<String> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).toList();
+    }
+}
@@ -0,0 +1,57 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class SalaryIndexTest {
+
+    @Test
+    void testMatchesStreamImplementation() {
+        Random random = new Random(7);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            // Narrow salary range, so that plenty of employees share a salary.
+            employees.add(
+                    new Employee(String.valueOf(i), "Employee " + i, 1000 + random.nextInt(50), 30, "SE", "e@x.com"));
+        }
+
+        SalaryIndex index = SalaryIndex.of(employees);
+
+        int expectedMax =
+                employees.stream().mapToInt(Employee::getEmployeeSalary).max().getAsInt();
+        List<String> expectedTop = employees.stream()
+                .sorted(Comparator.comparingInt(Employee::getEmployeeSalary).reversed())
+                .limit(10)
+                .map(Employee::getEmployeeName)
+                .collect(Collectors.toList());
+        assertEquals(expectedMax, index.getHighestSalary().getAsInt());
+        assertEquals(expectedTop, index.getTopEarnerNames(10));
+    }
+
+    @Test
+    void testAddAndRemove() {
+        SalaryIndex index = SalaryIndex.of(List.of(
+                new Employee("1", "Alice", 90000, 30, "SE", "abc@xyz.com"),
+                new Employee("2", "Bob", 120000, 30, "SE", "abc@xyz.com")));
+
+        index.add(new Employee("3", "Charlie", 150000, 30, "SE", "abc@xyz.com"));
+        assertEquals(150000, index.getHighestSalary().getAsInt());
+        assertEquals(List.of("Charlie", "Bob", "Alice"), index.getTopEarnerNames(10));
+
+        index.remove("3");
+        index.remove("2");
+        assertEquals(90000, index.getHighestSalary().getAsInt());
+        assertEquals(List.of("Alice"), index.getTopEarnerNames(10));
+
+        index.remove("1");
+        assertTrue(index.getHighestSalary().isEmpty());
+    }
+}
@@ -0,0 +1,49 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+class GzipDecompressingInterceptorTest {
+
+    private final GzipDecompressingInterceptor interceptor = new GzipDecompressingInterceptor();
+
+    @Test
+    void testInflatesGzipResponse() throws IOException {
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write("{\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8));
+        }
+        MockClientHttpResponse upstream = new MockClientHttpResponse(gzipped.toByteArray(), HttpStatus.OK);
+        upstream.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, "/api/v1/employee");
+
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0], (req, body) -> upstream);
+
+        assertEquals("gzip", request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("{\"status\":\"ok\"}", new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testPassesThroughIdentityResponse() throws IOException {
+        MockClientHttpResponse upstream =
+                new MockClientHttpResponse("plain".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, "/api/v1/employee");
+
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0], (req, body) -> upstream);
+
+        assertEquals("plain", new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,140 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+class RequestHedgerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testSlowCallIsHedged() {
+        RequestHedger hedger = hedger(1.0);
+        AtomicInteger permits = new AtomicInteger();
+
+        String result = hedger.execute(slow("first"), () -> "hedge", () -> permits.incrementAndGet() > 0);
+
+        assertEquals("hedge", result);
+        assertEquals(1, permits.get());
+        assertEquals(1, hedges("sent"));
+        assertEquals(1, hedges("won"));
+    }
+
+    @Test
+    void testFastCallIsNotHedged() {
+        RequestHedger hedger = hedger(1.0);
+        AtomicInteger hedges = new AtomicInteger();
+
+        String result = hedger.execute(() -> "first", () -> "hedge" + hedges.incrementAndGet(), () -> true);
+
+        assertEquals("first", result);
+        assertEquals(0, hedges.get());
+        assertEquals(0, hedges("sent"));
+    }
+
+    @Test
+    void testHedgesStayWithinBudget() {
+        // Half a hedge per refill period of the 4-call allowance: one hedge, then none for a minute.
+        RequestHedger hedger = new RequestHedger(
+                true, 0.95, Duration.ofMillis(20), Duration.ofMillis(1), 0.25, 4, Duration.ofMinutes(1), meterRegistry);
+
+        assertEquals("hedge", hedger.execute(slow("first"), () -> "hedge", () -> true));
+        assertEquals("first", hedger.execute(slow("first"), () -> "hedge", () -> true));
+        assertEquals(1, hedges("sent"));
+        assertEquals(1, hedges("skipped"));
+    }
+
+    @Test
+    void testHedgeNeedsUpstreamPermit() {
+        RequestHedger hedger = hedger(1.0);
+
+        assertEquals("first", hedger.execute(slow("first"), () -> "hedge", () -> false));
+        assertEquals(1, hedges("skipped"));
+    }
+
+    @Test
+    void testHedgeBudgetIsGivenBackWithoutUpstreamPermit() {
+        // One hedge per minute, which a hedge denied its upstream permit must not use up.
+        RequestHedger hedger = new RequestHedger(
+                true, 0.95, Duration.ofMillis(20), Duration.ofMillis(1), 0.25, 4, Duration.ofMinutes(1), meterRegistry);
+
+        assertEquals("first", hedger.execute(slow("first"), () -> "hedge", () -> false));
+        assertEquals("hedge", hedger.execute(slow("first"), () -> "hedge", () -> true));
+        assertEquals(1, hedges("skipped"));
+        assertEquals(1, hedges("sent"));
+    }
+
+    @Test
+    void testLatencyExcludesWaitsOutsideTheTimedCall() {
+        RequestHedger hedger = hedger(1.0);
+
+        String result = hedger.execute(
+                () -> {
+                    // Waiting for a permit or a bulkhead slot.
+                    sleep(200);
+                    return hedger.timed(() -> "first").get();
+                },
+                () -> "hedge",
+                () -> false);
+
+        assertEquals("first", result);
+        Timer latency = meterRegistry.get("employee.upstream.hedging.latency").timer();
+        assertEquals(1, latency.count());
+        assertTrue(latency.max(TimeUnit.MILLISECONDS) < 100, "Recorded " + latency.max(TimeUnit.MILLISECONDS) + " ms.");
+    }
+
+    @Test
+    void testFailureIsThrownOnlyWhenBothAttemptsFail() {
+        RequestHedger hedger = hedger(1.0);
+        Supplier<String> failing = () -> {
+            sleep(100);
+            throw new ResourceAccessException("Read timed out");
+        };
+
+        assertEquals("first", hedger.execute(slow("first"), failing, () -> true));
+        assertThrows(ResourceAccessException.class, () -> hedger.execute(failing, failing, () -> true));
+    }
+
+    private RequestHedger hedger(double budget) {
+        return new RequestHedger(
+                true,
+                0.95,
+                Duration.ofMillis(20),
+                Duration.ofMillis(1),
+                budget,
+                5,
+                Duration.ofSeconds(1),
+                meterRegistry);
+    }
+
+    private double hedges(String result) {
+        return meterRegistry
+                .counter("employee.upstream.hedging.requests", "result", result)
+                .count();
+    }
+
+    private static Supplier<String> slow(String result) {
+        return () -> {
+            sleep(300);
+            return result;
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.model.Employee;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class RosterEventSubscriberTest {
+
+    private static final String ALICE = "{\"id\":\"1\",\"employee_name\":\"Alice\",\"employee_salary\":90000}";
+    private static final String BOB = "{\"id\":\"2\",\"employee_name\":\"Bob\",\"employee_salary\":120000}";
+
+    private final RosterCache rosterCache = new RosterCache(Duration.ofMinutes(1), Duration.ofMinutes(5));
+    private final RosterEventSubscriber subscriber = new RosterEventSubscriber();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final RosterCache.Loader loader = knownVersion -> {
+        loads.incrementAndGet();
+        return new RosterCache.Loaded(List.of(new Employee("1", "Alice", 90000, 30, "SE", null)), "W/\"7\"");
+    };
+
+    RosterEventSubscriberTest() {
+        ReflectionTestUtils.setField(subscriber, "rosterCache", rosterCache);
+        ReflectionTestUtils.setField(subscriber, "objectMapper", new ObjectMapper());
+    }
+
+    @Test
+    void testPushedChangesArePatchedIntoCachedRoster() throws IOException {
+        rosterCache.get(loader);
+
+        consume(": connected\n\n"
+                + "id: 8\nevent: CREATED\ndata: {\"version\":8,\"type\":\"CREATED\",\"employee\":" + BOB + "}\n\n"
+                + "id: 9\nevent: DELETED\ndata: {\"version\":9,\"type\":\"DELETED\",\n"
+                + "data: \"employee\":" + ALICE + "}\n\n"
+                + "event: heartbeat\ndata:\n\n");
+
+        assertEquals(List.of("Bob"), names(rosterCache.get(loader)));
+        assertEquals("W/\"9\"", rosterCache.getRoster(loader).getVersion());
+        assertEquals(1, loads.get());
+        assertEquals(9L, ReflectionTestUtils.getField(subscriber, "lastEventId"));
+    }
+
+    @Test
+    void testReplayedChangesAreIdempotent() throws IOException {
+        rosterCache.get(loader);
+        String created =
+                "id: 6\nevent: CREATED\ndata: {\"version\":6,\"type\":\"CREATED\",\"employee\":" + ALICE + "}\n\n";
+
+        consume(created + created);
+
+        assertEquals(List.of("Alice"), names(rosterCache.get(loader)));
+        // Version 6 precedes the cached roster, which keeps its own version.
+        assertEquals("W/\"7\"", rosterCache.getRoster(loader).getVersion());
+    }
+
+    @Test
+    void testResetDropsCachedRoster() throws IOException {
+        List<Employee> first = rosterCache.get(loader);
+
+        consume("id: 42\nevent: reset\ndata: 42\n\n");
+
+        assertNotSame(first, rosterCache.get(loader));
+        assertEquals(2, loads.get());
+        assertEquals(42L, ReflectionTestUtils.getField(subscriber, "lastEventId"));
+    }
+
+    @Test
+    void testHeartbeatKeepsRosterFresh() throws IOException {
+        RosterCache shortLived = new RosterCache(Duration.ofMillis(50), Duration.ZERO);
+        ReflectionTestUtils.setField(subscriber, "rosterCache", shortLived);
+        List<Employee> first = shortLived.get(loader);
+
+        sleep(60);
+        consume("event: heartbeat\ndata:\n\n");
+
+        assertSame(first, shortLived.get(loader));
+        assertEquals(1, loads.get());
+    }
+
+    private void consume(String events) throws IOException {
+        subscriber.consume(new BufferedReader(new StringReader(events)));
+    }
+
+    private static List<String> names(List<Employee> employees) {
+        return employees.stream().map(Employee::getEmployeeName).collect(Collectors.toList());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.SalaryIndex;
+import com.reliaquest.api.dto.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class StreamingRosterAggregatorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testMatchesSalaryIndex() throws IOException {
+        Random random = new Random(3);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            // Narrow salary range, so that ties have to be broken by roster order.
+            employees.add(
+                    new Employee(String.valueOf(i), "Employee " + i, 1000 + random.nextInt(30), 30, "SE", "e@x.com"));
+        }
+        SalaryIndex index = SalaryIndex.of(employees);
+        ApiResponse response = new ApiResponse(employees);
+        response.setStatus("Successfully processed request.");
+        byte[] envelope = objectMapper.writeValueAsBytes(response);
+
+        StringBuilder ndjson = new StringBuilder();
+        for (Employee employee : employees) {
+            ndjson.append(objectMapper.writeValueAsString(employee)).append('\n');
+        }
+
+        for (byte[] payload : List.of(envelope, ndjson.toString().getBytes())) {
+            assertEquals(index.getHighestSalary(), StreamingRosterAggregator.highestSalary(parser(payload)));
+            assertEquals(index.getTopEarnerNames(10), StreamingRosterAggregator.topEarnerNames(parser(payload), 10));
+        }
+    }
+
+    @Test
+    void testEmptyRoster() throws IOException {
+        byte[] payload = "{\"data\":[],\"status\":\"Successfully processed request.\"}".getBytes();
+
+        assertTrue(StreamingRosterAggregator.highestSalary(parser(payload)).isEmpty());
+        assertEquals(List.of(), StreamingRosterAggregator.topEarnerNames(parser(payload), 10));
+    }
+
+    private JsonParser parser(byte[] payload) throws IOException {
+        return objectMapper.getFactory().createParser(payload);
+    }
+}
@@ -0,0 +1,104 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+class UpstreamGuardTest {
+
+    @Test
+    void testExhaustedBucketFailsFast() {
+        UpstreamGuard guard = new UpstreamGuard(
+                2, Duration.ofMinutes(1), Duration.ZERO, Duration.ofSeconds(5), Duration.ofSeconds(90));
+        AtomicInteger calls = new AtomicInteger();
+
+        guard.execute(calls::incrementAndGet);
+        guard.execute(calls::incrementAndGet);
+
+        assertThrows(UpstreamRateLimitedException.class, () -> guard.execute(calls::incrementAndGet));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testTooManyRequestsBlocksFurtherCalls() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UpstreamGuard guard = new UpstreamGuard(
+                10, Duration.ofSeconds(1), Duration.ZERO, Duration.ofSeconds(5), Duration.ofSeconds(90), meterRegistry);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "42");
+        AtomicInteger calls = new AtomicInteger();
+
+        UpstreamRateLimitedException first = assertThrows(
+                UpstreamRateLimitedException.class,
+                () -> guard.execute(() -> {
+                    calls.incrementAndGet();
+                    throw HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "", headers, null, null);
+                }));
+        assertEquals(Duration.ofSeconds(42), first.getRetryAfter());
+
+        assertThrows(UpstreamRateLimitedException.class, () -> guard.execute(calls::incrementAndGet));
+        assertEquals(1, calls.get());
+        assertEquals(1, meterRegistry.counter("employee.upstream.rate-limited").count());
+        assertEquals(
+                1,
+                meterRegistry
+                        .counter("employee.upstream.backoff", "source", "retry-after")
+                        .count());
+        assertEquals(
+                1,
+                meterRegistry
+                        .counter("employee.upstream.rejected", "reason", "backoff")
+                        .count());
+    }
+
+    @Test
+    void testConcurrentIdenticalReadsAreCoalesced() throws Exception {
+        UpstreamGuard guard = new UpstreamGuard(
+                100, Duration.ofSeconds(1), Duration.ZERO, Duration.ofSeconds(5), Duration.ofSeconds(90));
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> guard.coalesce("GET /employee", () -> {
+                    calls.incrementAndGet();
+                    await(release);
+                    return 42;
+                })));
+            }
+            TimeUnit.MILLISECONDS.sleep(200);
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertEquals(42, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+class UpstreamIsolationTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testCircuitOpensAfterConsecutiveFailuresAndClosesAfterProbe() throws Exception {
+        UpstreamIsolation isolation = isolation(Duration.ofMillis(200), 4);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(
+                    ResourceAccessException.class,
+                    () -> isolation.execute(UpstreamOperation.ROSTER, () -> {
+                        calls.incrementAndGet();
+                        throw new ResourceAccessException("Connection refused");
+                    }));
+        }
+        UpstreamUnavailableException rejected = assertThrows(
+                UpstreamUnavailableException.class,
+                () -> isolation.execute(UpstreamOperation.ROSTER, calls::incrementAndGet));
+        assertEquals(3, calls.get());
+        assertEquals(
+                2,
+                meterRegistry
+                        .get("employee.upstream.circuit.state")
+                        .tag("operation", "roster")
+                        .gauge()
+                        .value());
+        assertEquals(
+                1,
+                meterRegistry
+                        .counter("employee.upstream.rejected", "reason", "circuit-open")
+                        .count());
+        assertTrue(rejected.getRetryAfter().compareTo(Duration.ZERO) > 0);
+
+        // Other operations have their own circuit.
+        assertEquals(4, isolation.execute(UpstreamOperation.EMPLOYEE, calls::incrementAndGet));
+
+        TimeUnit.MILLISECONDS.sleep(250);
+        assertEquals(5, isolation.execute(UpstreamOperation.ROSTER, calls::incrementAndGet));
+        assertEquals(
+                0,
+                meterRegistry
+                        .get("employee.upstream.circuit.state")
+                        .tag("operation", "roster")
+                        .gauge()
+                        .value());
+    }
+
+    @Test
+    void testLateSuccessDoesNotCloseOpenCircuit() throws Exception {
+        UpstreamIsolation isolation = isolation(Duration.ofMinutes(1), 4);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> slow = executor.submit(() -> isolation.execute(UpstreamOperation.ROSTER, () -> {
+                started.countDown();
+                await(release);
+                return 1;
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            for (int i = 0; i < 3; i++) {
+                assertThrows(
+                        ResourceAccessException.class,
+                        () -> isolation.execute(UpstreamOperation.ROSTER, () -> {
+                            throw new ResourceAccessException("Connection refused");
+                        }));
+            }
+
+            // The slow call was let through before the circuit opened; its success says nothing about now.
+            release.countDown();
+            assertEquals(1, slow.get(5, TimeUnit.SECONDS));
+            assertThrows(
+                    UpstreamUnavailableException.class, () -> isolation.execute(UpstreamOperation.ROSTER, () -> 1));
+            assertEquals(
+                    2,
+                    meterRegistry
+                            .get("employee.upstream.circuit.state")
+                            .tag("operation", "roster")
+                            .gauge()
+                            .value());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testClientErrorsDoNotOpenCircuit() {
+        UpstreamIsolation isolation = isolation(Duration.ofMinutes(1), 4);
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(
+                    HttpClientErrorException.class,
+                    () -> isolation.execute(UpstreamOperation.EMPLOYEE, () -> {
+                        throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "", null, null, null);
+                    }));
+        }
+
+        assertEquals(1, isolation.execute(UpstreamOperation.EMPLOYEE, () -> 1));
+    }
+
+    @Test
+    void testFullBulkheadRejectsCalls() throws Exception {
+        UpstreamIsolation isolation = isolation(Duration.ofMinutes(1), 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> isolation.execute(UpstreamOperation.WRITE, () -> {
+                started.countDown();
+                await(release);
+                return null;
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            assertThrows(UpstreamUnavailableException.class, () -> isolation.execute(UpstreamOperation.WRITE, () -> 1));
+            assertEquals(
+                    1,
+                    meterRegistry
+                            .counter("employee.upstream.rejected", "reason", "bulkhead-full")
+                            .count());
+            assertEquals(1, isolation.execute(UpstreamOperation.ROSTER, () -> 1));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private UpstreamIsolation isolation(Duration openDuration, int callsPerOperation) {
+        return new UpstreamIsolation(
+                3,
+                openDuration,
+                1,
+                callsPerOperation,
+                callsPerOperation,
+                callsPerOperation,
+                callsPerOperation,
+                Duration.ZERO,
+                meterRegistry);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
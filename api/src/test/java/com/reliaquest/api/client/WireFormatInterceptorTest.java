@@ -0,0 +1,49 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+class WireFormatInterceptorTest {
+
+    private final WireFormatInterceptor interceptor = new WireFormatInterceptor(WireFormat.SMILE);
+
+    @Test
+    void testPrefersBinaryFormatOverJson() throws IOException {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, "/api/v1/employee");
+        request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON, WireFormat.SMILE.getMediaType()));
+
+        interceptor.intercept(
+                request, new byte[0], (req, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+
+        assertEquals(
+                List.of(WireFormat.SMILE.getMediaType(), MediaType.parseMediaType("application/json;q=0.9")),
+                request.getHeaders().getAccept());
+    }
+
+    @Test
+    void testLeavesOtherMediaTypesAlone() throws IOException {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, "/api/v1/employee");
+        request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON));
+
+        interceptor.intercept(
+                request, new byte[0], (req, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+
+        assertEquals(List.of(MediaType.APPLICATION_NDJSON), request.getHeaders().getAccept());
+    }
+
+    @Test
+    void testContentTypeSelectsFormat() {
+        assertEquals(WireFormat.CBOR, WireFormat.forContentType(MediaType.APPLICATION_CBOR));
+        assertEquals(
+                WireFormat.JSON, WireFormat.forContentType(MediaType.parseMediaType("application/json;charset=UTF-8")));
+        assertEquals(WireFormat.JSON, WireFormat.forContentType(null));
+    }
+}
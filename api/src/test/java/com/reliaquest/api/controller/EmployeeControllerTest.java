@@ -4,6 +4,8 @@ import com.reliaquest.api.model.CreateMockEmployeeInput;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.EmployeeService;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -12,6 +14,7 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -32,7 +35,9 @@ public class EmployeeControllerTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
-        mockMvc = MockMvcBuilders.standaloneSetup(employeeController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(employeeController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
     }
 
     // Test Case 1: Get all employees
@@ -66,6 +71,26 @@ public class EmployeeControllerTest {
         verify(employeeService, times(1)).getHighestSalaryOfEmployees();
     }
 
+    @Test
+    public void testGetHighestSalaryOfEmployees_RateLimited() throws Exception {
+        when(employeeService.getHighestSalaryOfEmployees())
+                .thenThrow(new UpstreamRateLimitedException(Duration.ofSeconds(30)));
+
+        mockMvc.perform(get("/api/employee/highestSalary"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "30"));
+    }
+
+    @Test
+    public void testGetHighestSalaryOfEmployees_UpstreamUnavailable() throws Exception {
+        when(employeeService.getHighestSalaryOfEmployees())
+                .thenThrow(new UpstreamUnavailableException("Circuit open.", Duration.ofSeconds(10)));
+
+        mockMvc.perform(get("/api/employee/highestSalary"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "10"));
+    }
+
     // Test Case 3: Get top 10 highest earning employee names
     @Test
     public void testGetTopTenHighestEarningEmployeeNames() throws Exception {
@@ -150,6 +175,24 @@ public class EmployeeControllerTest {
 
 
 
+    @Test
+    public void testCreateEmployees() throws Exception {
+        Employee createdEmployee = new Employee("b6b60215-9823-4232-abc5-11be0d2bde93", "Rahul Rathod", 150000, 30, "Software Engineer", "asoka@company.com");
+
+        when(employeeService.createEmployees(anyList())).thenReturn(List.of(createdEmployee));
+
+        mockMvc.perform(post("/api/employee/batch")
+                        .contentType("application/json")
+                        .content("[{\"name\":\"Rahul Rathod\",\"salary\":150000,\"title\":\"Software Engineer\",\"age\":30}]"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].employee_name").value("Rahul Rathod"));
+
+        mockMvc.perform(post("/api/employee/batch").contentType("application/json").content("[]"))
+                .andExpect(status().isBadRequest());
+
+        verify(employeeService, times(1)).createEmployees(anyList());
+    }
+
     // Test Case 9: Delete employee by ID
     @Test
     public void testDeleteEmployeeById_Success() throws Exception {
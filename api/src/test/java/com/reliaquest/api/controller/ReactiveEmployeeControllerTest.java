@@ -0,0 +1,115 @@
+package com.reliaquest.api.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.model.CreateMockEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+class ReactiveEmployeeControllerTest {
+
+    private static final String ID = "20327fcc-c706-448d-ae59-ff358725fac6";
+
+    @Mock
+    private ReactiveEmployeeService employeeService;
+
+    @InjectMocks
+    private ReactiveEmployeeController employeeController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testGetAllEmployees() {
+        Employee employee = new Employee(ID, "Rahul Rathod", 150000, 30, "Software Engineer", "mcshayne@company.com");
+        when(employeeService.getAllEmployees()).thenReturn(Mono.just(List.of(employee)));
+
+        ResponseEntity<List<Employee>> response =
+                employeeController.getAllEmployees().block();
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals("Rahul Rathod", response.getBody().get(0).getEmployeeName());
+    }
+
+    @Test
+    void testGetHighestSalaryOfEmployees_RateLimited() {
+        when(employeeService.getHighestSalaryOfEmployees())
+                .thenReturn(Mono.error(new UpstreamRateLimitedException(Duration.ofSeconds(12))));
+
+        ResponseEntity<Integer> response =
+                employeeController.getHighestSalaryOfEmployees().block();
+
+        assertEquals(429, response.getStatusCode().value());
+        assertEquals("12", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void testGetTopTenHighestEarningEmployeeNames_UpstreamUnavailable() {
+        when(employeeService.getTop10HighestEarningEmployeeNames())
+                .thenReturn(Mono.error(new UpstreamUnavailableException("Circuit open", Duration.ofSeconds(7))));
+
+        ResponseEntity<List<String>> response =
+                employeeController.getTopTenHighestEarningEmployeeNames().block();
+
+        assertEquals(503, response.getStatusCode().value());
+        assertEquals("7", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void testGetEmployeeById() {
+        assertEquals(
+                400,
+                employeeController
+                        .getEmployeeById("not-a-uuid")
+                        .block()
+                        .getStatusCode()
+                        .value());
+
+        when(employeeService.getEmployeeById(ID)).thenReturn(Mono.error(new EmployeeNotFoundException(ID)));
+        assertEquals(
+                404,
+                employeeController.getEmployeeById(ID).block().getStatusCode().value());
+        verify(employeeService, times(1)).getEmployeeById(any());
+    }
+
+    @Test
+    void testCreateEmployee() {
+        Employee employee = new Employee(ID, "Rahul Rathod", 150000, 30, "Software Engineer", "mcshayne@company.com");
+        CreateMockEmployeeInput input = new CreateMockEmployeeInput("Rahul Rathod", 150000, "Software Engineer", 30);
+        when(employeeService.createEmployee(input)).thenReturn(Mono.just(employee));
+
+        ResponseEntity<Employee> response =
+                employeeController.createEmployee(input).block();
+
+        assertEquals(201, response.getStatusCode().value());
+        assertEquals(ID, response.getBody().getId());
+    }
+
+    @Test
+    void testDeleteEmployeeById_Failure() {
+        when(employeeService.deleteEmployeeById(ID)).thenReturn(Mono.error(new RuntimeException("Method not allowed")));
+
+        ResponseEntity<String> response =
+                employeeController.deleteEmployeeById(ID).block();
+
+        assertEquals(500, response.getStatusCode().value());
+        assertEquals("Failed to delete employee", response.getBody());
+    }
+}
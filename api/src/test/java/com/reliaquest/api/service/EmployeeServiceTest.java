@@ -1,17 +1,38 @@
 package com.reliaquest.api.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.client.UpstreamGuard;
+import com.reliaquest.api.client.WireFormat;
 import com.reliaquest.api.dto.ApiResponse;
+import com.reliaquest.api.dto.ApiResponseForChanges;
 import com.reliaquest.api.dto.ApiResponseForId;
+import com.reliaquest.api.dto.ApiResponseForSalary;
+import com.reliaquest.api.dto.EmployeeChange;
+import com.reliaquest.api.dto.EmployeeChanges;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
 import com.reliaquest.api.model.CreateMockEmployeeInput;
 import com.reliaquest.api.model.Employee;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.*;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -24,6 +45,13 @@ class EmployeeServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Spy
+    private RosterCache rosterCache = new RosterCache(Duration.ofSeconds(30), Duration.ofMinutes(5));
+
+    @Spy
+    private UpstreamGuard upstreamGuard =
+            new UpstreamGuard(100, Duration.ofSeconds(1), Duration.ZERO, Duration.ofSeconds(5), Duration.ofSeconds(90));
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -55,6 +83,309 @@ class EmployeeServiceTest {
         verify(restTemplate, times(1)).getForEntity(anyString(), eq(ApiResponse.class));
     }
 
+    @Test
+    void testReadsAreServedFromRosterCache() {
+        when(restTemplate.getForEntity(anyString(), eq(ApiResponse.class)))
+                .thenReturn(new ResponseEntity<>(new ApiResponse(mockEmployees), HttpStatus.OK));
+
+        employeeService.getAllEmployees();
+        employeeService.getEmployeesByNameSearch("Ali");
+        employeeService.getHighestSalaryOfEmployees();
+        employeeService.getTop10HighestEarningEmployeeNames();
+
+        verify(restTemplate, times(1)).getForEntity(anyString(), eq(ApiResponse.class));
+    }
+
+    @Test
+    void testCreateEmployeePatchesRosterCache() {
+        when(restTemplate.getForEntity(anyString(), eq(ApiResponse.class)))
+                .thenReturn(new ResponseEntity<>(new ApiResponse(mockEmployees), HttpStatus.OK));
+        ApiResponseForId apiResponseForId = new ApiResponseForId();
+        apiResponseForId.setData(new Employee("4", "David", 700000, 30, "SE", "abc@xyz.com"));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(ApiResponseForId.class)))
+                .thenReturn(new ResponseEntity<>(apiResponseForId, HttpStatus.OK));
+
+        employeeService.getAllEmployees();
+        employeeService.createEmployee(new CreateMockEmployeeInput("David", 700000, "Engineer", 25));
+
+        assertEquals(4, employeeService.getAllEmployees().size());
+        assertEquals(700000, employeeService.getHighestSalaryOfEmployees());
+        assertEquals("David", employeeService.getTop10HighestEarningEmployeeNames().get(0));
+        verify(restTemplate, times(1)).getForEntity(anyString(), eq(ApiResponse.class));
+    }
+
+    @Test
+    void testCreateEmployeesSubmitsChunks() {
+        ReflectionTestUtils.setField(employeeService, "batchSize", 2);
+        ReflectionTestUtils.setField(employeeService, "batchInFlight", 2);
+        when(restTemplate.getForEntity(anyString(), eq(ApiResponse.class)))
+                .thenReturn(new ResponseEntity<>(new ApiResponse(mockEmployees), HttpStatus.OK));
+        // Echoes each chunk back as created employees, named after the inputs.
+        when(restTemplate.exchange(endsWith("/batch"), eq(HttpMethod.POST), any(HttpEntity.class), eq(ApiResponse.class)))
+                .thenAnswer(invocation -> {
+                    List<CreateMockEmployeeInput> chunk = invocation.<HttpEntity<List<CreateMockEmployeeInput>>>getArgument(2).getBody();
+                    List<Employee> created = new ArrayList<>();
+                    for (CreateMockEmployeeInput input : chunk) {
+                        created.add(new Employee("id-" + input.getName(), input.getName(), input.getSalary(), input.getAge(), input.getTitle(), null));
+                    }
+                    return new ResponseEntity<>(new ApiResponse(created), HttpStatus.OK);
+                });
+
+        List<CreateMockEmployeeInput> inputs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            inputs.add(new CreateMockEmployeeInput("New " + i, 200000 + i, "Engineer", 25));
+        }
+        employeeService.getAllEmployees();
+        List<Employee> created = employeeService.createEmployees(inputs);
+
+        assertEquals(List.of("New 0", "New 1", "New 2", "New 3", "New 4"),
+                created.stream().map(Employee::getEmployeeName).toList());
+        verify(restTemplate, times(3)).exchange(endsWith("/batch"), eq(HttpMethod.POST), any(HttpEntity.class), eq(ApiResponse.class));
+        assertEquals(8, employeeService.getAllEmployees().size());
+        assertEquals(200004, employeeService.getHighestSalaryOfEmployees());
+        verify(restTemplate, times(1)).getForEntity(anyString(), eq(ApiResponse.class));
+    }
+
+    @Test
+    void testCreateEmployeesStopsAfterFailedChunk() {
+        ReflectionTestUtils.setField(employeeService, "batchSize", 1);
+        ReflectionTestUtils.setField(employeeService, "batchInFlight", 1);
+        when(restTemplate.exchange(endsWith("/batch"), eq(HttpMethod.POST), any(HttpEntity.class), eq(ApiResponse.class)))
+                .thenReturn(new ResponseEntity<>(new ApiResponse(mockEmployees.subList(0, 1)), HttpStatus.OK))
+                .thenReturn(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        List<CreateMockEmployeeInput> inputs = List.of(
+                new CreateMockEmployeeInput("A", 1, "Engineer", 25),
+                new CreateMockEmployeeInput("B", 1, "Engineer", 25),
+                new CreateMockEmployeeInput("C", 1, "Engineer", 25));
+
+        assertThrows(RuntimeException.class, () -> employeeService.createEmployees(inputs));
+        verify(restTemplate, times(2)).exchange(endsWith("/batch"), eq(HttpMethod.POST), any(HttpEntity.class), eq(ApiResponse.class));
+    }
+
+    @Test
+    void testUnchangedRosterIsRevalidated() {
+        ReflectionTestUtils.setField(employeeService, "rosterCache", new RosterCache(Duration.ZERO, Duration.ZERO));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("W/\"7\"");
+        when(restTemplate.getForEntity(anyString(), eq(ApiResponse.class)))
+                .thenReturn(new ResponseEntity<>(new ApiResponse(mockEmployees), headers, HttpStatus.OK));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(ApiResponse.class)))
+                .thenReturn(new ResponseEntity<>(HttpStatus.NOT_MODIFIED));
+
+        List<Employee> first = employeeService.getAllEmployees();
+        List<Employee> second = employeeService.getAllEmployees();
+
+        assertSame(first, second);
+        verify(restTemplate, times(1)).getForEntity(anyString(), eq(ApiResponse.class));
+        verify(restTemplate).exchange(anyString(), eq(HttpMethod.GET),
+                argThat((HttpEntity<?> entity) -> entity.getHeaders().getIfNoneMatch().equals(List.of("W/\"7\""))),
+                eq(ApiResponse.class));
+    }
+
+    @Test
+    void testCachedRosterIsSyncedFromChangeFeed() {
+        ReflectionTestUtils.setField(employeeService, "rosterCache", new RosterCache(Duration.ZERO, Duration.ZERO));
+        ReflectionTestUtils.setField(employeeService, "changeFeed", true);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("W/\"7\"");
+        when(restTemplate.getForEntity(anyString(), eq(ApiResponse.class)))
+                .thenReturn(new ResponseEntity<>(new ApiResponse(mockEmployees), headers, HttpStatus.OK));
+        when(restTemplate.getForEntity(endsWith("/changes?since={since}"), eq(ApiResponseForChanges.class), eq(7L)))
+                .thenReturn(new ResponseEntity<>(changes(9, true,
+                        change(8, EmployeeChange.Type.CREATED, new Employee("4", "David", 700000, 30, "SE", "abc@xyz.com"))),
+                        HttpStatus.OK));
+        when(restTemplate.getForEntity(endsWith("/changes?since={since}"), eq(ApiResponseForChanges.class), eq(9L)))
+                .thenReturn(new ResponseEntity<>(changes(10, false,
+                        change(10, EmployeeChange.Type.DELETED, mockEmployees.get(0))), HttpStatus.OK));
+        when(restTemplate.getForEntity(endsWith("/changes?since={since}"), eq(ApiResponseForChanges.class), eq(10L)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.GONE, "Gone", HttpHeaders.EMPTY, null, null));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(ApiResponse.class)))
+                .thenReturn(new ResponseEntity<>(new ApiResponse(mockEmployees), headers, HttpStatus.OK));
+
+        employeeService.getAllEmployees();
+        List<Employee> synced = employeeService.getAllEmployees();
+        // The feed no longer covers version 10, so the whole roster is read again.
+        List<Employee> reloaded = employeeService.getAllEmployees();
+
+        assertEquals(List.of("Bob", "Charlie", "David"), synced.stream().map(Employee::getEmployeeName).toList());
+        assertEquals(3, reloaded.size());
+        verify(restTemplate, times(1)).getForEntity(anyString(), eq(ApiResponse.class));
+        verify(restTemplate, times(3)).getForEntity(anyString(), eq(ApiResponseForChanges.class), anyLong());
+        verify(restTemplate).exchange(anyString(), eq(HttpMethod.GET),
+                argThat((HttpEntity<?> entity) -> entity.getHeaders().getIfNoneMatch().equals(List.of("W/\"10\""))),
+                eq(ApiResponse.class));
+    }
+
+    @Test
+    void testGetAllEmployeesPageByPage() {
+        ReflectionTestUtils.setField(employeeService, "pageSize", 2);
+        HttpHeaders firstPageHeaders = new HttpHeaders();
+        firstPageHeaders.set("X-Next-Cursor", "2");
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(), eq(ApiResponse.class)))
+                .thenReturn(new ResponseEntity<>(new ApiResponse(mockEmployees.subList(0, 2)), firstPageHeaders, HttpStatus.OK))
+                .thenReturn(new ResponseEntity<>(new ApiResponse(mockEmployees.subList(2, 3)), HttpStatus.OK));
+
+        List<Employee> employees = employeeService.getAllEmployees();
+
+        assertEquals(3, employees.size());
+        assertEquals("Charlie", employees.get(2).getEmployeeName());
+        verify(restTemplate).exchange(endsWith("?limit=2"), eq(HttpMethod.GET), isNull(), eq(ApiResponse.class));
+        verify(restTemplate).exchange(endsWith("?limit=2&cursor=2"), eq(HttpMethod.GET), isNull(), eq(ApiResponse.class));
+    }
+
+    @Test
+    void testSalaryAggregatesAreStreamedWhenRosterIsNotCached() throws Exception {
+        ReflectionTestUtils.setField(employeeService, "streamingAggregation", true);
+        ObjectMapper objectMapper = new ObjectMapper();
+        ReflectionTestUtils.setField(employeeService, "objectMapper", objectMapper);
+        byte[] payload = objectMapper.writeValueAsBytes(new ApiResponse(mockEmployees));
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(RequestCallback.class), ArgumentMatchers.<ResponseExtractor<Object>>any()))
+                .thenAnswer(invocation -> invocation.<ResponseExtractor<Object>>getArgument(3)
+                        .extractData(new MockClientHttpResponse(payload, HttpStatus.OK)));
+        when(restTemplate.getForEntity(anyString(), eq(ApiResponse.class)))
+                .thenReturn(new ResponseEntity<>(new ApiResponse(mockEmployees), HttpStatus.OK));
+
+        assertEquals(120000, employeeService.getHighestSalaryOfEmployees());
+        // The streamed aggregate leaves the roster loading in the background.
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (rosterCache.getLastKnownRoster() == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of("Bob", "Alice", "Charlie"), employeeService.getTop10HighestEarningEmployeeNames());
+        verify(restTemplate, times(1)).execute(anyString(), eq(HttpMethod.GET), any(RequestCallback.class), ArgumentMatchers.<ResponseExtractor<Object>>any());
+        verify(restTemplate, times(1)).getForEntity(anyString(), eq(ApiResponse.class));
+    }
+
+    @Test
+    void testSalaryAggregatesAreStreamedFromSmilePayload() throws Exception {
+        ReflectionTestUtils.setField(employeeService, "streamingAggregation", true);
+        ReflectionTestUtils.setField(employeeService, "objectMapper", new ObjectMapper());
+        byte[] payload = new ObjectMapper(WireFormat.SMILE.getFactory()).writeValueAsBytes(new ApiResponse(mockEmployees));
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(RequestCallback.class), ArgumentMatchers.<ResponseExtractor<Object>>any()))
+                .thenAnswer(invocation -> {
+                    MockClientHttpResponse response = new MockClientHttpResponse(payload, HttpStatus.OK);
+                    response.getHeaders().setContentType(WireFormat.SMILE.getMediaType());
+                    return invocation.<ResponseExtractor<Object>>getArgument(3).extractData(response);
+                });
+
+        assertEquals(120000, employeeService.getHighestSalaryOfEmployees());
+        assertEquals(List.of("Bob", "Alice", "Charlie"), employeeService.getTop10HighestEarningEmployeeNames());
+    }
+
+    @Test
+    void testQueriesArePushedDownWhileRosterIsNotCached() {
+        ReflectionTestUtils.setField(employeeService, "queryPushDown", true);
+        ApiResponseForSalary highestSalary = new ApiResponseForSalary();
+        highestSalary.setData(120000);
+        when(restTemplate.getForEntity(endsWith("/query/search?name={name}"), eq(ApiResponse.class), eq("Ali")))
+                .thenReturn(new ResponseEntity<>(new ApiResponse(List.of(mockEmployees.get(0))), HttpStatus.OK));
+        when(restTemplate.getForEntity(endsWith("/query/highest-salary"), eq(ApiResponseForSalary.class)))
+                .thenReturn(new ResponseEntity<>(highestSalary, HttpStatus.OK));
+        when(restTemplate.getForEntity(endsWith("/query/top-earners?limit={limit}"), eq(ApiResponse.class), eq(10)))
+                .thenReturn(new ResponseEntity<>(
+                        new ApiResponse(List.of(mockEmployees.get(1), mockEmployees.get(0), mockEmployees.get(2))),
+                        HttpStatus.OK));
+
+        assertEquals("Alice", employeeService.getEmployeesByNameSearch("Ali").get(0).getEmployeeName());
+        assertEquals(120000, employeeService.getHighestSalaryOfEmployees());
+        assertEquals(List.of("Bob", "Alice", "Charlie"), employeeService.getTop10HighestEarningEmployeeNames());
+        verify(restTemplate, never()).getForEntity(endsWith("/employee"), eq(ApiResponse.class));
+
+        // Once a roster is cached, it answers the queries.
+        when(restTemplate.getForEntity(endsWith("/employee"), eq(ApiResponse.class)))
+                .thenReturn(new ResponseEntity<>(new ApiResponse(mockEmployees), HttpStatus.OK));
+        employeeService.getAllEmployees();
+        assertEquals(1, employeeService.getEmployeesByNameSearch("Ali").size());
+        assertEquals(120000, employeeService.getHighestSalaryOfEmployees());
+        verify(restTemplate, times(1)).getForEntity(endsWith("/query/search?name={name}"), eq(ApiResponse.class), eq("Ali"));
+        verify(restTemplate, times(1)).getForEntity(endsWith("/query/highest-salary"), eq(ApiResponseForSalary.class));
+    }
+
+    @Test
+    void testQueriesFallBackToRosterWithoutQueryEndpoints() {
+        ReflectionTestUtils.setField(employeeService, "queryPushDown", true);
+        when(restTemplate.getForEntity(endsWith("/query/highest-salary"), eq(ApiResponseForSalary.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+        when(restTemplate.getForEntity(endsWith("/employee"), eq(ApiResponse.class)))
+                .thenReturn(new ResponseEntity<>(new ApiResponse(mockEmployees), HttpStatus.OK));
+
+        assertEquals(120000, employeeService.getHighestSalaryOfEmployees());
+        rosterCache.invalidate();
+        assertEquals(List.of("Bob", "Alice", "Charlie"), employeeService.getTop10HighestEarningEmployeeNames());
+
+        verify(restTemplate, times(1)).getForEntity(endsWith("/query/highest-salary"), eq(ApiResponseForSalary.class));
+        verify(restTemplate, never()).getForEntity(endsWith("/query/top-earners?limit={limit}"), eq(ApiResponse.class), eq(10));
+        verify(restTemplate, times(2)).getForEntity(endsWith("/employee"), eq(ApiResponse.class));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = HttpStatus.class, names = {"METHOD_NOT_ALLOWED", "NOT_IMPLEMENTED"})
+    void testQueriesFallBackToRosterWhenQueryEndpointsAreMissing(HttpStatus status) {
+        ReflectionTestUtils.setField(employeeService, "queryPushDown", true);
+        when(restTemplate.getForEntity(endsWith("/query/highest-salary"), eq(ApiResponseForSalary.class)))
+                .thenThrow(status.is5xxServerError()
+                        ? HttpServerErrorException.create(status, status.getReasonPhrase(), null, null, null)
+                        : HttpClientErrorException.create(status, status.getReasonPhrase(), null, null, null));
+        when(restTemplate.getForEntity(endsWith("/employee"), eq(ApiResponse.class)))
+                .thenReturn(new ResponseEntity<>(new ApiResponse(mockEmployees), HttpStatus.OK));
+
+        assertEquals(120000, employeeService.getHighestSalaryOfEmployees());
+        rosterCache.invalidate();
+        assertEquals(List.of("Bob", "Alice", "Charlie"), employeeService.getTop10HighestEarningEmployeeNames());
+
+        verify(restTemplate, never()).getForEntity(endsWith("/query/top-earners?limit={limit}"), eq(ApiResponse.class), eq(10));
+    }
+
+    @Test
+    void testQueryServerErrorFallsBackForThatQueryOnly() {
+        ReflectionTestUtils.setField(employeeService, "queryPushDown", true);
+        ApiResponseForSalary highestSalary = new ApiResponseForSalary();
+        highestSalary.setData(120000);
+        when(restTemplate.getForEntity(endsWith("/query/highest-salary"), eq(ApiResponseForSalary.class)))
+                .thenThrow(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", null, null, null))
+                .thenReturn(new ResponseEntity<>(highestSalary, HttpStatus.OK));
+        when(restTemplate.getForEntity(endsWith("/employee"), eq(ApiResponse.class)))
+                .thenReturn(new ResponseEntity<>(new ApiResponse(mockEmployees), HttpStatus.OK));
+
+        assertEquals(120000, employeeService.getHighestSalaryOfEmployees());
+        rosterCache.invalidate();
+        assertEquals(120000, employeeService.getHighestSalaryOfEmployees());
+
+        verify(restTemplate, times(2)).getForEntity(endsWith("/query/highest-salary"), eq(ApiResponseForSalary.class));
+        verify(restTemplate, times(1)).getForEntity(endsWith("/employee"), eq(ApiResponse.class));
+    }
+
+    @Test
+    void testMissingQueryEndpointsAreTriedAgainAfterRecheck() {
+        ReflectionTestUtils.setField(employeeService, "queryPushDown", true);
+        ReflectionTestUtils.setField(employeeService, "queryRecheck", Duration.ZERO);
+        ApiResponseForSalary highestSalary = new ApiResponseForSalary();
+        highestSalary.setData(120000);
+        when(restTemplate.getForEntity(endsWith("/query/highest-salary"), eq(ApiResponseForSalary.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null))
+                .thenReturn(new ResponseEntity<>(highestSalary, HttpStatus.OK));
+        when(restTemplate.getForEntity(endsWith("/employee"), eq(ApiResponse.class)))
+                .thenReturn(new ResponseEntity<>(new ApiResponse(mockEmployees), HttpStatus.OK));
+
+        assertEquals(120000, employeeService.getHighestSalaryOfEmployees());
+        rosterCache.invalidate();
+        assertEquals(120000, employeeService.getHighestSalaryOfEmployees());
+
+        verify(restTemplate, times(2)).getForEntity(endsWith("/query/highest-salary"), eq(ApiResponseForSalary.class));
+    }
+
+    @Test
+    void testTopEarnersWithoutDataAreComputedFromRoster() {
+        ReflectionTestUtils.setField(employeeService, "queryPushDown", true);
+        when(restTemplate.getForEntity(endsWith("/query/top-earners?limit={limit}"), eq(ApiResponse.class), eq(10)))
+                .thenReturn(new ResponseEntity<>(new ApiResponse(), HttpStatus.OK));
+        when(restTemplate.getForEntity(endsWith("/employee"), eq(ApiResponse.class)))
+                .thenReturn(new ResponseEntity<>(new ApiResponse(mockEmployees), HttpStatus.OK));
+
+        assertEquals(List.of("Bob", "Alice", "Charlie"), employeeService.getTop10HighestEarningEmployeeNames());
+    }
+
     @Test
     void testGetEmployeesByNameSearch() {
         when(restTemplate.getForEntity(anyString(), eq(ApiResponse.class)))
@@ -89,6 +420,24 @@ class EmployeeServiceTest {
         assertEquals("Employee not found with ID: 99", exception.getMessage());
     }
 
+    @Test
+    void testGetEmployeeByIdFallsBackToCachedRosterWhileUpstreamFails() {
+        when(restTemplate.getForEntity(anyString(), eq(ApiResponse.class)))
+                .thenReturn(new ResponseEntity<>(new ApiResponse(mockEmployees), HttpStatus.OK));
+        employeeService.getAllEmployees();
+        when(restTemplate.getForEntity(anyString(), eq(ApiResponseForId.class)))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(ResourceAccessException.class, () -> employeeService.getEmployeeById("2"));
+        }
+        Employee employee = employeeService.getEmployeeById("2");
+
+        assertEquals("Bob", employee.getEmployeeName());
+        assertThrows(UpstreamUnavailableException.class, () -> employeeService.getEmployeeById("99"));
+        verify(restTemplate, times(5)).getForEntity(anyString(), eq(ApiResponseForId.class));
+    }
+
     @Test
     void testGetHighestSalaryOfEmployees() {
         when(restTemplate.getForEntity(anyString(), eq(ApiResponse.class)))
@@ -134,4 +483,22 @@ class EmployeeServiceTest {
     void testDeleteEmployeeById_Failure() {
         //Delete is disabled from the client side hence not able to complete the operation.
     }
+
+    private static EmployeeChange change(long version, EmployeeChange.Type type, Employee employee) {
+        EmployeeChange change = new EmployeeChange();
+        change.setVersion(version);
+        change.setType(type);
+        change.setEmployee(employee);
+        return change;
+    }
+
+    private static ApiResponseForChanges changes(long version, boolean hasMore, EmployeeChange... changes) {
+        EmployeeChanges data = new EmployeeChanges();
+        data.setChanges(List.of(changes));
+        data.setVersion(version);
+        data.setHasMore(hasMore);
+        ApiResponseForChanges response = new ApiResponseForChanges();
+        response.setData(data);
+        return response;
+    }
 }
@@ -0,0 +1,194 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.client.ReactiveUpstreamGuard;
+import com.reliaquest.api.client.UpstreamGuard;
+import com.reliaquest.api.client.UpstreamIsolation;
+import com.reliaquest.api.dto.ApiResponse;
+import com.reliaquest.api.dto.ApiResponseForId;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.model.CreateMockEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ReactiveEmployeeServiceTest {
+
+    private static final String BASE_URL = "http://upstream/api/v1/employee";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<ClientRequest> requests = Collections.synchronizedList(new ArrayList<>());
+    private final RosterCache rosterCache = new RosterCache(Duration.ofSeconds(30), Duration.ofMinutes(5));
+    private final ReactiveEmployeeService employeeService = new ReactiveEmployeeService();
+
+    private Function<ClientRequest, Mono<ClientResponse>> upstream;
+    private List<Employee> mockEmployees;
+
+    @BeforeEach
+    void setUp() {
+        mockEmployees = Arrays.asList(
+                new Employee("1", "Alice", 90000, 30, "SE", "abc@xyz.com"),
+                new Employee("2", "Bob", 120000, 30, "SE", "abc@xyz.com"),
+                new Employee("3", "Charlie", 80000, 30, "SE", "abc@xyz.com"));
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return upstream.apply(request);
+                })
+                .build();
+        ReactiveUpstreamGuard upstreamGuard = new ReactiveUpstreamGuard(
+                new UpstreamGuard(
+                        100, Duration.ofSeconds(1), Duration.ZERO, Duration.ofSeconds(5), Duration.ofSeconds(90)),
+                new UpstreamIsolation());
+        ReflectionTestUtils.setField(employeeService, "webClient", webClient);
+        ReflectionTestUtils.setField(employeeService, "rosterCache", rosterCache);
+        ReflectionTestUtils.setField(employeeService, "upstreamGuard", upstreamGuard);
+        ReflectionTestUtils.setField(employeeService, "baseUrl", BASE_URL);
+    }
+
+    @Test
+    void testConcurrentRosterReadsShareOneFetch() {
+        upstream = request ->
+                respond(HttpStatus.OK, new ApiResponse(mockEmployees)).delayElement(Duration.ofMillis(100));
+
+        List<List<Employee>> results = Flux.range(0, 20)
+                .flatMap(i -> employeeService.getAllEmployees())
+                .collectList()
+                .block();
+
+        assertEquals(20, results.size());
+        assertTrue(results.stream().allMatch(employees -> employees.size() == 3));
+        assertEquals(120000, employeeService.getHighestSalaryOfEmployees().block());
+        assertEquals(
+                List.of("Bob", "Alice", "Charlie"),
+                employeeService.getTop10HighestEarningEmployeeNames().block());
+        assertEquals(1, employeeService.getEmployeesByNameSearch("ali").block().size());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void testGetEmployeeById() {
+        ApiResponseForId body = new ApiResponseForId();
+        body.setData(mockEmployees.get(1));
+        upstream = request -> respond(HttpStatus.OK, body);
+
+        Employee employee = employeeService.getEmployeeById("2").block();
+
+        assertEquals("Bob", employee.getEmployeeName());
+        assertEquals(BASE_URL + "/2", requests.get(0).url().toString());
+    }
+
+    @Test
+    void testConcurrentReadsOfAnEmployeeShareOneCall() {
+        ApiResponseForId body = new ApiResponseForId();
+        body.setData(mockEmployees.get(1));
+        upstream = request -> respond(HttpStatus.OK, body).delayElement(Duration.ofMillis(100));
+
+        List<Employee> employees = Flux.range(0, 10)
+                .flatMap(i -> employeeService.getEmployeeById("2"))
+                .collectList()
+                .block();
+
+        assertEquals(10, employees.size());
+        assertEquals(1, requests.size());
+        employeeService.getEmployeeById("2").block();
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void testGetEmployeeById_NotFound() {
+        upstream = request -> respond(HttpStatus.NOT_FOUND, null);
+
+        assertThrows(
+                EmployeeNotFoundException.class,
+                () -> employeeService.getEmployeeById("99").block());
+    }
+
+    @Test
+    void testGetEmployeeByIdFallsBackToLastKnownRosterWhileCircuitIsOpen() {
+        upstream = request -> respond(HttpStatus.OK, new ApiResponse(mockEmployees));
+        employeeService.getAllEmployees().block();
+        upstream = request -> respond(HttpStatus.SERVICE_UNAVAILABLE, null);
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(
+                    RuntimeException.class,
+                    () -> employeeService.getEmployeeById("2").block());
+        }
+        Employee employee = employeeService.getEmployeeById("2").block();
+
+        assertEquals("Bob", employee.getEmployeeName());
+        assertThrows(
+                UpstreamUnavailableException.class,
+                () -> employeeService.getEmployeeById("99").block());
+        assertEquals(6, requests.size());
+    }
+
+    @Test
+    void testRateLimitedResponseBacksOff() {
+        upstream = request -> Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .build());
+
+        UpstreamRateLimitedException e = assertThrows(
+                UpstreamRateLimitedException.class,
+                () -> employeeService.getEmployeeById("2").block());
+        assertEquals(Duration.ofSeconds(30), e.getRetryAfter());
+        assertThrows(
+                UpstreamRateLimitedException.class,
+                () -> employeeService.getAllEmployees().block());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void testCreateEmployeeIsPatchedIntoRoster() {
+        upstream = request -> respond(HttpStatus.OK, new ApiResponse(mockEmployees));
+        employeeService.getAllEmployees().block();
+        ApiResponseForId body = new ApiResponseForId();
+        body.setData(new Employee("4", "Dave", 100000, 40, "SE", "dave@xyz.com"));
+        upstream = request -> respond(HttpStatus.OK, body);
+
+        Employee created = employeeService
+                .createEmployee(new CreateMockEmployeeInput("Dave", 100000, "SE", 40))
+                .block();
+
+        assertEquals("Dave", created.getEmployeeName());
+        assertEquals(HttpMethod.POST, requests.get(1).method());
+        assertEquals(4, employeeService.getAllEmployees().block().size());
+        assertEquals(2, requests.size());
+    }
+
+    private Mono<ClientResponse> respond(HttpStatus status, Object body) {
+        ClientResponse.Builder response =
+                ClientResponse.create(status).header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        if (body != null) {
+            try {
+                response.body(objectMapper.writeValueAsString(body));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return Mono.just(response.build());
+    }
+}
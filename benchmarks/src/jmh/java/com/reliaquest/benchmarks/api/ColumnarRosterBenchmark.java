@@ -0,0 +1,63 @@
+package com.reliaquest.benchmarks.api;
+
+import com.reliaquest.api.cache.ColumnarRoster;
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Full scans over a {@code List<Employee>} versus the primitive columns of {@link ColumnarRoster}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ColumnarRosterBenchmark {
+
+    @Param({"100000"})
+    private int rosterSize;
+
+    private List<Employee> employees;
+    private ColumnarRoster columns;
+
+    @Setup
+    public void setUp() {
+        employees = Rosters.random(rosterSize, 42);
+        columns = ColumnarRoster.of(employees);
+    }
+
+    @Benchmark
+    public int highestSalaryObjects() {
+        return employees.stream().mapToInt(Employee::getEmployeeSalary).max().orElseThrow();
+    }
+
+    @Benchmark
+    public int highestSalaryColumnar() {
+        return columns.highestSalary().orElseThrow();
+    }
+
+    @Benchmark
+    public List<String> topTenColumnar() {
+        return columns.topEarnerNames(10);
+    }
+
+    @Benchmark
+    public List<Employee> searchObjects() {
+        return employees.stream()
+                .filter(emp -> emp.getEmployeeName().toLowerCase().contains("abc1"))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Employee> searchColumnar() {
+        return columns.searchByName("abc1");
+    }
+}
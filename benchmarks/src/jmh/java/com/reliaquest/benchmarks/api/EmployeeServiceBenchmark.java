@@ -0,0 +1,86 @@
+package com.reliaquest.benchmarks.api;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.client.UpstreamGuard;
+import com.reliaquest.api.dto.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeService;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * The {@link EmployeeService} read paths once the roster is cached: name search, highest salary and top-10 earners.
+ * The roster is loaded once from a mocked upstream and then served from {@link RosterCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rosterSize;
+
+    @Param({"abc1"})
+    private String searchFragment;
+
+    private EmployeeService employeeService;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer upstream =
+                MockRestServiceServer.bindTo(restTemplate).build();
+        upstream.expect(ExpectedCount.once(), method(HttpMethod.GET))
+                .andRespond(withSuccess(
+                        objectMapper.writeValueAsBytes(new ApiResponse(Rosters.random(rosterSize, 42))),
+                        MediaType.APPLICATION_JSON));
+
+        RosterCache rosterCache = new RosterCache(Duration.ofHours(1), Duration.ofHours(1));
+        employeeService = new EmployeeService();
+        ReflectionTestUtils.setField(employeeService, "restTemplate", restTemplate);
+        ReflectionTestUtils.setField(employeeService, "rosterCache", rosterCache);
+        ReflectionTestUtils.setField(
+                employeeService,
+                "upstreamGuard",
+                new UpstreamGuard(
+                        100, Duration.ofSeconds(1), Duration.ZERO, Duration.ofSeconds(5), Duration.ofSeconds(90)));
+        ReflectionTestUtils.setField(employeeService, "objectMapper", objectMapper);
+        employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public List<Employee> search() {
+        return employeeService.getEmployeesByNameSearch(searchFragment);
+    }
+
+    @Benchmark
+    public int highestSalary() {
+        return employeeService.getHighestSalaryOfEmployees();
+    }
+
+    @Benchmark
+    public List<String> topTen() {
+        return employeeService.getTop10HighestEarningEmployeeNames();
+    }
+}
@@ -0,0 +1,148 @@
+package com.reliaquest.benchmarks.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.api.dto.ApiResponseForId;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Bursts of {@code concurrency} concurrent {@code GET /api/employee/{id}} requests against the api booted in-process,
+ * handling requests on Tomcat's platform-thread pool or on virtual threads. Upstream is an in-process HTTP server that
+ * answers every call after {@code upstreamLatencyMillis}, so a request is almost all waiting. The burst takes about one
+ * upstream latency as long as every request of it gets a thread; the platform pool holds
+ * {@code server.tomcat.threads.max} (200), so larger bursts queue for a thread and take several. With a short upstream
+ * latency, handling the requests may cost more CPU than the waiting does, and the two models then perform alike.
+ *
+ * <p>Virtual threads need Java 21: run with {@code -PjavaVersion=21 -PjmhIncludes=ExecutionModeBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExecutionModeBenchmark {
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"50", "200", "1000"})
+    private int concurrency;
+
+    @Param({"50", "2000"})
+    private int upstreamLatencyMillis;
+
+    private HttpServer upstream;
+    private ScheduledExecutorService responder;
+    private ConfigurableApplicationContext api;
+    private HttpClient client;
+    private URI base;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        boolean virtualThreads = "virtual".equals(threads);
+        if (virtualThreads && !JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            throw new IllegalStateException("Virtual threads need Java 21; run with -PjavaVersion=21.");
+        }
+
+        ApiResponseForId body = new ApiResponseForId();
+        body.setData(Rosters.random(1, 42).get(0));
+        byte[] json = new ObjectMapper().writeValueAsBytes(body);
+        // Responses are sent from a timer rather than a sleeping handler, so upstream needs no thread per request.
+        responder = Executors.newScheduledThreadPool(2);
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        // By default connections beyond 200 idle ones are closed unannounced, and the api's pool would reuse them.
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "100000");
+        upstream = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 4096);
+        upstream.setExecutor(Executors.newFixedThreadPool(2));
+        upstream.createContext(
+                "/api/v1/employee",
+                exchange -> responder.schedule(
+                        () -> respond(exchange, json), upstreamLatencyMillis, TimeUnit.MILLISECONDS));
+        upstream.start();
+
+        api = new SpringApplicationBuilder(ApiApplication.class)
+                .run(
+                        "--spring.config.location=optional:classpath:/execution-mode-benchmark.yml",
+                        "--server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.reliaquest=WARN",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--employee.upstream.base-url=http://localhost:"
+                                + upstream.getAddress().getPort() + "/api/v1/employee",
+                        // Only the execution model may limit concurrency: no rate limit, bulkhead or small pool.
+                        "--employee.upstream.rate-limit.capacity=1000000000",
+                        "--employee.upstream.bulkhead.employee=100000",
+                        "--employee.upstream.http.max-connections=100000",
+                        "--server.tomcat.accept-count=" + concurrency);
+        int port = ((WebServerApplicationContext) api).getWebServer().getPort();
+        base = URI.create("http://localhost:" + port + "/api/employee/");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        api.close();
+        upstream.stop(0);
+        responder.shutdownNow();
+    }
+
+    @Benchmark
+    public int burst() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            // Distinct ids, so that concurrent reads are not coalesced into one upstream call.
+            HttpRequest request = HttpRequest.newBuilder(
+                            base.resolve(UUID.randomUUID().toString()))
+                    .build();
+            responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenAccept(response -> {
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException("Request failed with " + response.statusCode() + ".");
+                        }
+                    });
+        }
+        CompletableFuture.allOf(responses).join();
+        return concurrency;
+    }
+
+    private static void respond(HttpExchange exchange, byte[] json) {
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, "application/json");
+            exchange.sendResponseHeaders(200, json.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(json);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
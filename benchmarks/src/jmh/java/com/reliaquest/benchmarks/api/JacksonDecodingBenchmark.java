@@ -0,0 +1,80 @@
+package com.reliaquest.benchmarks.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.reliaquest.api.client.WireFormat;
+import com.reliaquest.api.dto.ApiResponse;
+import com.reliaquest.api.dto.ApiResponseForId;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Decoding the upstream payloads: the full roster ({@link ApiResponse}) and a single employee
+ * ({@link ApiResponseForId}), in each {@link WireFormat}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JacksonDecodingBenchmark {
+
+    private static final String STATUS = "Successfully processed request.";
+
+    @State(Scope.Benchmark)
+    public static class RosterPayload {
+
+        @Param({"10", "1000", "100000"})
+        private int rosterSize;
+
+        @Param({"json", "smile", "cbor"})
+        private String format;
+
+        ObjectReader reader;
+        byte[] payload;
+
+        @Setup
+        public void setUp() throws IOException {
+            ObjectMapper objectMapper = new ObjectMapper(WireFormat.of(format).getFactory());
+            ApiResponse roster = new ApiResponse(Rosters.random(rosterSize, 42));
+            roster.setStatus(STATUS);
+            payload = objectMapper.writeValueAsBytes(roster);
+            reader = objectMapper.readerFor(ApiResponse.class);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class EmployeePayload {
+
+        @Param({"json", "smile", "cbor"})
+        private String format;
+
+        ObjectReader reader;
+        byte[] payload;
+
+        @Setup
+        public void setUp() throws IOException {
+            ObjectMapper objectMapper = new ObjectMapper(WireFormat.of(format).getFactory());
+            ApiResponseForId employee = new ApiResponseForId();
+            employee.setData(Rosters.random(1, 42).get(0));
+            employee.setStatus(STATUS);
+            payload = objectMapper.writeValueAsBytes(employee);
+            reader = objectMapper.readerFor(ApiResponseForId.class);
+        }
+    }
+
+    @Benchmark
+    public ApiResponse decodeRoster(RosterPayload payload) throws IOException {
+        return payload.reader.readValue(payload.payload);
+    }
+
+    @Benchmark
+    public ApiResponseForId decodeEmployee(EmployeePayload payload) throws IOException {
+        return payload.reader.readValue(payload.payload);
+    }
+}
@@ -0,0 +1,52 @@
+package com.reliaquest.benchmarks.api;
+
+import com.reliaquest.api.cache.NameSearchIndex;
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Name fragment search: the original per-request lower-casing scan versus {@link NameSearchIndex}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class NameSearchBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rosterSize;
+
+    // A selective fragment, a common one, and one too short to have trigrams.
+    @Param({"abc1", "employee 1", "ab"})
+    private String fragment;
+
+    private List<Employee> employees;
+    private NameSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        employees = Rosters.random(rosterSize, 42);
+        index = NameSearchIndex.of(employees);
+    }
+
+    @Benchmark
+    public List<Employee> scan() {
+        return employees.stream()
+                .filter(emp -> emp.getEmployeeName().toLowerCase().contains(fragment.toLowerCase()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Employee> index() {
+        return index.search(fragment);
+    }
+}
@@ -0,0 +1,46 @@
+package com.reliaquest.benchmarks.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.Roster;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.dto.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Retained heap of a cached roster in each layout, measured with JOL. Employees are decoded from JSON, as the cache
+ * receives them, so that every string is its own instance.
+ *
+ * <p>Run with {@code gradle :benchmarks:rosterFootprint}.
+ */
+public final class RosterFootprint {
+
+    private RosterFootprint() {}
+
+    public static void main(String[] args) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        System.out.printf(
+                "%10s %18s %18s %18s%n", "employees", "List<Employee>", "Roster (objects)", "Roster (columnar)");
+        for (int size : new int[] {1_000, 100_000, 1_000_000}) {
+            byte[] json = objectMapper.writeValueAsBytes(new ApiResponse(Rosters.random(size, 42)));
+            List<Employee> employees =
+                    objectMapper.readValue(json, ApiResponse.class).getData();
+
+            long list = GraphLayout.parseInstance(employees).totalSize();
+            long objects = GraphLayout.parseInstance(cached(employees, false)).totalSize();
+            long columnar = GraphLayout.parseInstance(cached(employees, true)).totalSize();
+            System.out.printf(
+                    "%10d %12d B/emp %12d B/emp %12d B/emp%n", size, list / size, objects / size, columnar / size);
+        }
+    }
+
+    private static Roster cached(List<Employee> employees, boolean columnar) {
+        RosterCache cache =
+                new RosterCache(Duration.ofHours(1), Duration.ofHours(1), columnar, new SimpleMeterRegistry());
+        return cache.getRoster(() -> employees);
+    }
+}
@@ -0,0 +1,30 @@
+package com.reliaquest.benchmarks.api;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Reproducible synthetic rosters for the api benchmarks.
+ */
+final class Rosters {
+
+    private Rosters() {}
+
+    static List<Employee> random(int size, long seed) {
+        Random random = new Random(seed);
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(new Employee(
+                    new UUID(random.nextLong(), random.nextLong()).toString(),
+                    "Employee " + Integer.toString(random.nextInt(Integer.MAX_VALUE), 36) + " " + i,
+                    30000 + random.nextInt(470000),
+                    16 + random.nextInt(54),
+                    "Title " + random.nextInt(500),
+                    "employee" + i + "@company.com"));
+        }
+        return employees;
+    }
+}
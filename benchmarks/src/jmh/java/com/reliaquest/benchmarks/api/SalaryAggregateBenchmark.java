@@ -0,0 +1,62 @@
+package com.reliaquest.benchmarks.api;
+
+import com.reliaquest.api.cache.SalaryIndex;
+import com.reliaquest.api.model.Employee;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Highest salary and top-10 earners: the original stream implementations over the full roster versus
+ * {@link SalaryIndex}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SalaryAggregateBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rosterSize;
+
+    private List<Employee> employees;
+    private SalaryIndex salaryIndex;
+
+    @Setup
+    public void setUp() {
+        employees = Rosters.random(rosterSize, 42);
+        salaryIndex = SalaryIndex.of(employees);
+    }
+
+    @Benchmark
+    public int highestSalaryStream() {
+        return employees.stream().mapToInt(Employee::getEmployeeSalary).max().orElseThrow();
+    }
+
+    @Benchmark
+    public int highestSalaryIndex() {
+        return salaryIndex.getHighestSalary().orElseThrow();
+    }
+
+    @Benchmark
+    public List<String> topTenStream() {
+        return employees.stream()
+                .sorted(Comparator.comparingInt(Employee::getEmployeeSalary).reversed())
+                .limit(10)
+                .map(Employee::getEmployeeName)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> topTenIndex() {
+        return salaryIndex.getTopEarnerNames(10);
+    }
+}
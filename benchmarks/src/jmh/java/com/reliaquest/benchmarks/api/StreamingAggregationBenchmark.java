@@ -0,0 +1,73 @@
+package com.reliaquest.benchmarks.api;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.reliaquest.api.cache.SalaryIndex;
+import com.reliaquest.api.client.StreamingRosterAggregator;
+import com.reliaquest.api.dto.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Salary aggregates from a raw roster payload: binding it to {@link ApiResponse} and aggregating the list, versus
+ * {@link StreamingRosterAggregator} reading the tokens directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StreamingAggregationBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rosterSize;
+
+    private ObjectMapper objectMapper;
+    private ObjectReader rosterReader;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        rosterReader = objectMapper.readerFor(ApiResponse.class);
+        json = objectMapper.writeValueAsBytes(new ApiResponse(Rosters.random(rosterSize, 42)));
+    }
+
+    @Benchmark
+    public int highestSalaryBound() throws IOException {
+        ApiResponse response = rosterReader.readValue(json);
+        return response.getData().stream()
+                .mapToInt(Employee::getEmployeeSalary)
+                .max()
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public int highestSalaryStreaming() throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            return StreamingRosterAggregator.highestSalary(parser).orElseThrow();
+        }
+    }
+
+    @Benchmark
+    public List<String> topTenBound() throws IOException {
+        ApiResponse response = rosterReader.readValue(json);
+        return SalaryIndex.of(response.getData()).getTopEarnerNames(10);
+    }
+
+    @Benchmark
+    public List<String> topTenStreaming() throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            return StreamingRosterAggregator.topEarnerNames(parser, 10);
+        }
+    }
+}
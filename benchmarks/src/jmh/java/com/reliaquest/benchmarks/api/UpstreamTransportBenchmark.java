@@ -0,0 +1,109 @@
+package com.reliaquest.benchmarks.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.UpstreamHttpConfiguration;
+import com.reliaquest.api.dto.ApiResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.observation.ObservationRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Round trip of a roster request against an in-process HTTP server, for each {@link UpstreamHttpConfiguration}
+ * transport. {@code connectionPerRequest} sends {@code Connection: close}, so every call pays TCP connection setup
+ * the way an unpooled client does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UpstreamTransportBenchmark {
+
+    @Param({"simple", "apache", "jdk"})
+    private String transport;
+
+    @Param({"10", "1000"})
+    private int rosterSize;
+
+    private HttpServer server;
+    private String url;
+    private RestTemplate restTemplate;
+    private RestTemplate closingRestTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        byte[] json = objectMapper.writeValueAsBytes(new ApiResponse(Rosters.random(rosterSize, 42)));
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(json);
+        }
+        byte[] gzippedJson = gzipped.toByteArray();
+
+        // Without TCP_NODELAY the separate header and body writes of a keep-alive response stall on delayed ACKs.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.createContext("/api/v1/employee", exchange -> respond(exchange, json, gzippedJson));
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort() + "/api/v1/employee";
+
+        UpstreamHttpConfiguration configuration = new UpstreamHttpConfiguration(
+                transport, 20, Duration.ofSeconds(2), Duration.ofSeconds(10), Duration.ofMinutes(5), true, "json");
+        restTemplate = configuration.restTemplate(ObservationRegistry.NOOP);
+        closingRestTemplate = configuration.restTemplate(ObservationRegistry.NOOP);
+        closingRestTemplate.getInterceptors().add((request, body, execution) -> {
+            request.getHeaders().set(HttpHeaders.CONNECTION, "close");
+            return execution.execute(request, body);
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Benchmark
+    public ApiResponse pooled() {
+        return restTemplate.getForObject(url, ApiResponse.class);
+    }
+
+    @Benchmark
+    public ApiResponse connectionPerRequest() {
+        return closingRestTemplate.getForObject(url, ApiResponse.class);
+    }
+
+    private static void respond(HttpExchange exchange, byte[] json, byte[] gzippedJson) throws IOException {
+        String acceptEncoding = exchange.getRequestHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+        byte[] body = json;
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = gzippedJson;
+        }
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
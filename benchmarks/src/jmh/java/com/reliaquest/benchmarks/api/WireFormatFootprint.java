@@ -0,0 +1,42 @@
+package com.reliaquest.benchmarks.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.WireFormat;
+import com.reliaquest.api.dto.ApiResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Size of the full roster payload in each {@link WireFormat}, as sent and gzipped.
+ *
+ * <p>Run with {@code gradle :benchmarks:wireFormatFootprint}.
+ */
+public final class WireFormatFootprint {
+
+    private WireFormatFootprint() {}
+
+    public static void main(String[] args) throws IOException {
+        System.out.printf("%10s %8s %14s %14s%n", "employees", "format", "bytes/emp", "gzip bytes/emp");
+        for (int size : new int[] {10, 1_000, 100_000}) {
+            ApiResponse roster = new ApiResponse(Rosters.random(size, 42));
+            for (WireFormat format : WireFormat.values()) {
+                byte[] payload = new ObjectMapper(format.getFactory()).writeValueAsBytes(roster);
+                System.out.printf(
+                        "%10d %8s %14.1f %14.1f%n",
+                        size,
+                        format.name().toLowerCase(),
+                        (double) payload.length / size,
+                        (double) gzip(payload).length / size);
+            }
+        }
+    }
+
+    private static byte[] gzip(byte[] payload) throws IOException {
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream(payload.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(payload);
+        }
+        return gzipped.toByteArray();
+    }
+}
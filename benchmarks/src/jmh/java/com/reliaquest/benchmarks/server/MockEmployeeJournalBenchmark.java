@@ -0,0 +1,76 @@
+package com.reliaquest.benchmarks.server;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.MockEmployeeGenerator;
+import com.reliaquest.server.store.MockEmployeeJournal;
+import com.reliaquest.server.store.MockEmployeeStore;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Roster writes through a {@link MockEmployeeJournal}, forcing every change to disk ({@code fsyncIntervalMillis} 0)
+ * against batching the forces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MockEmployeeJournalBenchmark {
+
+    @Param({"0", "100"})
+    private long fsyncIntervalMillis;
+
+    private Path directory;
+    private MockEmployeeJournal journal;
+    private MockEmployeeStore store;
+    private List<MockEmployee> employees;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-benchmark");
+        employees = new MockEmployeeGenerator(Locale.getDefault(), 42).generate(1000);
+        store = new MockEmployeeStore(employees);
+        journal = new MockEmployeeJournal(directory, 16 << 20, Duration.ofMillis(fsyncIntervalMillis), 10_000);
+        journal.attach(store, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (final var path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * Adds a copy of an employee and deletes it again, so the roster size stays constant across iterations.
+     */
+    @Benchmark
+    public boolean addAndRemove() {
+        next = next + 1 == employees.size() ? 0 : next + 1;
+        final var employee =
+                employees.get(next).toBuilder().id(UUID.randomUUID()).build();
+        store.add(employee);
+        return store.removeById(employee.getId()).isPresent();
+    }
+}
@@ -0,0 +1,67 @@
+package com.reliaquest.benchmarks.server;
+
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.store.MockEmployeeGenerator;
+import com.reliaquest.server.store.MockEmployeeStore;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * {@link MockEmployeeService} lookups and deletes against a seeded roster.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MockEmployeeServiceBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rosterSize;
+
+    private List<MockEmployee> employees;
+    private MockEmployeeStore store;
+    private MockEmployeeService service;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        employees = new MockEmployeeGenerator(Locale.getDefault(), 42).generate(rosterSize);
+        store = new MockEmployeeStore(employees);
+        service = new MockEmployeeService(new Faker(), store);
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById() {
+        return service.findById(nextEmployee().getId());
+    }
+
+    /**
+     * Deletes an employee by name and puts it back, so the roster size stays constant across iterations.
+     */
+    @Benchmark
+    public boolean deleteAndRestore() {
+        final var employee = nextEmployee();
+        final var input = new DeleteMockEmployeeInput();
+        input.setName(employee.getName());
+        final var deleted = service.delete(input);
+        store.add(employee);
+        return deleted;
+    }
+
+    private MockEmployee nextEmployee() {
+        next = next + 1 == employees.size() ? 0 : next + 1;
+        return employees.get(next);
+    }
+}
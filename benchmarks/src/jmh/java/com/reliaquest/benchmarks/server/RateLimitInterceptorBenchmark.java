@@ -0,0 +1,77 @@
+package com.reliaquest.benchmarks.server;
+
+import com.reliaquest.server.ratelimit.CooldownRateLimiter;
+import com.reliaquest.server.ratelimit.RateLimiter;
+import com.reliaquest.server.ratelimit.SlidingWindowRateLimiter;
+import com.reliaquest.server.ratelimit.TokenBucketRateLimiter;
+import com.reliaquest.server.web.RateLimitInterceptor;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * {@link RateLimitInterceptor#preHandle} with one interceptor shared by several request threads, the way Tomcat's
+ * worker pool calls it, for each limiter. With the mock server's budget of 5 requests per 30 seconds nearly all calls
+ * are rejected. {@code key} {@code global} has all threads contend on one limiter, {@code ip} gives each thread its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class RateLimitInterceptorBenchmark {
+
+    private static final int LIMIT = 5;
+    private static final Duration PERIOD = Duration.ofSeconds(30);
+
+    @Param({"cooldown", "token-bucket", "sliding-window"})
+    private String algorithm;
+
+    @Param({"global", "ip"})
+    private String key;
+
+    private RateLimitInterceptor interceptor;
+    private final AtomicInteger clients = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        final LongFunction<RateLimiter> limiterFactory =
+                switch (algorithm) {
+                    case "cooldown" -> now -> new CooldownRateLimiter(LIMIT, PERIOD);
+                    case "token-bucket" -> now -> new TokenBucketRateLimiter(LIMIT, PERIOD, now);
+                    case "sliding-window" -> now -> new SlidingWindowRateLimiter(LIMIT, PERIOD, now);
+                    default -> throw new IllegalArgumentException(algorithm);
+                };
+        interceptor = new RateLimitInterceptor(limiterFactory, key);
+    }
+
+    @State(Scope.Thread)
+    public static class Exchange {
+
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+
+        @Setup
+        public void setUp(RateLimitInterceptorBenchmark benchmark) {
+            request = new MockHttpServletRequest("GET", "/api/v1/employee");
+            request.setRemoteAddr("10.0.0." + benchmark.clients.incrementAndGet());
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Benchmark
+    public boolean preHandle(Exchange exchange) {
+        return interceptor.preHandle(exchange.request, exchange.response, null);
+    }
+}
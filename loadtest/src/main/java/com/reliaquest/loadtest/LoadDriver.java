@@ -0,0 +1,153 @@
+package com.reliaquest.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends the workload to the api, in one of two models:
+ * <ul>
+ *   <li>closed: a fixed number of clients, each sending its next request when the previous one completes. Throughput is
+ *   whatever the api sustains, and latency is measured from send to response.</li>
+ *   <li>open: requests start at a fixed rate whatever the response times, as independent users would send them. Latency
+ *   is measured from when a request was due, not when it was sent, so a stalled api is not hidden by requests that
+ *   were held back meanwhile (coordinated omission).</li>
+ * </ul>
+ * Requests started before the warmup ends are sent but not recorded.
+ */
+final class LoadDriver {
+
+    /** Requests the open model lets wait on the api before it counts further ones as failed without sending them. */
+    private static final int MAX_OUTSTANDING = 10_000;
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI base;
+    private final Workload workload;
+    private final Results results;
+    private final HttpClient client;
+    private final ExecutorService executor;
+
+    LoadDriver(URI base, Workload workload, Results results, int threads) {
+        this.base = base;
+        this.workload = workload;
+        this.results = results;
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+    }
+
+    void runClosed(int concurrency, long measureFromNanos, long endNanos) throws InterruptedException {
+        Thread[] clients = new Thread[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            clients[i] = new Thread(
+                    () -> {
+                        while (System.nanoTime() < endNanos) {
+                            long start = System.nanoTime();
+                            Operation operation = workload.nextOperation();
+                            String outcome = sendAndWait(operation);
+                            if (start >= measureFromNanos) {
+                                results.record(operation, outcome, System.nanoTime() - start);
+                            }
+                        }
+                    },
+                    "loadtest-closed-" + i);
+            clients[i].start();
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+    }
+
+    void runOpen(double rate, long startNanos, long measureFromNanos, long endNanos) throws InterruptedException {
+        Semaphore outstanding = new Semaphore(MAX_OUTSTANDING);
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        for (long sent = 0; ; sent++) {
+            long due = startNanos + (long) (sent * intervalNanos);
+            if (due >= endNanos) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = workload.nextOperation();
+            boolean measured = due >= measureFromNanos;
+            Optional<HttpRequest> request = operation.request(base, workload);
+            if (request.isEmpty()) {
+                if (measured) {
+                    results.record(operation, Results.SKIPPED, 0);
+                }
+                continue;
+            }
+            if (!outstanding.tryAcquire()) {
+                if (measured) {
+                    results.record(operation, Results.DROPPED, 0);
+                }
+                continue;
+            }
+            client.sendAsync(withTimeout(request.get()), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, failure) -> {
+                        outstanding.release();
+                        String outcome = outcome(operation, response, failure);
+                        if (measured) {
+                            results.record(operation, outcome, System.nanoTime() - due);
+                        }
+                    });
+        }
+        // Let the requests still in flight complete, so that the slowest ones are recorded too.
+        if (!outstanding.tryAcquire(MAX_OUTSTANDING, REQUEST_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Requests still outstanding after " + REQUEST_TIMEOUT);
+        }
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private String sendAndWait(Operation operation) {
+        Optional<HttpRequest> request = operation.request(base, workload);
+        if (request.isEmpty()) {
+            return Results.SKIPPED;
+        }
+        try {
+            HttpResponse<String> response =
+                    client.send(withTimeout(request.get()), HttpResponse.BodyHandlers.ofString());
+            return outcome(operation, response, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Results.IO_ERROR;
+        } catch (Exception e) {
+            return outcome(operation, null, e);
+        }
+    }
+
+    private String outcome(Operation operation, HttpResponse<String> response, Throwable failure) {
+        if (failure != null || response == null) {
+            return Results.IO_ERROR;
+        }
+        workload.completed(operation, response.statusCode(), response.body());
+        return Integer.toString(response.statusCode());
+    }
+
+    private static HttpRequest withTimeout(HttpRequest request) {
+        return HttpRequest.newBuilder(request, (name, value) -> true)
+                .timeout(REQUEST_TIMEOUT)
+                .build();
+    }
+}
@@ -0,0 +1,250 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.server.ServerApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the mock server and the api in this JVM on ephemeral ports, drives the api with the configured workload and
+ * writes a JSON summary of latency, outcomes and the upstream calls the api made per request, comparable between runs.
+ *
+ * <p>The server is started without its rate limit and the api with a generous upstream budget, so that the run
+ * measures the request path rather than the simulated throttling; both can be overridden, e.g.
+ * {@code server.mock.rate-limit.algorithm=cooldown}. See {@link LoadTestOptions} for the other arguments.
+ */
+public final class LoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        Map<String, String> serverProperties = new LinkedHashMap<>();
+        serverProperties.put("mock.employees.max", Integer.toString(options.employees()));
+        serverProperties.put("mock.employees.seed", Long.toString(options.seed()));
+        serverProperties.put("mock.rate-limit.algorithm", "none");
+        serverProperties.putAll(quiet());
+        serverProperties.putAll(options.serverProperties());
+        ConfigurableApplicationContext server = boot(ServerApplication.class, serverProperties);
+        URI upstream = URI.create("http://localhost:" + port(server) + "/api/v1/employee");
+
+        Map<String, String> apiProperties = new LinkedHashMap<>();
+        apiProperties.put("employee.upstream.base-url", upstream.toString());
+        apiProperties.put("employee.upstream.rate-limit.capacity", "1000000");
+        apiProperties.put("employee.upstream.rate-limit.refill-period", "1s");
+        apiProperties.putAll(quiet());
+        apiProperties.putAll(options.apiProperties());
+        ConfigurableApplicationContext api = boot(ApiApplication.class, apiProperties);
+        URI base = URI.create("http://localhost:" + port(api) + "/api/employee");
+
+        try {
+            Workload workload = seededWorkload(options, upstream);
+            Results results = new Results();
+            MeterRegistry registry = api.getBean(MeterRegistry.class);
+            int threads = options.openModel()
+                    ? Math.max(4, Runtime.getRuntime().availableProcessors())
+                    : options.concurrency();
+            LoadDriver driver = new LoadDriver(base, workload, results, threads);
+
+            System.out.printf("Driving %s for %s after %s of warmup%n", base, options.duration(), options.warmup());
+            long start = System.nanoTime();
+            long measureFrom = start + options.warmup().toNanos();
+            long end = measureFrom + options.duration().toNanos();
+            CompletableFuture<Map<String, Long>> upstreamAtWarmup = CompletableFuture.supplyAsync(
+                    () -> upstreamCalls(registry),
+                    CompletableFuture.delayedExecutor(measureFrom - System.nanoTime(), TimeUnit.NANOSECONDS));
+            if (options.openModel()) {
+                driver.runOpen(options.rate(), start, measureFrom, end);
+            } else {
+                driver.runClosed(options.concurrency(), measureFrom, end);
+            }
+            driver.shutdown();
+
+            Map<String, Object> measured = results.summarize(options.duration().toNanos() / 1e9);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("label", options.label());
+            summary.put("timestamp", Instant.now().toString());
+            summary.put("environment", environment());
+            summary.put("config", config(options));
+            summary.putAll(measured);
+            summary.put("upstream", upstream(upstreamAtWarmup.get(), upstreamCalls(registry), measured));
+
+            Files.createDirectories(options.output().toAbsolutePath().getParent());
+            MAPPER.writeValue(options.output().toFile(), summary);
+            print(summary);
+            System.out.println("Summary written to " + options.output().toAbsolutePath());
+        } finally {
+            api.close();
+            server.close();
+        }
+    }
+
+    private static Map<String, String> quiet() {
+        return Map.of(
+                "spring.main.banner-mode", "off",
+                "logging.level.root", "WARN",
+                "logging.level.com.reliaquest", "WARN");
+    }
+
+    /**
+     * Boots {@code application} with its own {@code application.yml}: both applications are on the classpath, so the
+     * plain {@code classpath:application.yml} would only find whichever comes first.
+     */
+    private static ConfigurableApplicationContext boot(Class<?> application, Map<String, String> properties)
+            throws IOException {
+        List<String> args = new ArrayList<>();
+        args.add("--spring.config.location=" + applicationYaml(application));
+        args.add("--server.port=0");
+        properties.forEach((name, value) -> args.add("--" + name + "=" + value));
+        return new SpringApplicationBuilder(application).run(args.toArray(new String[0]));
+    }
+
+    private static String applicationYaml(Class<?> application) throws IOException {
+        String codeSource =
+                application.getProtectionDomain().getCodeSource().getLocation().toString();
+        // A class directory (build/classes/java/main) has its resources next to it (build/resources/main).
+        String resources = codeSource.replace("/classes/java/main/", "/resources/main/");
+        Enumeration<URL> candidates = application.getClassLoader().getResources("application.yml");
+        while (candidates.hasMoreElements()) {
+            String candidate = candidates.nextElement().toString();
+            if (candidate.startsWith("jar:" + codeSource + "!") || candidate.startsWith(resources)) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("No application.yml next to " + codeSource);
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    /**
+     * Reads the roster straight from the server, so that the api's own counters only see the load.
+     */
+    private static Workload seededWorkload(LoadTestOptions options, URI upstream)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = HttpClient.newHttpClient()
+                .send(
+                        HttpRequest.newBuilder(upstream)
+                                .header("Accept", "application/json")
+                                .build(),
+                        HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Could not read the seeded roster: HTTP " + response.statusCode());
+        }
+        List<String> ids = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (JsonNode employee : MAPPER.readTree(response.body()).path("data")) {
+            ids.add(employee.path("id").asText());
+            names.add(employee.path("employee_name").asText());
+        }
+        return new Workload(options.mix(), ids, names);
+    }
+
+    /**
+     * @return the api's completed upstream calls so far, by response status.
+     */
+    private static Map<String, Long> upstreamCalls(MeterRegistry registry) {
+        Map<String, Long> calls = new TreeMap<>();
+        for (Timer timer : registry.find("http.client.requests").timers()) {
+            String status = timer.getId().getTag("status");
+            calls.merge(status == null ? "unknown" : status, timer.count(), Long::sum);
+        }
+        return calls;
+    }
+
+    private static Map<String, Object> upstream(
+            Map<String, Long> before, Map<String, Long> after, Map<String, Object> measured) {
+        Map<String, Long> statuses = new TreeMap<>();
+        after.forEach((status, count) -> {
+            long delta = count - before.getOrDefault(status, 0L);
+            if (delta > 0) {
+                statuses.put(status, delta);
+            }
+        });
+        long calls = statuses.values().stream().mapToLong(Long::longValue).sum();
+        long requests = (Long) measured.get("requests");
+        Map<String, Object> upstream = new LinkedHashMap<>();
+        upstream.put("calls", calls);
+        upstream.put("perRequest", requests == 0 ? 0.0 : Math.round(calls * 10_000.0 / requests) / 10_000.0);
+        upstream.put("statuses", statuses);
+        return upstream;
+    }
+
+    private static Map<String, Object> environment() {
+        Map<String, Object> environment = new LinkedHashMap<>();
+        environment.put("java", System.getProperty("java.version"));
+        environment.put("processors", Runtime.getRuntime().availableProcessors());
+        environment.put("maxHeapBytes", Runtime.getRuntime().maxMemory());
+        return environment;
+    }
+
+    private static Map<String, Object> config(LoadTestOptions options) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("model", options.openModel() ? "open" : "closed");
+        if (options.openModel()) {
+            config.put("rate", options.rate());
+        } else {
+            config.put("concurrency", options.concurrency());
+        }
+        config.put("duration", options.duration().toString());
+        config.put("warmup", options.warmup().toString());
+        config.put("employees", options.employees());
+        config.put("seed", options.seed());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        options.mix().forEach((operation, weight) -> mix.put(operation.methodName(), weight));
+        config.put("mix", mix);
+        config.put("api", options.apiProperties());
+        config.put("server", options.serverProperties());
+        return config;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> summary) {
+        String format = "%-38s %9s %9s %7s %9s %9s %9s %9s%n";
+        System.out.printf(format, "operation", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        Map<String, Object> rows = new LinkedHashMap<>((Map<String, Object>) summary.get("operations"));
+        rows.put("overall", summary);
+        rows.forEach((name, value) -> {
+            Map<String, Object> row = (Map<String, Object>) value;
+            Map<String, Object> latency = (Map<String, Object>) row.get("latencyMillis");
+            System.out.printf(
+                    format,
+                    name,
+                    row.get("requests"),
+                    row.get("throughput"),
+                    String.format("%.2f%%", 100 * (Double) row.get("errorRate")),
+                    latency.get("p50"),
+                    latency.get("p99"),
+                    latency.get("p999"),
+                    latency.get("max"));
+        });
+        Map<String, Object> upstream = (Map<String, Object>) summary.get("upstream");
+        System.out.printf("upstream calls: %s (%s per request)%n", upstream.get("calls"), upstream.get("perRequest"));
+    }
+}
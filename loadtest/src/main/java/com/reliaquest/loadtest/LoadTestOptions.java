@@ -0,0 +1,111 @@
+package com.reliaquest.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Load test settings, parsed from {@code key=value} arguments:
+ * <ul>
+ *   <li>{@code mix} - relative weights of the operations, e.g. {@code getAllEmployees:5,getEmployeeById:3}; see
+ *   {@link Operation} for the names. Defaults to {@link #DEFAULT_MIX}.</li>
+ *   <li>{@code concurrency} - clients sending back to back (closed model), 16 by default.</li>
+ *   <li>{@code rate} - requests per second started on schedule whatever the response times (open model); overrides
+ *   {@code concurrency}.</li>
+ *   <li>{@code duration} and {@code warmup} - measured time, 30s by default, after an unmeasured warmup, 5s.</li>
+ *   <li>{@code employees} and {@code seed} - size and seed of the server's generated roster, 1000 and 42.</li>
+ *   <li>{@code label} - free text copied into the summary, such as the commit under test.</li>
+ *   <li>{@code output} - where the JSON summary is written, {@code build/loadtest/summary.json}.</li>
+ *   <li>{@code api.<property>} and {@code server.<property>} - Spring properties of either application, e.g.
+ *   {@code api.employee.cache.ttl=1s}.</li>
+ * </ul>
+ */
+record LoadTestOptions(
+        Map<Operation, Integer> mix,
+        int concurrency,
+        Double rate,
+        Duration duration,
+        Duration warmup,
+        int employees,
+        long seed,
+        String label,
+        Path output,
+        Map<String, String> apiProperties,
+        Map<String, String> serverProperties) {
+
+    static final String DEFAULT_MIX = "getAllEmployees:20,getEmployeesByNameSearch:20,getEmployeeById:25,"
+            + "getHighestSalaryOfEmployees:10,getTopTenHighestEarningEmployeeNames:10,createEmployee:10,"
+            + "deleteEmployeeById:5";
+
+    static LoadTestOptions parse(String... args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        Map<String, String> apiProperties = new LinkedHashMap<>();
+        Map<String, String> serverProperties = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            String key = arg.substring(0, separator);
+            String value = arg.substring(separator + 1);
+            if (key.startsWith("api.")) {
+                apiProperties.put(key.substring("api.".length()), value);
+            } else if (key.startsWith("server.")) {
+                serverProperties.put(key.substring("server.".length()), value);
+            } else {
+                options.put(key, value);
+            }
+        }
+
+        LoadTestOptions parsed = new LoadTestOptions(
+                parseMix(options.getOrDefault("mix", DEFAULT_MIX)),
+                Integer.parseInt(options.getOrDefault("concurrency", "16")),
+                options.containsKey("rate") ? Double.parseDouble(options.get("rate")) : null,
+                DurationStyle.detectAndParse(options.getOrDefault("duration", "30s")),
+                DurationStyle.detectAndParse(options.getOrDefault("warmup", "5s")),
+                Integer.parseInt(options.getOrDefault("employees", "1000")),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                options.get("label"),
+                Path.of(options.getOrDefault("output", "build/loadtest/summary.json")),
+                apiProperties,
+                serverProperties);
+        options.keySet()
+                .removeAll(List.of(
+                        "mix", "concurrency", "rate", "duration", "warmup", "employees", "seed", "label", "output"));
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + options.keySet());
+        }
+        if (parsed.concurrency() <= 0 || (parsed.rate() != null && parsed.rate() <= 0)) {
+            throw new IllegalArgumentException("concurrency and rate must be positive.");
+        }
+        return parsed;
+    }
+
+    boolean openModel() {
+        return rate != null;
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in mix, got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights must not be negative: " + entry);
+            }
+            if (weight > 0) {
+                weights.put(Operation.of(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The mix must contain at least one operation.");
+        }
+        return weights;
+    }
+}
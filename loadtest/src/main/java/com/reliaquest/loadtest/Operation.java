@@ -0,0 +1,106 @@
+package com.reliaquest.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The {@code IEmployeeController} operations, named after its methods, and the request each sends.
+ */
+enum Operation {
+    GET_ALL_EMPLOYEES("getAllEmployees") {
+        @Override
+        Optional<HttpRequest> request(URI base, Workload workload) {
+            return Optional.of(get(base, ""));
+        }
+    },
+    GET_EMPLOYEES_BY_NAME_SEARCH("getEmployeesByNameSearch") {
+        @Override
+        Optional<HttpRequest> request(URI base, Workload workload) {
+            String fragment = workload.searchFragment();
+            return Optional.of(get(base, "/search/" + URLEncoder.encode(fragment, StandardCharsets.UTF_8)));
+        }
+    },
+    GET_EMPLOYEE_BY_ID("getEmployeeById") {
+        @Override
+        Optional<HttpRequest> request(URI base, Workload workload) {
+            return Optional.of(get(base, "/" + workload.existingId()));
+        }
+    },
+    GET_HIGHEST_SALARY_OF_EMPLOYEES("getHighestSalaryOfEmployees") {
+        @Override
+        Optional<HttpRequest> request(URI base, Workload workload) {
+            return Optional.of(get(base, "/highestSalary"));
+        }
+    },
+    GET_TOP_TEN_HIGHEST_EARNING_EMPLOYEE_NAMES("getTopTenHighestEarningEmployeeNames") {
+        @Override
+        Optional<HttpRequest> request(URI base, Workload workload) {
+            return Optional.of(get(base, "/topTenHighestEarningEmployeeNames"));
+        }
+    },
+    CREATE_EMPLOYEE("createEmployee") {
+        @Override
+        Optional<HttpRequest> request(URI base, Workload workload) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String body = String.format(
+                    Locale.ROOT,
+                    "{\"name\":\"Load Test %d\",\"salary\":%d,\"age\":%d,\"title\":\"Load Tester\"}",
+                    random.nextInt(1_000_000),
+                    random.nextInt(30_000, 300_000),
+                    random.nextInt(18, 70));
+            return Optional.of(HttpRequest.newBuilder(base)
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build());
+        }
+    },
+    /**
+     * Deletes an employee created earlier in the run, so that the seeded roster the reads pick from stays intact; sends
+     * nothing when there is none left.
+     */
+    DELETE_EMPLOYEE_BY_ID("deleteEmployeeById") {
+        @Override
+        Optional<HttpRequest> request(URI base, Workload workload) {
+            return workload.takeCreatedId().map(id -> HttpRequest.newBuilder(URI.create(base + "/" + id))
+                    .DELETE()
+                    .build());
+        }
+    };
+
+    private final String methodName;
+
+    Operation(String methodName) {
+        this.methodName = methodName;
+    }
+
+    String methodName() {
+        return methodName;
+    }
+
+    /**
+     * @return the request to send, or empty when there is nothing to act on.
+     */
+    abstract Optional<HttpRequest> request(URI base, Workload workload);
+
+    static Operation of(String methodName) {
+        for (Operation operation : values()) {
+            if (operation.methodName.toLowerCase(Locale.ROOT).equals(methodName.toLowerCase(Locale.ROOT))) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + methodName);
+    }
+
+    private static HttpRequest get(URI base, String path) {
+        return HttpRequest.newBuilder(URI.create(base + path))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.reliaquest.loadtest;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies and outcomes of the measured requests, per operation. Responses are counted by status code; requests that
+ * got no response are counted as {@value #IO_ERROR}, requests the open model never sent because too many were already
+ * outstanding as {@value #DROPPED}, and operations that had nothing to act on as {@value #SKIPPED}, which is not an
+ * error. Dropped requests count as errors but have no latency.
+ */
+final class Results {
+
+    static final String IO_ERROR = "io-error";
+    static final String DROPPED = "dropped";
+    static final String SKIPPED = "skipped";
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Map<Operation, ConcurrentHistogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<String, LongAdder>> outcomes = new EnumMap<>(Operation.class);
+
+    Results() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(HIGHEST_MICROS, 3));
+            outcomes.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    void record(Operation operation, String outcome, long latencyNanos) {
+        if (!SKIPPED.equals(outcome) && !DROPPED.equals(outcome)) {
+            latencies.get(operation).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_MICROS));
+        }
+        outcomes.get(operation).computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * @return the JSON-ready summary: overall figures first, then the same per operation that was sent.
+     */
+    Map<String, Object> summarize(double measuredSeconds) {
+        Histogram overall = new Histogram(HIGHEST_MICROS, 3);
+        Map<String, Long> overallOutcomes = new TreeMap<>();
+        Map<String, Object> perOperation = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation).copy();
+            Map<String, Long> counts = counts(operation);
+            if (counts.isEmpty()) {
+                continue;
+            }
+            overall.add(histogram);
+            counts.forEach((outcome, count) -> overallOutcomes.merge(outcome, count, Long::sum));
+            perOperation.put(operation.methodName(), section(histogram, counts, measuredSeconds));
+        }
+        Map<String, Object> summary = section(overall, overallOutcomes, measuredSeconds);
+        summary.put("operations", perOperation);
+        return summary;
+    }
+
+    private Map<String, Long> counts(Operation operation) {
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.get(operation).forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        return counts;
+    }
+
+    private static Map<String, Object> section(Histogram histogram, Map<String, Long> outcomes, double seconds) {
+        long requests = histogram.getTotalCount() + outcomes.getOrDefault(DROPPED, 0L);
+        long errors = outcomes.entrySet().stream()
+                .filter(entry -> isError(entry.getKey()))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+        Map<String, Object> section = new LinkedHashMap<>();
+        section.put("requests", requests);
+        section.put("throughput", round(requests / seconds));
+        section.put("errorRate", requests == 0 ? 0.0 : round((double) errors / requests));
+        section.put("outcomes", outcomes);
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("mean", millis(histogram.getMean()));
+        latency.put("p50", millis(histogram.getValueAtPercentile(50)));
+        latency.put("p95", millis(histogram.getValueAtPercentile(95)));
+        latency.put("p99", millis(histogram.getValueAtPercentile(99)));
+        latency.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+        latency.put("max", millis(histogram.getMaxValue()));
+        section.put("latencyMillis", latency);
+        return section;
+    }
+
+    private static boolean isError(String outcome) {
+        return IO_ERROR.equals(outcome) || (!SKIPPED.equals(outcome) && !outcome.startsWith("2"));
+    }
+
+    private static double millis(double micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+}
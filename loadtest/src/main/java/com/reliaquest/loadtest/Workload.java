@@ -0,0 +1,82 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * What the operations act on: the mix they are drawn from, the seeded roster reads pick ids and names from, and the
+ * employees created during the run, which are the ones deleted.
+ */
+final class Workload {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final List<String> ids;
+    private final List<String> names;
+    private final ConcurrentLinkedQueue<String> createdIds = new ConcurrentLinkedQueue<>();
+
+    Workload(Map<Operation, Integer> mix, List<String> ids, List<String> names) {
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("The seeded roster is empty.");
+        }
+        this.operations = mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.ids = List.copyOf(ids);
+        this.names = List.copyOf(names);
+    }
+
+    Operation nextOperation() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    String existingId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    /**
+     * @return the first three letters of a seeded employee's name, so searches match a realistic share of the roster.
+     */
+    String searchFragment() {
+        String name = names.get(ThreadLocalRandom.current().nextInt(names.size()));
+        return name.substring(0, Math.min(3, name.length()));
+    }
+
+    Optional<String> takeCreatedId() {
+        return Optional.ofNullable(createdIds.poll());
+    }
+
+    /**
+     * Keeps the id of a successfully created employee for a later delete.
+     */
+    void completed(Operation operation, int status, String body) {
+        if (operation == Operation.CREATE_EMPLOYEE && status / 100 == 2) {
+            try {
+                JsonNode id = MAPPER.readTree(body).get("id");
+                if (id != null && !id.isNull()) {
+                    createdIds.add(id.asText());
+                }
+            } catch (IOException e) {
+                // Counted by its status; the employee just will not be deleted.
+            }
+        }
+    }
+}
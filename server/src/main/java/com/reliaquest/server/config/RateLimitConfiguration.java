@@ -0,0 +1,69 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.ratelimit.CooldownRateLimiter;
+import com.reliaquest.server.ratelimit.RateLimiter;
+import com.reliaquest.server.ratelimit.SlidingWindowRateLimiter;
+import com.reliaquest.server.ratelimit.TokenBucketRateLimiter;
+import com.reliaquest.server.web.RateLimitInterceptor;
+import java.time.Duration;
+import java.util.function.LongFunction;
+import java.util.random.RandomGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/*
+ * Rate limits the mock API. mock.rate-limit.algorithm picks the limiter:
+ *
+ *   cooldown        mock.rate-limit.limit requests, then rejected until mock.rate-limit.period has passed since the
+ *                   last allowed one. The default, as the mock server always did.
+ *   token-bucket    bursts of up to limit requests, refilled evenly over period.
+ *   sliding-window  at most limit requests in any period.
+ *   none            no rate limit.
+ *
+ * Without mock.rate-limit.limit and mock.rate-limit.period, a limit of 5 to 9 requests and a period of 30 to 89 seconds
+ * are picked at random, and logged, on every boot; set them for reproducible runs. mock.rate-limit.key decides whose
+ * requests share a budget, see RateLimitInterceptor.
+ */
+@Slf4j
+@Configuration
+public class RateLimitConfiguration implements WebMvcConfigurer {
+
+    private final String algorithm;
+    private final int limit;
+    private final Duration period;
+    private final String key;
+
+    public RateLimitConfiguration(
+            @Value("${mock.rate-limit.algorithm:cooldown}") String algorithm,
+            @Value("${mock.rate-limit.limit:#{null}}") Integer limit,
+            @Value("${mock.rate-limit.period:#{null}}") Duration period,
+            @Value("${mock.rate-limit.key:global}") String key) {
+        this.algorithm = algorithm;
+        this.limit = limit != null ? limit : RandomGenerator.getDefault().nextInt(5, 10);
+        this.period = period != null
+                ? period
+                : Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90));
+        this.key = key;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        final LongFunction<RateLimiter> limiterFactory =
+                switch (algorithm) {
+                    case "cooldown" -> now -> new CooldownRateLimiter(limit, period);
+                    case "token-bucket" -> now -> new TokenBucketRateLimiter(limit, period, now);
+                    case "sliding-window" -> now -> new SlidingWindowRateLimiter(limit, period, now);
+                    case "none" -> null;
+                    default -> throw new IllegalArgumentException("Unknown mock.rate-limit.algorithm: " + algorithm);
+                };
+        if (limiterFactory == null) {
+            log.info("Rate limiting disabled.");
+            return;
+        }
+        registry.addInterceptor(new RateLimitInterceptor(limiterFactory, key));
+        log.info("Rate limiting with {}: {} requests per {}, keyed by {}.", algorithm, limit, period, key);
+    }
+}
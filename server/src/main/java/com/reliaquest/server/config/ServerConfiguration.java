@@ -1,59 +1,174 @@
 package com.reliaquest.server.config;
 
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
+import com.reliaquest.server.store.MockEmployeeGenerator;
+import com.reliaquest.server.store.MockEmployeeJournal;
+import com.reliaquest.server.store.MockEmployeeSnapshot;
+import com.reliaquest.server.store.MockEmployeeStore;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.unit.DataSize;
 
 @Slf4j
 @Configuration
-public class ServerConfiguration implements WebMvcConfigurer {
+public class ServerConfiguration {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    /*
+     * Larger rosters are not logged employee by employee; that alone would dominate startup.
+     */
+    private static final int LOGGED_EMPLOYEES_MAX = 1_000;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Smile and CBOR renditions of the JSON responses, for clients that ask for them; JSON stays the default. They are
+     * built off Boot's Jackson builder, so they serialize like the JSON converter. Ids are kept as text: Jackson would
+     * otherwise write UUIDs as binary in these formats, which clients reading them as strings get base64 encoded.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory())
+                .serializerByType(UUID.class, ToStringSerializer.instance)
+                .build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory())
+                .serializerByType(UUID.class, ToStringSerializer.instance)
+                .build());
     }
 
-    @Override
-    public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+    /*
+     * Only with mock.employees.journal.dir set; the roster is otherwise kept in memory only.
+     */
+    @Bean
+    @ConditionalOnProperty("mock.employees.journal.dir")
+    public MockEmployeeJournal mockEmployeeJournal(
+            @Value("${mock.employees.journal.dir}") String directory,
+            @Value("${mock.employees.journal.segment-size:16MB}") DataSize segmentSize,
+            @Value("${mock.employees.journal.fsync-interval:100ms}") Duration fsyncInterval,
+            @Value("${mock.employees.journal.compact-after:10000}") int compactAfter) {
+        return new MockEmployeeJournal(
+                Path.of(directory), Math.toIntExact(segmentSize.toBytes()), fsyncInterval, compactAfter);
+    }
+
+    /*
+     * This store is modifiable by design for CRUD operations.
+     *
+     * With a journal, the roster is recovered from it, and journaled from then on. Otherwise, or when the journal is
+     * still empty, it is generated, unless mock.employees.snapshot is set: the roster is then loaded from that snapshot
+     * when it exists and was generated for the same mock.employees.max, locale and seed, and otherwise generated and
+     * written to it. mock.employees.seed makes generation reproducible; without it every boot gets a new roster, unless a
+     * snapshot generated with any seed supplies one.
+     */
+    @Bean
+    public MockEmployeeStore mockEmployeeStore(
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:#{null}}") Long seed,
+            @Value("${mock.employees.snapshot:#{null}}") String snapshot,
+            @Value("${mock.employees.change-log.capacity:" + MockEmployeeStore.DEFAULT_CHANGE_LOG_CAPACITY + "}")
+                    int changeLogCapacity,
+            ObjectProvider<MockEmployeeJournal> journalProvider)
+            throws IOException {
+        final var started = System.nanoTime();
+        final var journal = journalProvider.getIfAvailable();
+        final var recovered = journal == null ? null : journal.recover().orElse(null);
+        final var snapshotPath = snapshot == null || snapshot.isBlank() ? null : Path.of(snapshot);
+        final var locale = Locale.getDefault();
+        final var fromSnapshot = recovered == null && snapshotPath != null && Files.exists(snapshotPath)
+                ? readSnapshot(snapshotPath, maxEmployees, seed, locale)
+                : null;
+        final List<MockEmployee> employees;
+        if (recovered != null) {
+            employees = recovered.employees();
+            log.info(
+                    "Recovered {} employees at version {} from the journal, replaying {} changes.",
+                    employees.size(),
+                    recovered.version(),
+                    recovered.replayed());
+        } else if (fromSnapshot != null) {
+            employees = fromSnapshot;
+        } else {
+            final var effectiveSeed =
+                    seed != null ? seed : RandomGenerator.getDefault().nextLong();
+            employees = new MockEmployeeGenerator(locale, effectiveSeed).generate(maxEmployees);
+            log.info("Generated {} employees with seed {}.", employees.size(), effectiveSeed);
+            if (snapshotPath != null) {
+                MockEmployeeSnapshot.write(
+                        snapshotPath,
+                        employees,
+                        0,
+                        new MockEmployeeSnapshot.Origin(effectiveSeed, maxEmployees, locale.toLanguageTag()));
+                log.info("Wrote roster snapshot {}.", snapshotPath);
+            }
+        }
+
+        if (log.isDebugEnabled() && employees.size() <= LOGGED_EMPLOYEES_MAX) {
+            employees.forEach(mockEmployee -> log.debug("Created employee: {}", mockEmployee));
+        }
+        final var store =
+                new MockEmployeeStore(employees, changeLogCapacity, recovered == null ? 0 : recovered.version());
+        if (journal != null) {
+            journal.attach(store, recovered);
+        }
+        log.info(
+                "Roster of {} employees ready in {} ms.",
+                store.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return store;
+    }
+
+    /*
+     * Returns null when the snapshot was generated for another mock.employees.max, locale or seed, so that it is
+     * regenerated. Snapshots that predate recording that cannot be checked and are used as they are.
+     */
+    private static List<MockEmployee> readSnapshot(Path path, int maxEmployees, Long seed, Locale locale)
+            throws IOException {
+        final var contents = MockEmployeeSnapshot.load(path);
+        final var origin = contents.origin();
+        if (origin == null) {
+            log.warn(
+                    "Snapshot {} does not record how it was generated; using its {} employees even if mock.employees.max"
+                            + " or mock.employees.seed changed since.",
+                    path,
+                    contents.employees().size());
+        } else if (!origin.matches(maxEmployees, seed, locale.toLanguageTag())) {
+            log.warn(
+                    "Snapshot {} was generated as {}, not for {} employees with seed {} in {}; regenerating it.",
+                    path,
+                    origin,
+                    maxEmployees,
+                    seed,
+                    locale.toLanguageTag());
+            return null;
+        }
+        log.info("Loaded {} employees from snapshot {}.", contents.employees().size(), path);
+        return contents.employees();
     }
 }
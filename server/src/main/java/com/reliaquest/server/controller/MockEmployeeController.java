@@ -1,34 +1,162 @@
 package com.reliaquest.server.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.store.MockEmployeeChangeLog;
+import com.reliaquest.server.web.MockEmployeeEventBroadcaster;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int MAX_BATCH_SIZE = 1000;
+    public static final int MAX_CHANGES = 1000;
+    public static final int MAX_TOP_EARNERS = 1000;
+
     private final MockEmployeeService mockEmployeeService;
+    private final MockEmployeeEventBroadcaster mockEmployeeEventBroadcaster;
+    private final ObjectMapper objectMapper;
 
+    /*
+     * Without a limit the whole roster is returned, as before, tagged with the roster version as a weak ETag; a request
+     * whose If-None-Match still matches gets an empty 304. The roster is rendered as JSON, Smile or CBOR, as negotiated
+     * from the Accept header; the version, and so the ETag, is the same in every format. With a limit, a single page is
+     * returned and the cursor of the following page, if any, is sent back in the X-Next-Cursor header.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployees(
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "cursor", required = false) Long cursor,
+            WebRequest request) {
+        if (limit == null) {
+            final var etag = rosterETag();
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(Response.handledWith(mockEmployeeService.getMockEmployees()));
+        }
+        if (limit <= 0) {
+            return ResponseEntity.badRequest().body(Response.error("limit must be positive."));
+        }
+
+        final var page = mockEmployeeService.getMockEmployeePage(cursor, limit);
+        final var response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor().toString());
+        }
+        return response.body(Response.handledWith(page.employees()));
+    }
+
+    /*
+     * Streams the roster as newline-delimited JSON, one employee per line, without materializing it.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployees(WebRequest request) {
+        final var etag = rosterETag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .eTag(etag)
+                .body(outputStream -> {
+                    try (final var writer =
+                            objectMapper.writer().withRootValueSeparator("\n").writeValues(outputStream)) {
+                        final var employees =
+                                mockEmployeeService.streamMockEmployees().iterator();
+                        while (employees.hasNext()) {
+                            writer.write(employees.next());
+                        }
+                    }
+                });
+    }
+
+    /*
+     * Changes made after roster version `since`, oldest first, for clients that keep their own copy of the roster. The
+     * version of the roster after applying them is the `since` of the next call. Answers 410 once the changes after
+     * `since` are no longer retained, after which the client has to re-read the whole roster.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Response<MockEmployeeChangeLog.Slice>> getChanges(
+            @RequestParam(name = "since") long since,
+            @RequestParam(name = "limit", defaultValue = "" + MAX_CHANGES) int limit) {
+        if (limit <= 0) {
+            return ResponseEntity.badRequest().body(Response.error("limit must be positive."));
+        }
+        return mockEmployeeService
+                .getChangesSince(since, Math.min(limit, MAX_CHANGES))
+                .map(changes -> ResponseEntity.ok(Response.handledWith(changes)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE)
+                        .body(Response.error("Changes since version %d are not available.".formatted(since))));
+    }
+
+    /*
+     * Pushes roster changes as Server-Sent Events; see MockEmployeeEventBroadcaster. The whole subscription counts as a
+     * single request against the rate limit.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return mockEmployeeEventBroadcaster.subscribe(lastEventId);
+    }
+
+    /*
+     * Query push-down: the queries below are answered over the roster here, so that clients get only the result rather
+     * than the whole roster to compute it from.
+     */
+    @GetMapping("/query/search")
+    public Response<List<MockEmployee>> searchEmployees(@RequestParam(name = "name") String name) {
+        return Response.handledWith(mockEmployeeService.searchByName(name));
+    }
+
+    /*
+     * Answers without data when the roster is empty.
+     */
+    @GetMapping("/query/highest-salary")
+    public Response<Integer> getHighestSalary() {
+        final var highestSalary = mockEmployeeService.getHighestSalary();
+        return highestSalary.isPresent() ? Response.handledWith(highestSalary.getAsInt()) : Response.handled();
+    }
+
+    @GetMapping("/query/top-earners")
+    public ResponseEntity<Response<List<MockEmployee>>> getTopEarners(
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        if (limit <= 0 || limit > MAX_TOP_EARNERS) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("limit must be between 1 and %d.".formatted(MAX_TOP_EARNERS)));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.getTopEarners(limit)));
     }
 
     @GetMapping("/{id}")
@@ -44,8 +172,30 @@ public class MockEmployeeController {
         return Response.handledWith(mockEmployeeService.create(input));
     }
 
+    /*
+     * Creates every employee of the batch with a single request, answering with the created employees in input order.
+     * The whole batch is validated before anything is created.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Response<List<MockEmployee>>> createEmployees(
+            @RequestBody List<@Valid CreateMockEmployeeInput> inputs) {
+        if (inputs.isEmpty() || inputs.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("Batch must contain between 1 and %d employees.".formatted(MAX_BATCH_SIZE)));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.createAll(inputs)));
+    }
+
     @DeleteMapping()
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    /*
+     * Weak, because the response may be gzipped on the way out, and Tomcat does not compress strongly tagged responses.
+     * The version is read before the roster, so the tag is never newer than the content it is sent with.
+     */
+    private String rosterETag() {
+        return "W/\"" + mockEmployeeService.getRosterVersion() + "\"";
+    }
 }
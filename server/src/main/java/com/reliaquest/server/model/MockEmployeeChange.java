@@ -0,0 +1,12 @@
+package com.reliaquest.server.model;
+
+/**
+ * One mutation of the roster, numbered by the roster version it produced.
+ */
+public record MockEmployeeChange(long version, Type type, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,51 @@
+package com.reliaquest.server.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The mock server's original limit: {@code limit} requests, however far apart, after which every request is rejected
+ * until {@code cooldown} has passed since the last allowed one; the next request then starts over.
+ */
+public final class CooldownRateLimiter implements RateLimiter {
+
+    private final int limit;
+    private final long cooldown;
+    private final AtomicReference<State> state = new AtomicReference<>(new State(0, 0));
+
+    public CooldownRateLimiter(int limit, Duration cooldown) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Cooldown limit must be positive.");
+        }
+        this.limit = limit;
+        this.cooldown = cooldown.toNanos();
+    }
+
+    @Override
+    public long tryAcquire(long now) {
+        while (true) {
+            final var current = state.get();
+            final State next;
+            if (current.count() < limit) {
+                next = new State(current.count() + 1, now);
+            } else {
+                final var remaining = current.lastAllowed() + cooldown - now;
+                if (remaining > 0) {
+                    return remaining;
+                }
+                next = new State(1, now);
+            }
+            if (state.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public boolean isIdle(long now) {
+        final var current = state.get();
+        return current.count() == 0 || (current.count() >= limit && now - current.lastAllowed() >= cooldown);
+    }
+
+    private record State(int count, long lastAllowed) {}
+}
@@ -0,0 +1,23 @@
+package com.reliaquest.server.ratelimit;
+
+/**
+ * Request budget of one client.
+ *
+ * <p>Implementations keep their state in a single atomic reference and update it with compare-and-set, so concurrent
+ * requests never block each other and each one is accounted exactly once. Time is passed in, as {@link System#nanoTime()}
+ * readings, so that limits can be reasoned about deterministically.
+ */
+public interface RateLimiter {
+
+    /**
+     * Takes one request from the budget.
+     *
+     * @return zero when the request is allowed, otherwise the nanoseconds after which a retry would be.
+     */
+    long tryAcquire(long now);
+
+    /**
+     * @return whether the budget is back where a new limiter starts, so that this one can be dropped.
+     */
+    boolean isIdle(long now);
+}
@@ -0,0 +1,79 @@
+package com.reliaquest.server.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * At most {@code limit} requests in any {@code window}, approximated by a sliding window counter: the count of the
+ * current fixed window plus the count of the previous one, weighted by how much of it the sliding window still
+ * overlaps. This keeps two counters rather than a log of every request, and avoids the double burst a fixed window
+ * allows across its boundary.
+ */
+public final class SlidingWindowRateLimiter implements RateLimiter {
+
+    private final int limit;
+    private final long length;
+    private final AtomicReference<Window> window;
+
+    public SlidingWindowRateLimiter(int limit, Duration window, long now) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Sliding window limit must be positive.");
+        }
+        this.limit = limit;
+        this.length = Math.max(1, window.toNanos());
+        this.window = new AtomicReference<>(new Window(now, 0, 0));
+    }
+
+    @Override
+    public long tryAcquire(long now) {
+        while (true) {
+            final var current = window.get();
+            final var rolled = current.roll(now, length);
+            final var elapsed = now - rolled.start();
+            // Requests counted so far: all of the current window, and the overlapped part of the previous one.
+            final var counted = rolled.current() + rolled.previous() * (double) (length - elapsed) / length;
+            if (counted + 1 > limit) {
+                return retryAfter(rolled, elapsed);
+            }
+            if (window.compareAndSet(current, new Window(rolled.start(), rolled.current() + 1, rolled.previous()))) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public boolean isIdle(long now) {
+        final var rolled = window.get().roll(now, length);
+        return rolled.current() == 0 && rolled.previous() == 0;
+    }
+
+    /**
+     * Nanoseconds until the weighted count leaves room for one more request, assuming no other request is allowed
+     * meanwhile.
+     */
+    private long retryAfter(Window rolled, long elapsed) {
+        final var room = limit - 1;
+        if (rolled.current() <= room) {
+            // The previous window has to slide out far enough: previous * (length - t) / length <= room - current.
+            final var until = length * (1 - (double) (room - rolled.current()) / rolled.previous());
+            return Math.max(1, (long) Math.ceil(until) - elapsed);
+        }
+        // The current window has to become the previous one, and then slide out far enough.
+        final var until = length + length * (1 - (double) room / rolled.current());
+        return Math.max(1, (long) Math.ceil(until) - elapsed);
+    }
+
+    /**
+     * @param start start of the current fixed window.
+     */
+    private record Window(long start, int current, int previous) {
+
+        Window roll(long now, long length) {
+            final var windows = (now - start) / length;
+            if (windows <= 0) {
+                return this;
+            }
+            return new Window(start + windows * length, 0, windows == 1 ? current : 0);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.reliaquest.server.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket of {@code capacity} requests, refilled evenly over {@code refillPeriod}.
+ *
+ * <p>Implemented as the generic cell rate algorithm: rather than a token count and a refill time, the only state is the
+ * theoretical arrival time of the next request at the sustained rate. A request is allowed when that time is at most
+ * {@code capacity - 1} intervals ahead of now, which is a bucket with at least one token left, and pushes it one
+ * interval further.
+ */
+public final class TokenBucketRateLimiter implements RateLimiter {
+
+    private final long interval;
+    private final long tolerance;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucketRateLimiter(int capacity, Duration refillPeriod, long now) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Token bucket capacity must be positive.");
+        }
+        interval = Math.max(1, refillPeriod.toNanos() / capacity);
+        tolerance = interval * (capacity - 1);
+        theoreticalArrival = new AtomicLong(now);
+    }
+
+    @Override
+    public long tryAcquire(long now) {
+        while (true) {
+            final var arrival = theoreticalArrival.get();
+            // Nano times are only compared through their difference, which is overflow safe.
+            final var ahead = Math.max(0, arrival - now);
+            if (ahead > tolerance) {
+                return ahead - tolerance;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, now + ahead + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public boolean isIdle(long now) {
+        return theoreticalArrival.get() - now <= 0;
+    }
+}
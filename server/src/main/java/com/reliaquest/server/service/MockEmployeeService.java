@@ -4,11 +4,17 @@ import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.MockEmployeeChangeLog;
+import com.reliaquest.server.store.MockEmployeeStore;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.PriorityQueue;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.stream.Stream;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,14 +28,75 @@ public class MockEmployeeService {
 
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final MockEmployeeStore mockEmployeeStore;
+
+    public List<MockEmployee> getMockEmployees() {
+        return mockEmployeeStore.findAll();
+    }
+
+    public long getRosterVersion() {
+        return mockEmployeeStore.version();
+    }
+
+    public Optional<MockEmployeeChangeLog.Slice> getChangesSince(long version, int limit) {
+        return mockEmployeeStore.changesSince(version, limit);
+    }
+
+    public MockEmployeeStore.Page getMockEmployeePage(Long cursor, int limit) {
+        return mockEmployeeStore.findPage(cursor, limit);
+    }
+
+    public Stream<MockEmployee> streamMockEmployees() {
+        return mockEmployeeStore.stream();
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeStore.findById(uuid);
+    }
+
+    /**
+     * @return the employees whose name contains {@code nameFragment}, ignoring case, in roster order.
+     */
+    public List<MockEmployee> searchByName(@NonNull String nameFragment) {
+        final var fragment = nameFragment.toLowerCase(Locale.ROOT);
+        return mockEmployeeStore.stream()
+                .filter(mockEmployee -> mockEmployee.getName() != null
+                        && mockEmployee.getName().toLowerCase(Locale.ROOT).contains(fragment))
+                .toList();
+    }
+
+    public OptionalInt getHighestSalary() {
+        return mockEmployeeStore.stream()
+                .map(MockEmployee::getSalary)
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .max();
+    }
+
+    /**
+     * @return the {@code limit} best paid employees, highest salary first; equal salaries keep roster order. Selected
+     * in one pass over the roster, keeping only the current top {@code limit}.
+     */
+    public List<MockEmployee> getTopEarners(int limit) {
+        // Head is the employee to drop first: the lowest salary, and the latest in roster order among equal ones.
+        final var top = new PriorityQueue<Ranked>(
+                Comparator.comparingInt(Ranked::salary).thenComparing(Ranked::rank, Comparator.reverseOrder()));
+        final var mockEmployees = mockEmployeeStore.stream().iterator();
+        var rank = 0L;
+        while (mockEmployees.hasNext()) {
+            final var mockEmployee = mockEmployees.next();
+            if (mockEmployee.getSalary() == null) {
+                continue;
+            }
+            top.add(new Ranked(mockEmployee, mockEmployee.getSalary(), rank++));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        return top.stream()
+                .sorted(Comparator.comparingInt(Ranked::salary).reversed().thenComparingLong(Ranked::rank))
+                .map(Ranked::mockEmployee)
+                .toList();
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
@@ -37,22 +104,26 @@ public class MockEmployeeService {
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
+        mockEmployeeStore.add(mockEmployee);
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
+    public List<MockEmployee> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        final var mockEmployees = inputs.stream().map(this::create).toList();
+        log.debug("Added {} employees in one batch.", mockEmployees.size());
+        return mockEmployees;
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
+        final var mockEmployee = mockEmployeeStore.removeFirstByName(input.getName());
         if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
             log.debug("Removed employee: {}", mockEmployee.get());
             return true;
         }
 
         return false;
     }
+
+    private record Ranked(MockEmployee mockEmployee, int salary, long rank) {}
 }
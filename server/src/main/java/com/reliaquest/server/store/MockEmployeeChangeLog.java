@@ -0,0 +1,217 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded log of roster mutations, numbered by roster version.
+ *
+ * <p>Every mutation bumps the version by one and is recorded under the new version, so the retained changes are always
+ * the contiguous range {@code (floor, version]}. They live in a ring buffer of {@code capacity} slots: once it is full,
+ * each new change evicts the oldest one and raises the floor. A reader whose cursor is below the floor has missed
+ * changes and must re-read the whole roster.
+ *
+ * <p>A mutation is recorded in two steps. {@link #append} numbers the change and hands it to the write-ahead
+ * listeners; it is the only step that holds the log's lock. A write-ahead listener that fails vetoes the change: it is
+ * neither logged nor applied, and the failure is the caller's. The caller then applies the change to the roster and
+ * {@link #commit}s it, which hands it to the commit listeners, such as to wait for it to reach the disk, on the
+ * caller's thread and outside the lock. Committed changes are then published to the other listeners strictly in
+ * version order, and {@link #version()} only moves past a change once it is published, so that a roster read after it
+ * holds every change up to it. A listener that fails is logged and skipped, so that it cannot keep the change from the
+ * listeners after it.
+ *
+ * <p>The log is guarded by a {@link ReentrantLock} rather than a monitor: write-ahead listeners may write to disk, and
+ * a virtual thread blocked inside {@code synchronized} would hold on to its carrier thread.
+ */
+@Slf4j
+public class MockEmployeeChangeLog {
+
+    private final MockEmployeeChange[] ring;
+    private final List<Consumer<MockEmployeeChange>> writeAheadListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<MockEmployeeChange>> commitListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<MockEmployeeChange>> listeners = new CopyOnWriteArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    // Appended changes not yet published, in version order; only ever published from the head.
+    private final ConcurrentLinkedQueue<Pending> unpublished = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private volatile long version;
+    // Guarded by lock: the version of the last change appended, and the oldest version the ring can bring up to date.
+    private long appended;
+    private long floor;
+
+    /**
+     * @param initialVersion version of the roster before any change is logged.
+     */
+    public MockEmployeeChangeLog(int capacity, long initialVersion) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Change log capacity must not be negative.");
+        }
+        ring = new MockEmployeeChange[capacity];
+        version = initialVersion;
+        appended = initialVersion;
+        floor = initialVersion;
+    }
+
+    /**
+     * @return the version of the last change published; every change up to it is applied to the roster.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Registers {@code listener} to be called with every change published from now on, in version order. Changes are
+     * published one at a time by whichever writer gets to it, so it must be quick: hand the change off.
+     */
+    public void addListener(@NonNull Consumer<MockEmployeeChange> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Registers {@code listener} to be called with every change before it is applied, in version order, such as to log
+     * it. It is called while the log is locked, so it must not wait on the disk; if it throws, the change is abandoned.
+     */
+    public void addWriteAheadListener(@NonNull Consumer<MockEmployeeChange> listener) {
+        writeAheadListeners.add(listener);
+    }
+
+    /**
+     * Registers {@code listener} to be called with every change once it is applied, before it is acknowledged, such as to
+     * force it to disk. It is called on the writer's thread, outside the lock, so calls for different changes may run
+     * at once and in any order. If it throws, the change stays applied and published, and the failure is the caller's.
+     */
+    public void addCommitListener(@NonNull Consumer<MockEmployeeChange> listener) {
+        commitListeners.add(listener);
+    }
+
+    /**
+     * Records a mutation under the next version and hands it to the write-ahead listeners. The caller must apply it to
+     * the roster and then {@link #commit} it, whatever happens, or no later change is ever published.
+     *
+     * @throws RuntimeException if a write-ahead listener vetoed the change, which is then forgotten.
+     */
+    public Pending append(@NonNull MockEmployeeChange.Type type, @NonNull MockEmployee mockEmployee) {
+        lock.lock();
+        try {
+            final var next = appended + 1;
+            final var change = new MockEmployeeChange(next, type, mockEmployee);
+            writeAheadListeners.forEach(listener -> listener.accept(change));
+            if (ring.length == 0) {
+                floor = next;
+            } else {
+                if (next - floor > ring.length) {
+                    floor++;
+                }
+                ring[slot(next)] = change;
+            }
+            appended = next;
+            final var pending = new Pending(change);
+            unpublished.add(pending);
+            return pending;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Completes a change {@link #append}ed and applied: the commit listeners get it, and it is published once every
+     * change before it is.
+     *
+     * @throws RuntimeException if a commit listener failed; the change is published all the same.
+     */
+    public void commit(@NonNull Pending pending) {
+        try {
+            commitListeners.forEach(listener -> listener.accept(pending.change));
+        } finally {
+            pending.committed = true;
+            publish();
+        }
+    }
+
+    /*
+     * Publishes committed changes from the head of the queue. A writer that finds another one publishing leaves its
+     * change to it: the publisher checks the head again after letting go of the lock, so no committed change is left
+     * behind.
+     */
+    private void publish() {
+        while (publishLock.tryLock()) {
+            try {
+                for (var head = unpublished.peek(); head != null && head.committed; head = unpublished.peek()) {
+                    unpublished.poll();
+                    version = head.change.version();
+                    for (final var listener : listeners) {
+                        try {
+                            listener.accept(head.change);
+                        } catch (RuntimeException e) {
+                            log.error("Roster change listener failed on change {}.", version, e);
+                        }
+                    }
+                }
+            } finally {
+                publishLock.unlock();
+            }
+            final var head = unpublished.peek();
+            if (head == null || !head.committed) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return up to {@code limit} changes made after version {@code since}, oldest first, or nothing when {@code since}
+     * is not a version this log can bring up to date: older than the retained changes, or newer than the roster.
+     */
+    public Optional<Slice> since(long since, int limit) {
+        lock.lock();
+        try {
+            final var published = version;
+            if (since < floor || since > published) {
+                return Optional.empty();
+            }
+            final var until = Math.min(published, since + limit);
+            final var changes = new ArrayList<MockEmployeeChange>((int) (until - since));
+            for (var next = since + 1; next <= until; next++) {
+                changes.add(ring[slot(next)]);
+            }
+            return Optional.of(new Slice(changes, until, until < published));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int slot(long version) {
+        return (int) Math.floorMod(version, (long) ring.length);
+    }
+
+    /**
+     * A change appended but not yet committed.
+     */
+    public static final class Pending {
+
+        private final MockEmployeeChange change;
+        private volatile boolean committed;
+
+        private Pending(MockEmployeeChange change) {
+            this.change = change;
+        }
+
+        public MockEmployeeChange change() {
+            return change;
+        }
+    }
+
+    /**
+     * @param version roster version once {@code changes} are applied; the cursor for the next read.
+     * @param hasMore whether later changes are already available.
+     */
+    public record Slice(List<MockEmployeeChange> changes, long version, boolean hasMore) {}
+}
@@ -0,0 +1,80 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import net.datafaker.Faker;
+
+/**
+ * Generates the mock roster in parallel.
+ *
+ * <p>The roster is cut into fixed-size chunks and every chunk re-seeds its worker thread's own {@link Faker} from
+ * {@code (seed, chunk)}. The same seed therefore always yields the same roster, in the same order, regardless of how
+ * many threads took part.
+ */
+public class MockEmployeeGenerator {
+
+    private static final int CHUNK_SIZE = 1024;
+
+    private final long seed;
+    private final ThreadLocal<SeededFaker> fakers;
+
+    public MockEmployeeGenerator(Locale locale, long seed) {
+        this.seed = seed;
+        this.fakers = ThreadLocal.withInitial(() -> {
+            final var random = new Random();
+            return new SeededFaker(random, new Faker(locale, random));
+        });
+    }
+
+    public List<MockEmployee> generate(int count) {
+        final var employees = new MockEmployee[count];
+        final var chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            final var seeded = fakers.get();
+            seeded.random().setSeed(chunkSeed(chunk));
+            final var end = Math.min(count, (chunk + 1) * CHUNK_SIZE);
+            for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                employees[i] = next(seeded);
+            }
+        });
+        return Arrays.asList(employees);
+    }
+
+    private static MockEmployee next(SeededFaker seeded) {
+        final var faker = seeded.faker();
+        return MockEmployee.builder()
+                .id(randomUuid(seeded.random()))
+                .name(faker.name().fullName())
+                .salary(faker.number().numberBetween(30000, 500000))
+                .age(faker.number().numberBetween(16, 70))
+                .title(faker.job().title())
+                .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                        faker.twitter().userName().toLowerCase()))
+                .build();
+    }
+
+    /*
+     * Version 4 UUID drawn from the seeded generator rather than SecureRandom, so ids are reproducible too.
+     */
+    private static UUID randomUuid(Random random) {
+        final var mostSignificant = (random.nextLong() & ~0xF000L) | 0x4000L;
+        final var leastSignificant = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    private long chunkSeed(int chunk) {
+        // SplitMix64 finalizer, so neighbouring chunks get unrelated seeds.
+        var z = seed + (chunk + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private record SeededFaker(Random random, Faker faker) {}
+}
@@ -0,0 +1,475 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Durable home of the roster: an append-only, memory-mapped write-ahead log of roster changes, periodically compacted
+ * into a {@link MockEmployeeSnapshot}.
+ *
+ * <p>The log is a series of fixed-size segment files, each named after the roster version it starts after. A record
+ * holds its length, the change (just the employee id for a delete) and a CRC32 of the change; a torn record, left by a
+ * crash mid-write, ends the replay of its segment. A change is logged before it is applied to the roster, and records
+ * are written straight into the mapped segment, so they survive a crash of the JVM as soon as the change is
+ * acknowledged. {@code fsyncInterval} bounds how long they may sit in the page cache, where a crash of the machine
+ * would lose them; a zero interval forces every record to disk before its change is acknowledged. Records are logged
+ * with the change log locked, but forced after it is let go: one force covers every record logged by then, so
+ * concurrent writers share it rather than queueing up behind each other's.
+ *
+ * <p>Once {@code compactAfter} records have been logged since the last snapshot, a new segment is started, the roster
+ * is snapshotted at the version that segment starts after, and older segments are deleted. The snapshot is read off the
+ * live roster, so it may already include some changes logged after its version; replay skips changes that are already
+ * applied. Recovery hence reads one snapshot and about {@code compactAfter} records at most.
+ *
+ * <p>A change the journal fails to log is rejected, and so is every change after it: the roster is never ahead of its
+ * log. A change that was logged but could not be forced to disk stays applied, as its record may well have reached the
+ * disk, but its writer gets the failure, and every later change is rejected too.
+ *
+ * <p>Writes and forces hold {@link ReentrantLock}s rather than monitors, so a virtual thread waiting on the disk does
+ * not pin its carrier thread.
+ */
+@Slf4j
+public class MockEmployeeJournal implements Closeable {
+
+    private static final String SNAPSHOT_FILE = "roster.snapshot";
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final int SEGMENT_MAGIC = 0x52514a4c; // "RQJL"
+    private static final int SEGMENT_VERSION = 1;
+    private static final int SEGMENT_HEADER_SIZE = 16;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Duration fsyncInterval;
+    private final boolean forceEachRecord;
+    private final int compactAfter;
+    private final ScheduledExecutorService background = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final var thread = new Thread(runnable, "employee-journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final ReentrantLock lock = new ReentrantLock();
+    // Taken before lock, never after it: forces run under this one alone, while records keep being logged.
+    private final ReentrantLock forceLock = new ReentrantLock();
+    private final CRC32 crc = new CRC32();
+
+    private MockEmployeeStore store;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long lastVersion;
+    private int sinceSnapshot;
+    private volatile IOException failure;
+    // Guarded by forceLock: how far records are known to be on disk.
+    private MappedByteBuffer forcedSegment;
+    private int forcedPosition;
+    private volatile long forcedVersion;
+
+    /**
+     * @param segmentSize size of each log segment file; a record must fit in one.
+     * @param fsyncInterval longest a record may wait to be forced to disk, or zero to force each one as it is logged.
+     * @param compactAfter records logged between snapshots.
+     */
+    public MockEmployeeJournal(
+            @NonNull Path directory, int segmentSize, @NonNull Duration fsyncInterval, int compactAfter) {
+        if (segmentSize <= SEGMENT_HEADER_SIZE) {
+            throw new IllegalArgumentException("Journal segments must be larger than their header.");
+        }
+        if (compactAfter <= 0) {
+            throw new IllegalArgumentException("Journal compaction threshold must be positive.");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsyncInterval = fsyncInterval;
+        this.forceEachRecord = fsyncInterval.toMillis() <= 0;
+        this.compactAfter = compactAfter;
+    }
+
+    /**
+     * Reads the roster back from the latest snapshot and the changes logged after it.
+     *
+     * @return nothing when this journal holds no snapshot yet.
+     */
+    public Optional<Recovered> recover() throws IOException {
+        final var snapshotPath = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(snapshotPath)) {
+            return Optional.empty();
+        }
+        final var snapshot = MockEmployeeSnapshot.load(snapshotPath);
+        final var employees = new LinkedHashMap<UUID, MockEmployee>(
+                Math.max(16, snapshot.employees().size() * 4 / 3));
+        snapshot.employees().forEach(mockEmployee -> employees.put(mockEmployee.getId(), mockEmployee));
+
+        var version = snapshot.rosterVersion();
+        var replayed = 0;
+        for (final var path : segments()) {
+            try (final var segmentChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+                final var buffer = segmentChannel.map(FileChannel.MapMode.READ_ONLY, 0, segmentChannel.size());
+                if (buffer.remaining() < SEGMENT_HEADER_SIZE
+                        || buffer.getInt() != SEGMENT_MAGIC
+                        || buffer.getInt() != SEGMENT_VERSION) {
+                    throw new IOException("Not a mock employee journal segment: " + path);
+                }
+                buffer.getLong();
+                while (buffer.remaining() >= Integer.BYTES) {
+                    final var length = buffer.getInt();
+                    if (length == 0) {
+                        break;
+                    }
+                    if (length < 0 || length > buffer.remaining() - Integer.BYTES) {
+                        log.warn(
+                                "Torn record at offset {} of journal segment {}, ignoring the rest of it.",
+                                buffer.position() - Integer.BYTES,
+                                path);
+                        break;
+                    }
+                    final var record = new byte[length];
+                    buffer.get(record);
+                    crc.reset();
+                    crc.update(record);
+                    if ((int) crc.getValue() != buffer.getInt()) {
+                        log.warn(
+                                "Corrupt record at offset {} of journal segment {}, ignoring the rest of it.",
+                                buffer.position() - length - 2 * Integer.BYTES,
+                                path);
+                        break;
+                    }
+                    final var change = decode(record);
+                    if (change.version() <= version) {
+                        continue;
+                    }
+                    // Changes are looked up by id, so replaying one the snapshot already holds is a no-op.
+                    if (change.type() == MockEmployeeChange.Type.CREATED) {
+                        employees.putIfAbsent(change.employee().getId(), change.employee());
+                    } else {
+                        employees.remove(change.employee().getId());
+                    }
+                    version = change.version();
+                    replayed++;
+                }
+            }
+        }
+        return Optional.of(new Recovered(List.copyOf(employees.values()), version, replayed));
+    }
+
+    /**
+     * Starts logging every change of {@code store}. A store that was not recovered from this journal is snapshotted
+     * first, replacing whatever the journal held.
+     */
+    public void attach(@NonNull MockEmployeeStore store, Recovered recovered) throws IOException {
+        lock.lock();
+        try {
+            if (this.store != null) {
+                throw new IllegalStateException("Journal is already attached to a store.");
+            }
+            this.store = store;
+            final var version = store.version();
+            if (recovered == null) {
+                MockEmployeeSnapshot.write(directory.resolve(SNAPSHOT_FILE), store.findAll(), version);
+                deleteSegmentsBefore(Long.MAX_VALUE);
+            } else {
+                sinceSnapshot = recovered.replayed();
+            }
+            openSegment(version);
+            forcedVersion = version;
+            store.addWriteAheadListener(this::append);
+            if (forceEachRecord) {
+                store.addCommitListener(change -> forceUpTo(change.version()));
+            }
+            if (!forceEachRecord) {
+                background.scheduleWithFixedDelay(
+                        this::forceLogged, fsyncInterval.toMillis(), fsyncInterval.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            if (sinceSnapshot >= compactAfter) {
+                compactLater();
+            }
+            log.info("Journaling roster changes after version {} to {}.", version, directory);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Logs {@code change} before it is applied, without forcing it to disk. Called in version order, with the change log
+     * locked.
+     *
+     * @throws IllegalArgumentException if the change is too large for a segment; the journal stays usable.
+     * @throws UncheckedIOException if the change could not be logged; the journal rejects every change from then on.
+     */
+    void append(MockEmployeeChange change) {
+        lock.lock();
+        try {
+            if (failure != null) {
+                throw new UncheckedIOException(
+                        "Roster journal failed earlier, rejecting change " + change.version() + ".", failure);
+            }
+            final var record = encode(change);
+            if (record.length + 2 * Integer.BYTES > segmentSize - SEGMENT_HEADER_SIZE) {
+                throw new IllegalArgumentException(
+                        "Journal record of " + record.length + " bytes exceeds the segment size.");
+            }
+            if (segment.remaining() < record.length + 2 * Integer.BYTES) {
+                openSegment(lastVersion);
+            }
+            crc.reset();
+            crc.update(record);
+            segment.putInt(record.length).put(record).putInt((int) crc.getValue());
+            lastVersion = change.version();
+            if (++sinceSnapshot >= compactAfter) {
+                compactLater();
+            }
+        } catch (IOException e) {
+            failure = e;
+            throw new UncheckedIOException("Failed to journal roster change " + change.version() + ".", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        background.shutdown();
+        try {
+            // Lets a running compaction finish its snapshot.
+            background.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        forceLock.lock();
+        lock.lock();
+        try {
+            if (channel != null) {
+                segment.force();
+                channel.close();
+                channel = null;
+            }
+        } finally {
+            lock.unlock();
+            forceLock.unlock();
+        }
+    }
+
+    /**
+     * Forces the records logged so far to disk, unless the one of {@code version} already is. The journal lock is only
+     * held to see how far the current segment goes, so changes keep being logged while the disk catches up.
+     *
+     * @throws UncheckedIOException if the records could not be forced; the journal rejects every change from then on.
+     */
+    private void forceUpTo(long version) {
+        if (forcedVersion >= version) {
+            return;
+        }
+        forceLock.lock();
+        try {
+            // A force that started after this record was logged has covered it meanwhile.
+            if (forcedVersion >= version) {
+                return;
+            }
+            final MappedByteBuffer toForce;
+            final int logged;
+            final long loggedVersion;
+            lock.lock();
+            try {
+                if (failure != null) {
+                    throw new UncheckedIOException("Roster journal failed earlier.", failure);
+                }
+                toForce = segment;
+                logged = segment.position();
+                loggedVersion = lastVersion;
+            } finally {
+                lock.unlock();
+            }
+            // Older segments were forced whole when the next one was opened.
+            final var from = toForce == forcedSegment ? forcedPosition : SEGMENT_HEADER_SIZE;
+            if (logged > from) {
+                toForce.force(from, logged - from);
+            }
+            forcedSegment = toForce;
+            forcedPosition = logged;
+            forcedVersion = loggedVersion;
+        } catch (UncheckedIOException e) {
+            if (failure == null) {
+                failure = e.getCause();
+            }
+            throw e;
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    /**
+     * Forces the current segment on the timer; a failure to do so fails the journal.
+     */
+    private void forceLogged() {
+        if (failure != null) {
+            return;
+        }
+        try {
+            forceUpTo(Long.MAX_VALUE);
+        } catch (UncheckedIOException e) {
+            log.error("Failed to force the roster journal to disk, rejecting roster changes from now on.", e);
+        }
+    }
+
+    private void compactLater() {
+        if (compacting.compareAndSet(false, true)) {
+            background.execute(this::compact);
+        }
+    }
+
+    private void compact() {
+        try {
+            final long version;
+            lock.lock();
+            try {
+                if (failure != null) {
+                    throw new UncheckedIOException("Roster journal failed earlier.", failure);
+                }
+                openSegment(lastVersion);
+                sinceSnapshot = 0;
+                version = lastVersion;
+            } catch (IOException e) {
+                failure = e;
+                throw e;
+            } finally {
+                lock.unlock();
+            }
+            // Changes logged up to the version may still be being applied; once it is published, they all are.
+            while (store.version() < version) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+            final var started = System.nanoTime();
+            final var employees = store.findAll();
+            MockEmployeeSnapshot.write(directory.resolve(SNAPSHOT_FILE), employees, version);
+            deleteSegmentsBefore(version);
+            log.info(
+                    "Compacted the roster journal into a snapshot of {} employees at version {} in {} ms.",
+                    employees.size(),
+                    version,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to compact the roster journal.", e);
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    /**
+     * Forces and closes the current segment, if any, and starts a new one holding the changes after {@code version}.
+     */
+    private void openSegment(long version) throws IOException {
+        if (channel != null) {
+            segment.force();
+            channel.close();
+        }
+        Files.createDirectories(directory);
+        channel = FileChannel.open(
+                directory.resolve(SEGMENT_PREFIX + "%020d".formatted(version) + SEGMENT_SUFFIX),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segment.putInt(SEGMENT_MAGIC).putInt(SEGMENT_VERSION).putLong(version);
+        segment.force(0, SEGMENT_HEADER_SIZE);
+        lastVersion = version;
+    }
+
+    private void deleteSegmentsBefore(long version) throws IOException {
+        for (final var path : segments()) {
+            if (baseVersion(path) < version) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * @return the segment files, oldest first.
+     */
+    private List<Path> segments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        final var name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long baseVersion(Path segment) {
+        final var name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static byte[] encode(MockEmployeeChange change) throws IOException {
+        final var bytes = new ByteArrayOutputStream(128);
+        final var out = new DataOutputStream(bytes);
+        final var mockEmployee = change.employee();
+        out.writeLong(change.version());
+        out.writeByte(change.type().ordinal());
+        out.writeLong(mockEmployee.getId().getMostSignificantBits());
+        out.writeLong(mockEmployee.getId().getLeastSignificantBits());
+        if (change.type() == MockEmployeeChange.Type.CREATED) {
+            MockEmployeeSnapshot.writeString(out, mockEmployee.getName());
+            MockEmployeeSnapshot.writeInt(out, mockEmployee.getSalary());
+            MockEmployeeSnapshot.writeInt(out, mockEmployee.getAge());
+            MockEmployeeSnapshot.writeString(out, mockEmployee.getTitle());
+            MockEmployeeSnapshot.writeString(out, mockEmployee.getEmail());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static MockEmployeeChange decode(byte[] record) throws IOException {
+        final var in = new DataInputStream(new ByteArrayInputStream(record));
+        final var version = in.readLong();
+        final var type = MockEmployeeChange.Type.values()[in.readByte()];
+        final var id = new UUID(in.readLong(), in.readLong());
+        if (type == MockEmployeeChange.Type.DELETED) {
+            return new MockEmployeeChange(
+                    version, type, MockEmployee.builder().id(id).build());
+        }
+        final var name = MockEmployeeSnapshot.readString(in);
+        final var salary = MockEmployeeSnapshot.readInt(in);
+        final var age = MockEmployeeSnapshot.readInt(in);
+        final var title = MockEmployeeSnapshot.readString(in);
+        final var email = MockEmployeeSnapshot.readString(in);
+        return new MockEmployeeChange(version, type, new MockEmployee(id, name, salary, age, title, email));
+    }
+
+    /**
+     * @param version roster version the employees were recovered at.
+     * @param replayed logged changes applied on top of the snapshot.
+     */
+    public record Recovered(List<MockEmployee> employees, long version, int replayed) {}
+}
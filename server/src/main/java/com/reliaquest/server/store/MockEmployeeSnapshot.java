@@ -0,0 +1,174 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * Compact binary dump of the roster, so that large generated rosters can be reloaded instead of regenerated.
+ *
+ * <p>Layout: magic, format version, roster version, the {@link Origin} of a generated roster if any, title dictionary,
+ * employee count, then one record per employee holding the id as two longs, name, salary, age, a title dictionary
+ * index and email. Version 1 snapshots, which predate the roster version, are still read, as roster version 0, and
+ * version 1 and 2 snapshots, which predate the origin, as having none. Snapshots are written to a temporary file and
+ * moved into place, so a crash never leaves a truncated snapshot behind.
+ */
+public final class MockEmployeeSnapshot {
+
+    private static final int MAGIC = 0x52514553; // "RQES"
+    private static final int VERSION = 3;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    private MockEmployeeSnapshot() {}
+
+    public static void write(@NonNull Path path, @NonNull Collection<MockEmployee> employees) throws IOException {
+        write(path, employees, 0);
+    }
+
+    /**
+     * @param rosterVersion version of the roster {@code employees} were read at.
+     */
+    public static void write(@NonNull Path path, @NonNull Collection<MockEmployee> employees, long rosterVersion)
+            throws IOException {
+        write(path, employees, rosterVersion, null);
+    }
+
+    /**
+     * @param origin how {@code employees} were generated, or {@code null} if they were not.
+     */
+    public static void write(
+            @NonNull Path path, @NonNull Collection<MockEmployee> employees, long rosterVersion, Origin origin)
+            throws IOException {
+        final var titles = new HashMap<String, Integer>();
+        final var dictionary = new ArrayList<String>();
+        for (final var employee : employees) {
+            if (employee.getTitle() != null && !titles.containsKey(employee.getTitle())) {
+                titles.put(employee.getTitle(), dictionary.size());
+                dictionary.add(employee.getTitle());
+            }
+        }
+
+        final var parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        final var temporary = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try (final var out =
+                new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(rosterVersion);
+            out.writeBoolean(origin != null);
+            if (origin != null) {
+                out.writeLong(origin.seed());
+                out.writeInt(origin.count());
+                out.writeUTF(origin.locale());
+            }
+            out.writeInt(dictionary.size());
+            for (final var title : dictionary) {
+                out.writeUTF(title);
+            }
+            out.writeInt(employees.size());
+            for (final var employee : employees) {
+                out.writeLong(employee.getId().getMostSignificantBits());
+                out.writeLong(employee.getId().getLeastSignificantBits());
+                writeString(out, employee.getName());
+                writeInt(out, employee.getSalary());
+                writeInt(out, employee.getAge());
+                out.writeInt(employee.getTitle() == null ? -1 : titles.get(employee.getTitle()));
+                writeString(out, employee.getEmail());
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static List<MockEmployee> read(@NonNull Path path) throws IOException {
+        return load(path).employees();
+    }
+
+    public static Contents load(@NonNull Path path) throws IOException {
+        try (final var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a mock employee snapshot: " + path);
+            }
+            final var version = in.readInt();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Unsupported mock employee snapshot version " + version + ": " + path);
+            }
+            final var rosterVersion = version == 1 ? 0 : in.readLong();
+            final var origin =
+                    version >= 3 && in.readBoolean() ? new Origin(in.readLong(), in.readInt(), in.readUTF()) : null;
+
+            final var dictionary = new String[in.readInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = in.readUTF();
+            }
+            final var count = in.readInt();
+            final var employees = new ArrayList<MockEmployee>(count);
+            for (int i = 0; i < count; i++) {
+                final var id = new UUID(in.readLong(), in.readLong());
+                final var name = readString(in);
+                final var salary = readInt(in);
+                final var age = readInt(in);
+                final var title = in.readInt();
+                final var email = readString(in);
+                employees.add(new MockEmployee(id, name, salary, age, title < 0 ? null : dictionary[title], email));
+            }
+            return new Contents(employees, rosterVersion, origin);
+        }
+    }
+
+    static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    static void writeInt(DataOutput out, Integer value) throws IOException {
+        out.writeInt(value == null ? NULL_INT : value);
+    }
+
+    static Integer readInt(DataInput in) throws IOException {
+        final var value = in.readInt();
+        return value == NULL_INT ? null : value;
+    }
+
+    /**
+     * @param origin how the roster was generated, or {@code null} if it was not or the snapshot does not say.
+     */
+    public record Contents(List<MockEmployee> employees, long rosterVersion, Origin origin) {}
+
+    /**
+     * Inputs a generated roster was produced from: {@link MockEmployeeGenerator} yields the same roster for the same
+     * seed, count and locale.
+     *
+     * @param locale language tag of the generator's locale.
+     */
+    public record Origin(long seed, int count, @NonNull String locale) {
+
+        /**
+         * @param seed requested seed, or {@code null} if any seed will do.
+         */
+        public boolean matches(int count, Long seed, @NonNull String locale) {
+            return this.count == count && this.locale.equals(locale) && (seed == null || this.seed == seed);
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import lombok.NonNull;
+
+/**
+ * Thread-safe, indexed home of the mock employee roster.
+ *
+ * <p>Employees are keyed by id for O(1) lookups, kept in insertion order for listing, and indexed by lower-cased name
+ * for name-based deletes. All structures are concurrent maps, so reads never block and writes only contend on the
+ * affected hash bin, plus the {@link MockEmployeeChangeLog} that numbers each change and has it journaled before it is
+ * applied.
+ */
+public class MockEmployeeStore {
+
+    public static final int DEFAULT_CHANGE_LOG_CAPACITY = 10_000;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final MockEmployeeChangeLog changeLog;
+    private final ConcurrentHashMap<UUID, Entry> byId;
+    private final ConcurrentSkipListMap<Long, MockEmployee> bySequence;
+    private final ConcurrentHashMap<String, ConcurrentSkipListSet<Long>> byName;
+
+    public MockEmployeeStore() {
+        changeLog = new MockEmployeeChangeLog(DEFAULT_CHANGE_LOG_CAPACITY, clockVersion());
+        byId = new ConcurrentHashMap<>();
+        bySequence = new ConcurrentSkipListMap<>();
+        byName = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Bulk-loads {@code employees}, in order, building the indexes in parallel.
+     */
+    public MockEmployeeStore(@NonNull List<MockEmployee> employees) {
+        this(employees, DEFAULT_CHANGE_LOG_CAPACITY);
+    }
+
+    /**
+     * Like {@link #MockEmployeeStore(List)}, retaining the last {@code changeLogCapacity} mutations for
+     * {@link #changesSince(long, int)}.
+     */
+    public MockEmployeeStore(@NonNull List<MockEmployee> employees, int changeLogCapacity) {
+        this(employees, changeLogCapacity, 0);
+    }
+
+    /**
+     * Like {@link #MockEmployeeStore(List, int)}, for a roster that was at version {@code minimumVersion}: the version
+     * continues from there, unless the clock is ahead.
+     */
+    public MockEmployeeStore(@NonNull List<MockEmployee> employees, int changeLogCapacity, long minimumVersion) {
+        changeLog = new MockEmployeeChangeLog(changeLogCapacity, Math.max(minimumVersion, clockVersion()));
+        final var sorted = new TreeMap<Long, MockEmployee>();
+        for (final var mockEmployee : employees) {
+            sorted.put(sequence.incrementAndGet(), mockEmployee);
+        }
+        // Building from a sorted map is linear, unlike one put at a time.
+        bySequence = new ConcurrentSkipListMap<>(sorted);
+        byId = new ConcurrentHashMap<>(Math.max(16, employees.size() * 4 / 3));
+        byName = new ConcurrentHashMap<>();
+        sorted.entrySet().parallelStream().forEach(entry -> {
+            claimId(entry.getKey(), entry.getValue());
+            indexName(entry.getKey(), entry.getValue());
+        });
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID uuid) {
+        return Optional.ofNullable(byId.get(uuid))
+                .filter(entry -> entry.state() != State.ADDING)
+                .map(Entry::employee);
+    }
+
+    /**
+     * @return every employee, in insertion order.
+     */
+    public List<MockEmployee> findAll() {
+        return new ArrayList<>(bySequence.values());
+    }
+
+    /**
+     * Weakly consistent, insertion-ordered view of the roster that does not copy it.
+     */
+    public Stream<MockEmployee> stream() {
+        return bySequence.values().stream();
+    }
+
+    /**
+     * @param cursor sequence of the last employee of the previous page, or {@code null} for the first page.
+     * @param limit maximum number of employees on the page.
+     */
+    public Page findPage(Long cursor, int limit) {
+        final var remaining = cursor == null ? bySequence : bySequence.tailMap(cursor, false);
+        final var employees = new ArrayList<MockEmployee>(Math.min(limit, 1024));
+        Long last = null;
+        for (final var entry : remaining.entrySet()) {
+            if (employees.size() == limit) {
+                return new Page(employees, last);
+            }
+            employees.add(entry.getValue());
+            last = entry.getKey();
+        }
+        return new Page(employees, null);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Version of the roster, bumped after every mutation. Read it before reading the roster: the roster read may then
+     * already include later changes, but is never older than the version.
+     */
+    public long version() {
+        return changeLog.version();
+    }
+
+    /**
+     * @see MockEmployeeChangeLog#addListener(Consumer)
+     */
+    public void addChangeListener(@NonNull Consumer<MockEmployeeChange> listener) {
+        changeLog.addListener(listener);
+    }
+
+    /**
+     * @see MockEmployeeChangeLog#addWriteAheadListener(Consumer)
+     */
+    public void addWriteAheadListener(@NonNull Consumer<MockEmployeeChange> listener) {
+        changeLog.addWriteAheadListener(listener);
+    }
+
+    /**
+     * @see MockEmployeeChangeLog#addCommitListener(Consumer)
+     */
+    public void addCommitListener(@NonNull Consumer<MockEmployeeChange> listener) {
+        changeLog.addCommitListener(listener);
+    }
+
+    /**
+     * @see MockEmployeeChangeLog#since(long, int)
+     */
+    public Optional<MockEmployeeChangeLog.Slice> changesSince(long version, int limit) {
+        return changeLog.since(version, limit);
+    }
+
+    /*
+     * Mutations first claim the employee in byId with a compare-and-set: an id being added, or an employee being
+     * removed, is marked so that no other mutation claims it too. The claimed change is then appended to the change
+     * log, which has it journaled; if that is vetoed, the claim is undone. Only then is it applied to the other
+     * structures, and committed.
+     */
+    public void add(@NonNull MockEmployee mockEmployee) {
+        final var id = Objects.requireNonNull(mockEmployee.getId(), "Employee id must not be null.");
+        final var adding = new Entry(sequence.incrementAndGet(), mockEmployee, State.ADDING);
+        if (byId.putIfAbsent(id, adding) != null) {
+            throw new IllegalStateException("Duplicate employee id: " + id);
+        }
+        final MockEmployeeChangeLog.Pending pending;
+        try {
+            pending = changeLog.append(MockEmployeeChange.Type.CREATED, mockEmployee);
+        } catch (RuntimeException e) {
+            byId.remove(id, adding);
+            throw e;
+        }
+        try {
+            bySequence.put(adding.sequence(), mockEmployee);
+            byId.replace(id, adding, adding.with(State.LIVE));
+            // Indexed by name last, so that a name match always resolves to an employee.
+            indexName(adding.sequence(), mockEmployee);
+        } finally {
+            changeLog.commit(pending);
+        }
+    }
+
+    public Optional<MockEmployee> removeById(@NonNull UUID uuid) {
+        while (true) {
+            final var entry = byId.get(uuid);
+            if (entry == null || entry.state() != State.LIVE) {
+                return Optional.empty();
+            }
+            if (byId.replace(uuid, entry, entry.with(State.REMOVING))) {
+                return Optional.of(remove(entry.with(State.REMOVING)));
+            }
+        }
+    }
+
+    /**
+     * Removes the earliest inserted employee whose name matches {@code name}, ignoring case.
+     *
+     * <p>Claiming the id in {@code byId} is what removes an employee, here as in {@link #removeById(UUID)}: a match that
+     * a concurrent delete claimed first is skipped in favour of the next one.
+     */
+    public Optional<MockEmployee> removeFirstByName(@NonNull String name) {
+        final var sequences = byName.get(nameKey(name));
+        if (sequences == null) {
+            return Optional.empty();
+        }
+        for (final var sequenceNumber : sequences) {
+            final var mockEmployee = bySequence.get(sequenceNumber);
+            if (mockEmployee == null) {
+                continue;
+            }
+            final var entry = byId.get(mockEmployee.getId());
+            if (entry == null || entry.sequence() != sequenceNumber || entry.state() != State.LIVE) {
+                continue;
+            }
+            if (byId.replace(mockEmployee.getId(), entry, entry.with(State.REMOVING))) {
+                return Optional.of(remove(entry.with(State.REMOVING)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Called with the employee claimed for removal.
+    private MockEmployee remove(Entry removing) {
+        final var mockEmployee = removing.employee();
+        final MockEmployeeChangeLog.Pending pending;
+        try {
+            pending = changeLog.append(MockEmployeeChange.Type.DELETED, mockEmployee);
+        } catch (RuntimeException e) {
+            byId.replace(mockEmployee.getId(), removing, removing.with(State.LIVE));
+            throw e;
+        }
+        try {
+            byId.remove(mockEmployee.getId(), removing);
+            bySequence.remove(removing.sequence());
+            final var key = nameKey(mockEmployee.getName());
+            if (key != null) {
+                byName.computeIfPresent(key, (ignored, sequences) -> {
+                    sequences.remove(removing.sequence());
+                    return sequences.isEmpty() ? null : sequences;
+                });
+            }
+        } finally {
+            changeLog.commit(pending);
+        }
+        return mockEmployee;
+    }
+
+    private void claimId(long sequenceNumber, MockEmployee mockEmployee) {
+        final var id = Objects.requireNonNull(mockEmployee.getId(), "Employee id must not be null.");
+        if (byId.putIfAbsent(id, new Entry(sequenceNumber, mockEmployee, State.LIVE)) != null) {
+            throw new IllegalStateException("Duplicate employee id: " + id);
+        }
+    }
+
+    private void indexName(long sequenceNumber, MockEmployee mockEmployee) {
+        final var key = nameKey(mockEmployee.getName());
+        if (key != null) {
+            byName.compute(key, (ignored, sequences) -> {
+                final var indexed = sequences == null ? new ConcurrentSkipListSet<Long>() : sequences;
+                indexed.add(sequenceNumber);
+                return indexed;
+            });
+        }
+    }
+
+    // Seeded from the clock so that versions keep increasing across restarts, which regenerate the roster, or may lose
+    // its latest changes.
+    private static long clockVersion() {
+        return System.currentTimeMillis() * 1000;
+    }
+
+    private static String nameKey(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param nextCursor cursor of the following page, {@code null} when this is the last one.
+     */
+    public record Page(List<MockEmployee> employees, Long nextCursor) {}
+
+    private enum State {
+        ADDING,
+        LIVE,
+        REMOVING
+    }
+
+    /*
+     * Compared by value in the compare-and-set calls on byId, which is as good as by identity: sequence numbers are
+     * never reused.
+     */
+    private record Entry(long sequence, MockEmployee employee, State state) {
+
+        Entry with(State state) {
+            return new Entry(sequence, employee, state);
+        }
+    }
+}
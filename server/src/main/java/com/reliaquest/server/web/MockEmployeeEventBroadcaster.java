@@ -0,0 +1,157 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.store.MockEmployeeStore;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes roster changes to Server-Sent Events subscribers as they are logged.
+ *
+ * <p>Every change is sent as an event named after its type, with the roster version as event id and the change as
+ * data. A subscription opens with a {@code subscribed} event carrying the version it starts from, so that even a
+ * subscriber that gets no change has a version to resume from. A subscriber that reconnects with a
+ * {@code Last-Event-ID} first gets the changes it missed replayed from the change log, or a {@code reset} event
+ * carrying the current version when the log no longer covers them. A {@code heartbeat} event every
+ * {@code mock.employees.events.heartbeat} tells subscribers that nothing has been missed up to that point, and surfaces
+ * dead connections.
+ *
+ * <p>All sends happen on a single dispatcher thread, so each subscriber sees changes in version order and never twice.
+ */
+@Slf4j
+@Component
+public class MockEmployeeEventBroadcaster {
+
+    public static final int MAX_REPLAYED_CHANGES = 1000;
+
+    private final MockEmployeeStore mockEmployeeStore;
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final var thread = new Thread(runnable, "employee-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Only touched on the dispatcher thread.
+    private final List<Subscriber> subscribers = new ArrayList<>();
+
+    public MockEmployeeEventBroadcaster(
+            MockEmployeeStore mockEmployeeStore, @Value("${mock.employees.events.heartbeat:10s}") Duration heartbeat) {
+        this.mockEmployeeStore = mockEmployeeStore;
+        mockEmployeeStore.addChangeListener(change -> dispatcher.execute(() -> broadcast(change)));
+        dispatcher.scheduleAtFixedRate(
+                this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param lastEventId id of the last event the subscriber received, or {@code null} to only get changes from now on.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        // No timeout: the connection lives until either side closes it, and heartbeats detect dead peers.
+        final var emitter = new SseEmitter(0L);
+        dispatcher.execute(() -> register(emitter, lastEventId));
+        return emitter;
+    }
+
+    private void register(SseEmitter emitter, Long lastEventId) {
+        final var subscriber = new Subscriber(emitter);
+        subscriber.lastSent = mockEmployeeStore.version();
+        if (lastEventId != null && !replay(subscriber, lastEventId)) {
+            return;
+        }
+        final var subscribed = SseEmitter.event()
+                .id(String.valueOf(subscriber.lastSent))
+                .name("subscribed")
+                .data(subscriber.lastSent);
+        if (!subscriber.send(subscribed)) {
+            return;
+        }
+        subscribers.add(subscriber);
+        final Runnable unsubscribe = () -> dispatcher.execute(() -> subscribers.remove(subscriber));
+        emitter.onCompletion(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        log.debug(
+                "Events subscriber registered at version {}, {} subscribed.", subscriber.lastSent, subscribers.size());
+    }
+
+    private boolean replay(Subscriber subscriber, long lastEventId) {
+        var cursor = lastEventId;
+        while (true) {
+            final var changes = mockEmployeeStore.changesSince(cursor, MAX_REPLAYED_CHANGES);
+            if (changes.isEmpty()) {
+                final var current = mockEmployeeStore.version();
+                subscriber.lastSent = current;
+                return subscriber.send(SseEmitter.event()
+                        .id(String.valueOf(current))
+                        .name("reset")
+                        .data(current));
+            }
+            for (final var change : changes.get().changes()) {
+                if (!subscriber.send(change)) {
+                    return false;
+                }
+            }
+            cursor = changes.get().version();
+            subscriber.lastSent = Math.max(subscriber.lastSent, cursor);
+            if (!changes.get().hasMore()) {
+                return true;
+            }
+        }
+    }
+
+    private void broadcast(MockEmployeeChange change) {
+        // Changes already replayed to a subscriber that registered after they were logged are skipped.
+        subscribers.removeIf(subscriber -> change.version() > subscriber.lastSent && !subscriber.send(change));
+    }
+
+    private void heartbeat() {
+        subscribers.removeIf(subscriber ->
+                !subscriber.send(SseEmitter.event().name("heartbeat").data("")));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private long lastSent;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        boolean send(MockEmployeeChange change) {
+            final var sent = send(SseEmitter.event()
+                    .id(String.valueOf(change.version()))
+                    .name(change.type().name())
+                    .data(change));
+            if (sent) {
+                lastSent = change.version();
+            }
+            return sent;
+        }
+
+        boolean send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping events subscriber: {}", e.toString());
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.ratelimit.RateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import lombok.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Rejects requests over their client's budget with 429 and a {@code Retry-After} header, in whole seconds.
+ *
+ * <p>Every client key gets its own {@link RateLimiter}. Once more than {@link #SWEEP_THRESHOLD} clients are tracked,
+ * limiters that are back at their initial state are dropped, so clients that went away do not pile up.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final int SWEEP_THRESHOLD = 10_000;
+
+    private static final String GLOBAL_KEY = "";
+    private static final String HEADER_KEY_PREFIX = "header:";
+
+    private final LongFunction<RateLimiter> limiterFactory;
+    private final Function<HttpServletRequest, String> keyResolver;
+    private final ConcurrentHashMap<String, RateLimiter> limiters = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    /**
+     * @param limiterFactory creates the limiter of a new client, given the current nano time.
+     * @param key how clients are told apart: {@code global} shares one budget between all of them, {@code ip} keys by
+     * remote address, and {@code header:<name>} by the value of that request header, or the remote address without it.
+     */
+    public RateLimitInterceptor(@NonNull LongFunction<RateLimiter> limiterFactory, @NonNull String key) {
+        this.limiterFactory = limiterFactory;
+        this.keyResolver = keyResolver(key);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        final var now = System.nanoTime();
+        final var key = keyResolver.apply(request);
+        var limiter = limiters.get(key);
+        if (limiter == null) {
+            limiter = limiters.computeIfAbsent(key, ignored -> limiterFactory.apply(now));
+            sweep(now);
+        }
+
+        final var retryAfter = limiter.tryAcquire(now);
+        if (retryAfter == 0) {
+            return true;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(
+                HttpHeaders.RETRY_AFTER,
+                String.valueOf(
+                        Math.max(1, (retryAfter + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1))));
+        return false;
+    }
+
+    private void sweep(long now) {
+        if (limiters.size() > SWEEP_THRESHOLD && sweeping.compareAndSet(false, true)) {
+            try {
+                // A request racing the removal may still charge the dropped limiter; its successor starts afresh, which
+                // an idle limiter would have done anyway.
+                limiters.values().removeIf(limiter -> limiter.isIdle(now));
+            } finally {
+                sweeping.set(false);
+            }
+        }
+    }
+
+    private static Function<HttpServletRequest, String> keyResolver(String key) {
+        if (key.equals("global")) {
+            return request -> GLOBAL_KEY;
+        }
+        if (key.equals("ip")) {
+            return HttpServletRequest::getRemoteAddr;
+        }
+        if (key.startsWith(HEADER_KEY_PREFIX) && key.length() > HEADER_KEY_PREFIX.length()) {
+            final var header = key.substring(HEADER_KEY_PREFIX.length());
+            return request -> {
+                final var value = request.getHeader(header);
+                return value == null ? request.getRemoteAddr() : HEADER_KEY_PREFIX + value;
+            };
+        }
+        throw new IllegalArgumentException("Unknown rate limit key: " + key);
+    }
+}
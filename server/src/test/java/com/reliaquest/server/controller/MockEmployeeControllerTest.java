@@ -0,0 +1,120 @@
+package com.reliaquest.server.controller;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.store.MockEmployeeStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+@SpringBootTest(properties = {"mock.rate-limit.algorithm=none", "mock.employees.max=5", "mock.employees.seed=1"})
+@AutoConfigureMockMvc
+class MockEmployeeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockEmployeeStore mockEmployeeStore;
+
+    @Test
+    void testBatchCreatesEmployeesInInputOrder() throws Exception {
+        final var size = mockEmployeeStore.size();
+
+        postBatch(List.of(input("First"), input("Second")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].employee_name").value("First"))
+                .andExpect(jsonPath("$.data[1].employee_name").value("Second"));
+
+        assertEquals(size + 2, mockEmployeeStore.size());
+    }
+
+    @Test
+    void testEmptyBatchIsRejected() throws Exception {
+        postBatch(List.of()).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testBatchOverMaxBatchSizeIsRejected() throws Exception {
+        final var size = mockEmployeeStore.size();
+        final var inputs = new ArrayList<CreateMockEmployeeInput>();
+        for (int i = 0; i <= MockEmployeeController.MAX_BATCH_SIZE; i++) {
+            inputs.add(input("Employee " + i));
+        }
+
+        postBatch(inputs).andExpect(status().isBadRequest());
+        postBatch(inputs.subList(0, MockEmployeeController.MAX_BATCH_SIZE)).andExpect(status().isOk());
+
+        assertEquals(size + MockEmployeeController.MAX_BATCH_SIZE, mockEmployeeStore.size());
+    }
+
+    @Test
+    void testBatchWithInvalidEmployeeCreatesNothing() throws Exception {
+        final var size = mockEmployeeStore.size();
+        final var invalid = input("");
+        invalid.setAge(12);
+
+        postBatch(List.of(input("Valid"), invalid)).andExpect(status().isBadRequest());
+
+        assertEquals(size, mockEmployeeStore.size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"application/x-jackson-smile", "application/cbor"})
+    void testBinaryRosterKeepsIdsAsText(String mediaType) throws Exception {
+        final var result = mockMvc.perform(get("/api/v1/employee").accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(mediaType))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn();
+
+        final var factory = mediaType.endsWith("cbor") ? new CBORFactory() : new SmileFactory();
+        final var id = new ObjectMapper(factory)
+                .readTree(result.getResponse().getContentAsByteArray())
+                .path("data")
+                .path(0)
+                .path("id");
+        assertTrue(id.isTextual(), "Id is " + id.getNodeType() + ".");
+        assertTrue(mockEmployeeStore.findById(UUID.fromString(id.asText())).isPresent());
+    }
+
+    private ResultActions postBatch(List<CreateMockEmployeeInput> inputs) throws Exception {
+        return mockMvc.perform(post("/api/v1/employee/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(inputs)));
+    }
+
+    private static CreateMockEmployeeInput input(String name) {
+        final var input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(50000);
+        input.setAge(30);
+        input.setTitle("Engineer");
+        return input;
+    }
+}
@@ -0,0 +1,127 @@
+package com.reliaquest.server.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class RateLimiterTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    void testTokenBucketAllowsCapacityThenRefillsEvenly() {
+        final var limiter = new TokenBucketRateLimiter(3, Duration.ofSeconds(3), 0);
+
+        assertEquals(0, limiter.tryAcquire(0));
+        assertEquals(0, limiter.tryAcquire(0));
+        assertEquals(0, limiter.tryAcquire(0));
+        assertEquals(SECOND, limiter.tryAcquire(0));
+        assertEquals(SECOND / 2, limiter.tryAcquire(SECOND / 2));
+
+        // One token is back after each interval.
+        assertEquals(0, limiter.tryAcquire(SECOND));
+        assertEquals(SECOND, limiter.tryAcquire(SECOND));
+        assertFalse(limiter.isIdle(SECOND));
+
+        assertTrue(limiter.isIdle(4 * SECOND));
+        assertEquals(0, limiter.tryAcquire(10 * SECOND));
+        assertEquals(0, limiter.tryAcquire(10 * SECOND));
+        assertEquals(0, limiter.tryAcquire(10 * SECOND));
+        assertEquals(SECOND, limiter.tryAcquire(10 * SECOND));
+    }
+
+    @Test
+    void testSlidingWindowWeighsThePreviousWindow() {
+        final var limiter = new SlidingWindowRateLimiter(2, Duration.ofSeconds(10), 0);
+
+        assertEquals(0, limiter.tryAcquire(0));
+        assertEquals(0, limiter.tryAcquire(0));
+        // Both requests have to slide out to half of their window: at 15 s they weigh one request.
+        assertEquals(15 * SECOND, limiter.tryAcquire(0));
+        assertEquals(3 * SECOND, limiter.tryAcquire(12 * SECOND));
+        assertTrue(limiter.tryAcquire(15 * SECOND - 1) > 0);
+        assertEquals(0, limiter.tryAcquire(15 * SECOND));
+        assertTrue(limiter.tryAcquire(15 * SECOND) > 0);
+        assertFalse(limiter.isIdle(15 * SECOND));
+
+        assertTrue(limiter.isIdle(30 * SECOND));
+        assertEquals(0, limiter.tryAcquire(30 * SECOND));
+    }
+
+    @Test
+    void testCooldownRejectsUntilCooldownSinceLastAllowed() {
+        final var limiter = new CooldownRateLimiter(2, Duration.ofSeconds(5));
+        assertTrue(limiter.isIdle(0));
+
+        assertEquals(0, limiter.tryAcquire(0));
+        assertEquals(0, limiter.tryAcquire(SECOND));
+        assertEquals(4 * SECOND, limiter.tryAcquire(2 * SECOND));
+        assertEquals(SECOND, limiter.tryAcquire(5 * SECOND));
+        assertFalse(limiter.isIdle(5 * SECOND));
+        assertTrue(limiter.isIdle(6 * SECOND));
+
+        // The next request starts over.
+        assertEquals(0, limiter.tryAcquire(6 * SECOND));
+        assertFalse(limiter.isIdle(6 * SECOND));
+        assertEquals(0, limiter.tryAcquire(7 * SECOND));
+        assertEquals(5 * SECOND, limiter.tryAcquire(7 * SECOND));
+    }
+
+    @ParameterizedTest
+    @MethodSource("limiters")
+    void testConcurrentRequestsNeverOverAdmit(LongFunction<RateLimiter> factory) throws Exception {
+        for (int round = 0; round < 20; round++) {
+            final var limiter = factory.apply(0);
+            final var allowed = new AtomicInteger();
+            final var start = new CountDownLatch(1);
+            final var threads = new ArrayList<CompletableFuture<Void>>();
+            for (int thread = 0; thread < 8; thread++) {
+                threads.add(CompletableFuture.runAsync(() -> {
+                    await(start);
+                    for (int i = 0; i < 100; i++) {
+                        if (limiter.tryAcquire(0) == 0) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            start.countDown();
+            CompletableFuture.allOf(threads.toArray(CompletableFuture[]::new)).get();
+
+            assertEquals(50, allowed.get());
+        }
+    }
+
+    static Stream<Arguments> limiters() {
+        final var hour = Duration.ofHours(1);
+        return Stream.of(
+                Arguments.of(Named.<LongFunction<RateLimiter>>of(
+                        "token-bucket", now -> new TokenBucketRateLimiter(50, hour, now))),
+                Arguments.of(Named.<LongFunction<RateLimiter>>of(
+                        "sliding-window", now -> new SlidingWindowRateLimiter(50, hour, now))),
+                Arguments.of(
+                        Named.<LongFunction<RateLimiter>>of("cooldown", now -> new CooldownRateLimiter(50, hour))));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
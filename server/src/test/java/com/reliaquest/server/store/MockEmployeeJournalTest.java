@@ -0,0 +1,207 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class MockEmployeeJournalTest {
+
+    private static final int SEGMENT_SIZE = 64 * 1024;
+
+    @TempDir
+    private Path directory;
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 10})
+    void testRecoversChangesAfterClose(long fsyncMillis) throws Exception {
+        final var journal = journal(fsyncMillis, 1000);
+        final var store = attachedStore(journal);
+        final var added = employee("Alice");
+        final var removed = store.findAll().get(0);
+
+        store.add(added);
+        store.removeById(removed.getId());
+        journal.close();
+
+        final var recovered = journal(fsyncMillis, 1000).recover().orElseThrow();
+        assertEquals(store.findAll(), recovered.employees());
+        assertEquals(store.version(), recovered.version());
+        assertEquals(2, recovered.replayed());
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 10})
+    void testRecoversChangesAfterCrash(long fsyncMillis) throws Exception {
+        final var journal = journal(fsyncMillis, 1000);
+        final var store = attachedStore(journal);
+        for (int i = 0; i < 10; i++) {
+            store.add(employee("Employee " + i));
+        }
+
+        // Not closed: the records live only in the mapping, as they would when the JVM dies.
+        final var recovered = journal(fsyncMillis, 1000).recover().orElseThrow();
+        assertEquals(store.findAll(), recovered.employees());
+        assertEquals(store.version(), recovered.version());
+        journal.close();
+    }
+
+    @Test
+    void testTornRecordEndsReplay() throws Exception {
+        final var journal = journal(0, 1000);
+        final var store = attachedStore(journal);
+        final var kept = employee("Kept");
+        store.add(kept);
+        final var version = store.version();
+        store.add(employee("Torn"));
+        journal.close();
+
+        final var segment = latestSegment();
+        final var bytes = ByteBuffer.wrap(Files.readAllBytes(segment));
+        bytes.putInt(lastRecordOffset(bytes), SEGMENT_SIZE);
+        Files.write(segment, bytes.array());
+
+        final var recovered = journal(0, 1000).recover().orElseThrow();
+        assertEquals(version, recovered.version());
+        assertEquals(kept, recovered.employees().get(recovered.employees().size() - 1));
+        assertEquals(1, recovered.replayed());
+    }
+
+    @Test
+    void testCorruptRecordEndsReplay() throws Exception {
+        final var journal = journal(0, 1000);
+        final var store = attachedStore(journal);
+        final var kept = employee("Kept");
+        store.add(kept);
+        final var version = store.version();
+        store.add(employee("Corrupt"));
+        journal.close();
+
+        final var segment = latestSegment();
+        final var bytes = ByteBuffer.wrap(Files.readAllBytes(segment));
+        final var payload = lastRecordOffset(bytes) + Integer.BYTES;
+        bytes.put(payload, (byte) ~bytes.get(payload));
+        Files.write(segment, bytes.array());
+
+        final var recovered = journal(0, 1000).recover().orElseThrow();
+        assertEquals(version, recovered.version());
+        assertEquals(kept, recovered.employees().get(recovered.employees().size() - 1));
+        assertEquals(1, recovered.replayed());
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 10})
+    void testCompactionRacingChangesLosesNone(long fsyncMillis) throws Exception {
+        final var journal = journal(fsyncMillis, 16);
+        final var store = attachedStore(journal);
+        final var writers = new ArrayList<CompletableFuture<Void>>();
+        for (int writer = 0; writer < 4; writer++) {
+            final var name = "Writer " + writer;
+            writers.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 300; i++) {
+                    final var mockEmployee = employee(name);
+                    store.add(mockEmployee);
+                    if (i % 3 == 0) {
+                        store.removeById(mockEmployee.getId());
+                    }
+                }
+            }));
+        }
+        CompletableFuture.allOf(writers.toArray(CompletableFuture[]::new)).get();
+        journal.close();
+
+        final var recovered = journal(fsyncMillis, 16).recover().orElseThrow();
+        assertEquals(ids(store.findAll()), ids(recovered.employees()));
+        assertEquals(store.version(), recovered.version());
+        // Compacted along the way, so only the changes since the last snapshot are left to replay.
+        assertTrue(recovered.replayed() < 1600, "Replayed " + recovered.replayed() + " changes.");
+    }
+
+    @Test
+    void testOversizedRecordRejectsChangeOnly() throws Exception {
+        final var journal = new MockEmployeeJournal(directory, 256, Duration.ZERO, 1000);
+        final var store = attachedStore(journal);
+        final var size = store.size();
+        final var version = store.version();
+
+        assertThrows(IllegalArgumentException.class, () -> store.add(employee("x".repeat(300))));
+        assertEquals(size, store.size());
+        assertEquals(version, store.version());
+
+        final var alice = employee("Alice");
+        store.add(alice);
+        journal.close();
+
+        final var recovered = new MockEmployeeJournal(directory, 256, Duration.ZERO, 1000)
+                .recover()
+                .orElseThrow();
+        assertEquals(store.findAll(), recovered.employees());
+        assertEquals(alice, recovered.employees().get(recovered.employees().size() - 1));
+    }
+
+    private MockEmployeeJournal journal(long fsyncMillis, int compactAfter) {
+        return new MockEmployeeJournal(directory, SEGMENT_SIZE, Duration.ofMillis(fsyncMillis), compactAfter);
+    }
+
+    private static MockEmployeeStore attachedStore(MockEmployeeJournal journal) throws IOException {
+        final var store = new MockEmployeeStore(new MockEmployeeGenerator(Locale.US, 42).generate(20));
+        journal.attach(store, null);
+        return store;
+    }
+
+    private Path latestSegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".wal"))
+                    .sorted()
+                    .reduce((first, second) -> second)
+                    .orElseThrow();
+        }
+    }
+
+    /**
+     * Walks the records of a segment, each its length, the change and a CRC, to the last one.
+     */
+    private static int lastRecordOffset(ByteBuffer segment) {
+        var offset = 16;
+        var last = -1;
+        while (segment.getInt(offset) != 0) {
+            last = offset;
+            offset += 2 * Integer.BYTES + segment.getInt(offset);
+        }
+        return last;
+    }
+
+    private static HashSet<UUID> ids(List<MockEmployee> employees) {
+        final var ids = new HashSet<UUID>();
+        employees.forEach(mockEmployee -> ids.add(mockEmployee.getId()));
+        return ids;
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(1000)
+                .age(30)
+                .title("Engineer")
+                .email("e@company.com")
+                .build();
+    }
+}
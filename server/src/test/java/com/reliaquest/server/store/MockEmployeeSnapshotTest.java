@@ -0,0 +1,68 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MockEmployeeSnapshotTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testSameSeedGeneratesSameRoster() {
+        // More than one chunk, so that chunks generated on different threads are covered too.
+        final var first = new MockEmployeeGenerator(Locale.US, 42).generate(3000);
+        final var second = new MockEmployeeGenerator(Locale.US, 42).generate(3000);
+        final var other = new MockEmployeeGenerator(Locale.US, 43).generate(3000);
+
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+    }
+
+    @Test
+    void testSnapshotReadsBackSameRoster() throws Exception {
+        final var employees = new ArrayList<>(new MockEmployeeGenerator(Locale.US, 42).generate(100));
+        // Nulls take a different encoding path.
+        employees.add(new MockEmployee(UUID.randomUUID(), null, null, null, null, null));
+        final var origin = new MockEmployeeSnapshot.Origin(42, 100, Locale.US.toLanguageTag());
+        final var path = directory.resolve("roster.bin");
+
+        MockEmployeeSnapshot.write(path, employees, 7, origin);
+        final var contents = MockEmployeeSnapshot.load(path);
+
+        assertEquals(employees, contents.employees());
+        assertEquals(7, contents.rosterVersion());
+        assertEquals(origin, contents.origin());
+    }
+
+    @Test
+    void testSnapshotWithoutOriginReadsBackWithout() throws Exception {
+        final var path = directory.resolve("roster.bin");
+
+        MockEmployeeSnapshot.write(path, new MockEmployeeGenerator(Locale.US, 42).generate(10));
+
+        assertNull(MockEmployeeSnapshot.load(path).origin());
+    }
+
+    @Test
+    void testOriginMatchesSameInputsAndAnySeed() {
+        final var origin = new MockEmployeeSnapshot.Origin(42, 100, "en-US");
+
+        assertTrue(origin.matches(100, 42L, "en-US"));
+        assertTrue(origin.matches(100, null, "en-US"));
+        assertFalse(origin.matches(100, 43L, "en-US"));
+        assertFalse(origin.matches(200, 42L, "en-US"));
+        assertFalse(origin.matches(100, 42L, "de-DE"));
+    }
+}
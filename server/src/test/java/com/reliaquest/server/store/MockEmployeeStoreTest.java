@@ -0,0 +1,171 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeStoreTest {
+
+    @Test
+    void testRemoveFirstByNameRemovesEarliestMatchIgnoringCase() {
+        final var first = employee("Alice");
+        final var second = employee("ALICE");
+        final var store = new MockEmployeeStore(List.of(employee("Bob"), first, second));
+
+        assertEquals(Optional.of(first), store.removeFirstByName("alice"));
+        assertEquals(Optional.of(second), store.removeFirstByName("Alice"));
+        assertTrue(store.removeFirstByName("alice").isEmpty());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void testRemoveFirstByNameRacingRemoveByIdFindsRemainingMatches() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            final var employees = new ArrayList<MockEmployee>();
+            for (int i = 0; i < 2000; i++) {
+                employees.add(employee("Twin"));
+            }
+            final var store = new MockEmployeeStore(employees);
+            final var byId = new ConcurrentLinkedQueue<MockEmployee>();
+            final var byName = new ConcurrentLinkedQueue<MockEmployee>();
+            final var start = new CountDownLatch(1);
+
+            final var idRemover = CompletableFuture.runAsync(() -> {
+                await(start);
+                for (int i = 0; i < employees.size(); i += 2) {
+                    store.removeById(employees.get(i).getId()).ifPresent(byId::add);
+                }
+            });
+            final var nameRemover = CompletableFuture.runAsync(() -> {
+                await(start);
+                for (int i = 0; i < employees.size() / 2; i++) {
+                    // Fewer employees were removed so far than there were to begin with, so one always matches.
+                    byName.add(store.removeFirstByName("twin").orElseThrow());
+                }
+            });
+            start.countDown();
+            CompletableFuture.allOf(idRemover, nameRemover).get();
+
+            final var removed = new HashSet<MockEmployee>(byId);
+            removed.addAll(byName);
+            assertEquals(byId.size() + byName.size(), removed.size(), "An employee was removed twice.");
+            assertEquals(employees.size() - removed.size(), store.size());
+            assertEquals(store.size(), store.findAll().size());
+        }
+    }
+
+    @Test
+    void testVetoedChangeIsNeitherAppliedNorPublished() {
+        final var store = new MockEmployeeStore(List.of(employee("Bob")));
+        final var version = store.version();
+        final var published = new ArrayList<MockEmployeeChange>();
+        store.addWriteAheadListener(change -> {
+            throw new IllegalStateException("Disk full");
+        });
+        store.addChangeListener(published::add);
+
+        assertThrows(IllegalStateException.class, () -> store.add(employee("Alice")));
+
+        assertEquals(1, store.size());
+        assertEquals(version, store.version());
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    void testVetoedRemoveKeepsEmployee() {
+        final var bob = employee("Bob");
+        final var store = new MockEmployeeStore(List.of(bob));
+        store.addWriteAheadListener(change -> {
+            throw new IllegalStateException("Disk full");
+        });
+
+        assertThrows(IllegalStateException.class, () -> store.removeById(bob.getId()));
+        assertThrows(IllegalStateException.class, () -> store.removeFirstByName("bob"));
+
+        assertEquals(Optional.of(bob), store.findById(bob.getId()));
+        assertEquals(List.of(bob), store.findAll());
+    }
+
+    @Test
+    void testSlowCommitDelaysPublishingButNotOtherWriters() throws Exception {
+        final var store = new MockEmployeeStore();
+        final var version = store.version();
+        final var published = new ConcurrentLinkedQueue<Long>();
+        final var committing = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        store.addCommitListener(change -> {
+            if (change.version() == version + 1) {
+                committing.countDown();
+                await(release);
+            }
+        });
+        store.addChangeListener(change -> published.add(change.version()));
+        final var alice = employee("Alice");
+        final var bob = employee("Bob");
+
+        final var slow = CompletableFuture.runAsync(() -> store.add(alice));
+        committing.await();
+        // The first change is applied but still committing; the second neither waits for it nor overtakes it.
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> store.add(bob));
+        assertEquals(Optional.of(alice), store.findById(alice.getId()));
+        assertEquals(Optional.of(bob), store.findById(bob.getId()));
+        assertEquals(version, store.version());
+        assertTrue(published.isEmpty());
+
+        release.countDown();
+        slow.get();
+        assertEquals(version + 2, store.version());
+        assertEquals(List.of(version + 1, version + 2), List.copyOf(published));
+    }
+
+    @Test
+    void testFailingListenerDoesNotSkipTheOthers() {
+        final var store = new MockEmployeeStore();
+        final var published = new ArrayList<MockEmployeeChange>();
+        store.addChangeListener(change -> {
+            throw new IllegalStateException("Broken listener");
+        });
+        store.addChangeListener(published::add);
+        final var alice = employee("Alice");
+
+        store.add(alice);
+
+        assertEquals(Optional.of(alice), store.findById(alice.getId()));
+        assertEquals(1, published.size());
+        assertEquals(store.version(), published.get(0).version());
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(1000)
+                .age(30)
+                .title("Engineer")
+                .email("e@company.com")
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
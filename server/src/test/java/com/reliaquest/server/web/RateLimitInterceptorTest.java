@@ -0,0 +1,110 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.ratelimit.CooldownRateLimiter;
+import com.reliaquest.server.ratelimit.RateLimiter;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RateLimitInterceptorTest {
+
+    @Test
+    void testGlobalKeySharesOneBudget() {
+        final var interceptor = onePerClient("global");
+
+        assertTrue(allowed(interceptor, request("10.0.0.1", null)));
+        assertFalse(allowed(interceptor, request("10.0.0.2", null)));
+    }
+
+    @Test
+    void testIpKeyGivesEachAddressABudget() {
+        final var interceptor = onePerClient("ip");
+
+        assertTrue(allowed(interceptor, request("10.0.0.1", "a")));
+        assertTrue(allowed(interceptor, request("10.0.0.2", "a")));
+        assertFalse(allowed(interceptor, request("10.0.0.1", "b")));
+    }
+
+    @Test
+    void testHeaderKeyGivesEachValueABudgetAndFallsBackToAddress() {
+        final var interceptor = onePerClient("header:X-Client");
+
+        assertTrue(allowed(interceptor, request("10.0.0.1", "a")));
+        assertTrue(allowed(interceptor, request("10.0.0.1", "b")));
+        assertFalse(allowed(interceptor, request("10.0.0.2", "a")));
+
+        // Without the header, the address is the key; it does not collide with a header value equal to it.
+        assertTrue(allowed(interceptor, request("10.0.0.1", null)));
+        assertTrue(allowed(interceptor, request("10.0.0.3", "10.0.0.2")));
+        assertTrue(allowed(interceptor, request("10.0.0.2", null)));
+        assertFalse(allowed(interceptor, request("10.0.0.1", null)));
+    }
+
+    @Test
+    void testUnknownKeyIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> onePerClient("session"));
+        assertThrows(IllegalArgumentException.class, () -> onePerClient("header:"));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1, 1", "999999999, 1", "1000000000, 1", "1000000001, 2", "2500000000, 3"})
+    void testRetryAfterIsRoundedUpToWholeSeconds(long retryAfterNanos, String retryAfter) {
+        final var interceptor = new RateLimitInterceptor(now -> new FixedRateLimiter(retryAfterNanos), "global");
+        final var response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request("10.0.0.1", null), response, null));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        assertEquals(retryAfter, response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void testAllowedRequestHasNoRetryAfter() {
+        final var interceptor = new RateLimitInterceptor(now -> new FixedRateLimiter(0), "global");
+        final var response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request("10.0.0.1", null), response, null));
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    private static RateLimitInterceptor onePerClient(String key) {
+        return new RateLimitInterceptor(now -> new CooldownRateLimiter(1, Duration.ofHours(1)), key);
+    }
+
+    private static boolean allowed(RateLimitInterceptor interceptor, MockHttpServletRequest request) {
+        return interceptor.preHandle(request, new MockHttpServletResponse(), null);
+    }
+
+    private static MockHttpServletRequest request(String remoteAddress, String client) {
+        final var request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        request.setRemoteAddr(remoteAddress);
+        if (client != null) {
+            request.addHeader("X-Client", client);
+        }
+        return request;
+    }
+
+    private record FixedRateLimiter(long retryAfter) implements RateLimiter {
+
+        @Override
+        public long tryAcquire(long now) {
+            return retryAfter;
+        }
+
+        @Override
+        public boolean isIdle(long now) {
+            return false;
+        }
+    }
+}